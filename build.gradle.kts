@@ -5,6 +5,8 @@ plugins {
     // Apply Spotless plugin for the top-level project
     id("com.diffplug.spotless") version "6.20.0"
     jacoco
+    // Microbenchmarks in the jmh source set (src/jmh/java)
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 // Repositories configuration at the root level
@@ -79,3 +81,17 @@ tasks.named<Test>("test") {
     useJUnitPlatform()
     maxHeapSize = "1G"
 }
+
+// Microbenchmarks: ./gradlew jmh, or ./gradlew jmh -PjmhIncludes=<regex> to run a subset
+jmh {
+    jmhVersion = "1.37"
+    // Allocation rate and GC counts alongside every score
+    profilers.add("gc")
+    fork = 1
+    warmupIterations = 3
+    warmup = "2s"
+    iterations = 5
+    timeOnIteration = "2s"
+    resultFormat = "JSON"
+    findProperty("jmhIncludes")?.let { includes.add(it.toString()) }
+}
@@ -0,0 +1,72 @@
+package io.hevo.connector.generic_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.test_connector.DataMode;
+import io.hevo.connector.test_connector.TestConnector;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Binding of the configuration file to the connector: {@code parseValue} for each kind of property,
+ * the binding of every annotated property from an already parsed configuration, and the
+ * construction of a tester, which looks up the connector provider and resolves its binder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigBindingBenchmark {
+
+  private static final String CONFIG_FILE =
+      "src/main/java/io/hevo/connector/generic_test/config.json";
+
+  private GenericConnectorTester<TestConnector> tester;
+
+  private Map<String, Object> config;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() throws ConnectorException, IOException {
+    tester = new GenericConnectorTester<>(TestConnector.class);
+    config = new ObjectMapper().readValue(new File(CONFIG_FILE), Map.class);
+  }
+
+  @Benchmark
+  public Object parseLong() throws ConnectorException {
+    return tester.parseValue(1_000_000, long.class, true);
+  }
+
+  @Benchmark
+  public Object parseBoolean() throws ConnectorException {
+    return tester.parseValue(false, boolean.class, true);
+  }
+
+  @Benchmark
+  public Object parseEnum() throws ConnectorException {
+    return tester.parseValue("synthetic", DataMode.class, true);
+  }
+
+  @Benchmark
+  public Object parseString() throws ConnectorException {
+    return tester.parseValue("", String.class, true);
+  }
+
+  @Benchmark
+  public void bindConfiguration() throws ConnectorException {
+    tester.setAnnotatedFields(config);
+  }
+
+  @Benchmark
+  public Object construct() throws ConnectorException {
+    return new GenericConnectorTester<>(TestConnector.class);
+  }
+}
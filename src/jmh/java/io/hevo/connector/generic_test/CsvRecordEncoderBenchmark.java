@@ -0,0 +1,76 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import io.hevo.connector.test_connector.SyntheticObjects;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Conversion of records to CSV, which replaced the former per-record {@code convertToString}: the
+ * byte encoder used by {@link OutputMode#CHANNEL}, the character encoder used by {@link
+ * OutputMode#WRITER}, and the {@link HStruct#asArrayOfString()} conversion both start from. One
+ * operation converts a batch of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CsvRecordEncoderBenchmark {
+
+  @Param({"2", "20", "200"})
+  int columns;
+
+  @Param({"1000", "10000"})
+  int rows;
+
+  private List<HStruct> batch;
+
+  private String[][] values;
+
+  private CsvRecordEncoder encoder;
+
+  private StringBuilder builder;
+
+  @Setup
+  public void setUp() throws ConnectorException {
+    batch = SyntheticObjects.rows(columns, rows);
+    values = new String[batch.size()][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = batch.get(i).asArrayOfString().orElseThrow();
+    }
+    encoder = new CsvRecordEncoder();
+    builder = new StringBuilder();
+  }
+
+  @Benchmark
+  public void asArrayOfString(Blackhole blackhole) {
+    for (HStruct row : batch) {
+      blackhole.consume(row.asArrayOfString());
+    }
+  }
+
+  @Benchmark
+  public void encodeBytes(Blackhole blackhole) {
+    for (String[] record : values) {
+      blackhole.consume(encoder.encode(record));
+    }
+  }
+
+  @Benchmark
+  public void appendChars(Blackhole blackhole) {
+    for (String[] record : values) {
+      builder.setLength(0);
+      CsvRecordEncoder.appendTo(builder, record);
+      blackhole.consume(builder.length());
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import io.hevo.connector.test_connector.SyntheticObjects;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * {@link FileConnectorProcessor#publish} under different flush settings and output modes: one
+ * operation publishes a batch of rows and checkpoints the file, as a fetch does. Every iteration
+ * starts from an empty file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileConnectorProcessorBenchmark {
+
+  @Param({"2", "20", "200"})
+  int columns;
+
+  @Param({"1000", "10000"})
+  int rows;
+
+  @Param({"EVERY_RECORD", "RECORD_COUNT", "BYTE_SIZE", "CHECKPOINT"})
+  FlushMode flushMode;
+
+  @Param({"WRITER", "CHANNEL"})
+  OutputMode outputMode;
+
+  private List<HStruct> batch;
+
+  private Path directory;
+
+  private FileConnectorProcessor processor;
+
+  @Setup
+  public void setUp() throws ConnectorException, IOException {
+    batch = SyntheticObjects.rows(columns, rows);
+    directory = Files.createTempDirectory("file-sink-benchmark");
+  }
+
+  @Setup(Level.Iteration)
+  public void openFile() throws ConnectorException {
+    FileSinkOptions options =
+        FileSinkOptions.builder().flushMode(flushMode).outputMode(outputMode).build();
+    processor =
+        new FileConnectorProcessor(directory.resolve("benchmark.csv").toString(), options);
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteFile() throws ConnectorException, IOException {
+    processor.close();
+    Files.delete(directory.resolve("benchmark.csv"));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.delete(directory);
+  }
+
+  @Benchmark
+  public long publish() throws ConnectorException {
+    for (HStruct row : batch) {
+      // The file sink does not read the meta
+      processor.publish(row, null);
+    }
+    return processor.checkpoint();
+  }
+}
@@ -0,0 +1,74 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ObjectDetails;
+import io.hevo.connector.test_connector.SyntheticObjects;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Selection of objects from large catalogs by {@link ObjectCatalog}: indexing the catalog, and
+ * selecting a tenth of it by name, one schema by glob and every object but one schema by regular
+ * expression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ObjectSelectionBenchmark {
+
+  @Param({"10000", "200000"})
+  int objects;
+
+  private List<ObjectDetails> objectDetails;
+
+  private ObjectCatalog catalog;
+
+  private List<String> names;
+
+  private List<String> schemaGlob;
+
+  private List<String> schemaExclusion;
+
+  @Setup
+  public void setUp() {
+    objectDetails = SyntheticObjects.connector(objects, 2, 0).getObjects();
+    catalog = ObjectCatalog.of(objectDetails);
+    names = new ArrayList<>();
+    for (int i = 0; i < objectDetails.size(); i += 10) {
+      names.add(objectDetails.get(i).getTableFullyQualifiedName());
+    }
+    String name = objectDetails.get(0).getTableFullyQualifiedName();
+    String schema = name.substring(0, name.lastIndexOf('.') + 1);
+    schemaGlob = List.of(schema + "*");
+    schemaExclusion = List.of("!re:" + Pattern.quote(schema) + ".*");
+  }
+
+  @Benchmark
+  public ObjectCatalog index() {
+    return ObjectCatalog.of(objectDetails);
+  }
+
+  @Benchmark
+  public ObjectCatalog.Selection selectNames() {
+    return catalog.select(names);
+  }
+
+  @Benchmark
+  public ObjectCatalog.Selection selectSchemaGlob() {
+    return catalog.select(schemaGlob);
+  }
+
+  @Benchmark
+  public ObjectCatalog.Selection excludeSchemaRegex() {
+    return catalog.select(schemaExclusion);
+  }
+}
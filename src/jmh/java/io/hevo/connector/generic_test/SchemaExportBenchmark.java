@@ -0,0 +1,74 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.test_connector.SyntheticObjects;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Export of object schemas by {@link SchemaExporter} for catalogs of wide objects, and reload of
+ * the exported {@link SchemaSnapshot}. Exports are written to discarding streams, so the score is
+ * the cost of encoding rather than of the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SchemaExportBenchmark {
+
+  @Param({"20", "300"})
+  int columns;
+
+  @Param({"100", "1000"})
+  int objects;
+
+  @Param({"1", "4"})
+  int threads;
+
+  private List<ObjectSchema> objectSchemas;
+
+  private Path snapshotFile;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectSchemas = SyntheticObjects.schemas(SyntheticObjects.connector(objects, columns, 0));
+    snapshotFile = Files.createTempFile("object_schemas", ".hsch");
+    try (OutputStream snapshot = new BufferedOutputStream(Files.newOutputStream(snapshotFile))) {
+      SchemaExporter.export(objectSchemas, OutputStream.nullOutputStream(), snapshot, threads);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(snapshotFile);
+  }
+
+  @Benchmark
+  public SchemaExporter.Summary exportCsv() throws IOException {
+    return SchemaExporter.export(objectSchemas, OutputStream.nullOutputStream(), null, threads);
+  }
+
+  @Benchmark
+  public SchemaExporter.Summary exportCsvAndSnapshot() throws IOException {
+    return SchemaExporter.export(
+        objectSchemas, OutputStream.nullOutputStream(), OutputStream.nullOutputStream(), threads);
+  }
+
+  @Benchmark
+  public List<ObjectSchema> loadSnapshot() throws IOException {
+    return SchemaSnapshot.load(snapshotFile);
+  }
+}
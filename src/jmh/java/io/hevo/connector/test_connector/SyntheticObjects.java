@@ -0,0 +1,61 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ConnectorContext;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import io.hevo.connector.offset.Offset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the synthetic connectors, schemas and rows benchmarks run against, so that every benchmark
+ * of a given schema width sees the same data.
+ */
+public final class SyntheticObjects {
+
+  private SyntheticObjects() {}
+
+  /**
+   * A connector generating synthetic rows for a catalog of objects.
+   *
+   * @param objects Number of objects in the catalog.
+   * @param columns Number of columns of every object, including the key and cursor columns.
+   * @param rows Number of rows in every object.
+   */
+  public static TestConnector connector(int objects, int columns, long rows) {
+    TestConnector connector = new TestConnector();
+    setProperty(connector, "dataMode", DataMode.SYNTHETIC);
+    setProperty(connector, "catalogObjectCount", objects);
+    setProperty(connector, "catalogColumnCount", columns);
+    setProperty(connector, "rowCount", rows);
+    return connector;
+  }
+
+  /** Schemas of every object of a connector. */
+  public static List<ObjectSchema> schemas(TestConnector connector) {
+    return connector.fetchSchemaFromSource(connector.getObjects());
+  }
+
+  /** Rows of a synthetic object, materialized so that they can be published repeatedly. */
+  public static List<HStruct> rows(int columns, int rows) throws ConnectorException {
+    TestConnector connector = connector(1, columns, rows);
+    ObjectSchema schema = schemas(connector).get(0);
+    List<HStruct> collected = new ArrayList<>(rows);
+    connector.fetchDataFromSource(
+        new ConnectorContext(schema, Offset.empty()),
+        (hStruct, connectorMeta) -> collected.add(hStruct));
+    return collected;
+  }
+
+  /** Sets a connector property, as the tester does when binding the configuration. */
+  public static void setProperty(TestConnector connector, String name, Object value) {
+    try {
+      java.lang.reflect.Field property = TestConnector.class.getDeclaredField(name);
+      property.setAccessible(true);
+      property.set(connector, value);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot set " + name, e);
+    }
+  }
+}
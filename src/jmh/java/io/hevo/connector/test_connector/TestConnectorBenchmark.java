@@ -0,0 +1,54 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ConnectorContext;
+import io.hevo.connector.model.ExecutionResult;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.offset.Offset;
+import io.hevo.connector.processor.ConnectorProcessor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Row emission of {@link TestConnector#fetchDataFromSource} in synthetic mode: one operation is a
+ * full fetch of an object into a sink that discards every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TestConnectorBenchmark {
+
+  @Param({"2", "20", "200"})
+  int columns;
+
+  @Param({"10000", "100000"})
+  int rows;
+
+  @Param({"false", "true"})
+  boolean reuseRowBuffers;
+
+  private TestConnector connector;
+
+  private ObjectSchema schema;
+
+  @Setup
+  public void setUp() {
+    connector = SyntheticObjects.connector(1, columns, rows);
+    SyntheticObjects.setProperty(connector, "reuseRowBuffers", reuseRowBuffers);
+    schema = SyntheticObjects.schemas(connector).get(0);
+  }
+
+  @Benchmark
+  public ExecutionResult fetchDataFromSource(Blackhole blackhole) throws ConnectorException {
+    ConnectorProcessor sink = (hStruct, connectorMeta) -> blackhole.consume(hStruct);
+    return connector.fetchDataFromSource(new ConnectorContext(schema, Offset.empty()), sink);
+  }
+}
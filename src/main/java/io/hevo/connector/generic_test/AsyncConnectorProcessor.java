@@ -0,0 +1,177 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import io.hevo.connector.spi.RecordRetainingProcessor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decouples fetching from writing: {@link #publish} only queues the record, and a dedicated writer
+ * thread drains the queue in batches into the wrapped processor, which encodes and writes them.
+ *
+ * <p>Records are handed over by reference, so connectors must not recycle a record's container
+ * after publishing it. If the writer fails, the failure is rethrown to the next {@link #publish},
+ * {@link #checkpoint} or {@link #close}.
+ */
+public class AsyncConnectorProcessor implements CheckpointingProcessor, RecordRetainingProcessor {
+
+  private static final AtomicInteger WRITER_IDS = new AtomicInteger();
+
+  /** Busy-wait iterations before an idle thread starts parking. */
+  private static final int SPINS_BEFORE_PARKING = 128;
+
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final CheckpointingProcessor delegate;
+
+  private final RecordRingBuffer queue;
+
+  private final Backpressure backpressure;
+
+  private final int batchSize;
+
+  private final Thread writer;
+
+  private final AtomicLong queuedRecords = new AtomicLong();
+
+  private final AtomicLong writtenRecords = new AtomicLong();
+
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  private volatile boolean closing;
+
+  /**
+   * Starts the writer thread.
+   *
+   * @param delegate Processor the writer thread publishes into. Only called from that thread,
+   *     except for {@link #checkpoint} which waits for the writer to catch up first.
+   * @param queueCapacity Number of records that can be queued, rounded up to a power of two.
+   * @param backpressure What {@link #publish} does when the queue is full.
+   * @param batchSize Maximum number of records the writer takes off the queue at once.
+   */
+  public AsyncConnectorProcessor(
+      CheckpointingProcessor delegate,
+      int queueCapacity,
+      Backpressure backpressure,
+      int batchSize) {
+    this.delegate = delegate;
+    this.queue = new RecordRingBuffer(queueCapacity);
+    this.backpressure = backpressure;
+    this.batchSize = Math.max(1, batchSize);
+    this.writer = new Thread(this::drainQueue, "async-writer-" + WRITER_IDS.incrementAndGet());
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  @Override
+  public void publish(HStruct hStruct, ConnectorMeta connectorMeta) throws ConnectorException {
+    if (hStruct == null) {
+      throw new ConnectorException("HStruct is null. Cannot queue it for writing.");
+    }
+    throwIfFailed();
+    if (closing) {
+      throw new ConnectorException("Cannot publish to a closed processor.");
+    }
+    if (!queue.offer(hStruct, connectorMeta)) {
+      if (backpressure == Backpressure.FAIL_FAST) {
+        throw new ConnectorException("Writer queue is full.");
+      }
+      for (int idle = 0; !queue.offer(hStruct, connectorMeta); idle++) {
+        idle(idle, "Interrupted while waiting for room in the writer queue.");
+        throwIfFailed();
+      }
+    }
+    queuedRecords.incrementAndGet();
+  }
+
+  /** Waits for the writer to write every record queued so far, then checkpoints the delegate. */
+  @Override
+  public long checkpoint() throws ConnectorException {
+    long queued = queuedRecords.get();
+    for (int idle = 0; writtenRecords.get() < queued; idle++) {
+      throwIfFailed();
+      idle(idle, "Interrupted while waiting for the writer to catch up.");
+    }
+    throwIfFailed();
+    return delegate.checkpoint();
+  }
+
+  /**
+   * Writes the remaining queued records, stops the writer thread and closes the delegate. Must not
+   * be called concurrently with {@link #publish}.
+   */
+  @Override
+  public void close() throws ConnectorException {
+    closing = true;
+    LockSupport.unpark(writer);
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      delegate.close();
+      throw new ConnectorException("Interrupted while waiting for the writer to finish.", e);
+    }
+    try {
+      throwIfFailed();
+    } finally {
+      delegate.close();
+    }
+  }
+
+  /** Body of the writer thread. */
+  private void drainQueue() {
+    HStruct[] structs = new HStruct[batchSize];
+    ConnectorMeta[] metas = new ConnectorMeta[batchSize];
+    int idle = 0;
+    try {
+      while (true) {
+        int drained = queue.drainTo(structs, metas);
+        if (drained == 0) {
+          if (closing && queue.isEmpty()) {
+            return;
+          }
+          if (idle++ < SPINS_BEFORE_PARKING) {
+            Thread.onSpinWait();
+          } else {
+            LockSupport.parkNanos(PARK_NANOS);
+          }
+          continue;
+        }
+        idle = 0;
+        for (int i = 0; i < drained; i++) {
+          delegate.publish(structs[i], metas[i]);
+          structs[i] = null;
+          metas[i] = null;
+        }
+        writtenRecords.addAndGet(drained);
+      }
+    } catch (Throwable t) {
+      failure.compareAndSet(null, t);
+    }
+  }
+
+  private void throwIfFailed() throws ConnectorException {
+    Throwable t = failure.get();
+    if (t != null) {
+      throw new ConnectorException("Writer failed: " + t.getMessage(), t);
+    }
+  }
+
+  /** Spins, then parks, while a caller waits on the writer. */
+  private static void idle(int iteration, String interruptedMessage) throws ConnectorException {
+    if (iteration < SPINS_BEFORE_PARKING) {
+      Thread.onSpinWait();
+      return;
+    }
+    LockSupport.parkNanos(PARK_NANOS);
+    if (Thread.interrupted()) {
+      Thread.currentThread().interrupt();
+      throw new ConnectorException(interruptedMessage);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package io.hevo.connector.generic_test;
+
+/** What {@link AsyncConnectorProcessor#publish} does when its queue is full. */
+public enum Backpressure {
+  /** Waits until the writer has made room. */
+  BLOCK,
+
+  /** Fails the publish with a {@code ConnectorException}. */
+  FAIL_FAST
+}
@@ -0,0 +1,126 @@
+package io.hevo.connector.generic_test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a benchmark run of {@link GenericConnectorTester}: the timing of every phase of every
+ * measured iteration, and their mean, standard deviation and range across iterations. Written as
+ * JSON, so that runs of different connector builds can be compared.
+ *
+ * @param connector Class name of the connector.
+ * @param javaVersion Version of the JVM the benchmark ran on.
+ * @param availableProcessors Processors available to the JVM.
+ * @param objects Fully qualified names of the objects fetched.
+ * @param tester Tester settings of the run.
+ * @param warmupIterations Iterations run before measuring, which are not reported.
+ * @param iterations The measured iterations.
+ * @param summary Statistics of each phase across the measured iterations, by phase name.
+ */
+public record BenchmarkReport(
+    String connector,
+    String javaVersion,
+    int availableProcessors,
+    List<String> objects,
+    TesterConfig tester,
+    int warmupIterations,
+    List<Iteration> iterations,
+    Map<String, PhaseSummary> summary) {
+
+  /** Builds a report, summarizing the measured iterations. */
+  static BenchmarkReport of(
+      String connector,
+      List<String> objects,
+      TesterConfig tester,
+      int warmupIterations,
+      List<Iteration> iterations) {
+    Map<String, List<Phase>> phasesByName = new LinkedHashMap<>();
+    for (Iteration iteration : iterations) {
+      for (Map.Entry<String, Phase> phase : iteration.phases().entrySet()) {
+        phasesByName
+            .computeIfAbsent(phase.getKey(), name -> new ArrayList<>())
+            .add(phase.getValue());
+      }
+    }
+    Map<String, PhaseSummary> summary = new LinkedHashMap<>();
+    phasesByName.forEach((name, phases) -> summary.put(name, PhaseSummary.of(phases)));
+    return new BenchmarkReport(
+        connector,
+        System.getProperty("java.version"),
+        Runtime.getRuntime().availableProcessors(),
+        objects,
+        tester,
+        warmupIterations,
+        iterations,
+        summary);
+  }
+
+  /**
+   * One measured iteration.
+   *
+   * @param iteration Number of the iteration, from 1.
+   * @param failedObjects Objects whose historical or incremental fetch failed.
+   * @param phases Timing of each phase, by phase name, in the order they ran.
+   */
+  public record Iteration(int iteration, int failedObjects, Map<String, Phase> phases) {}
+
+  /**
+   * Timing of one phase of an iteration.
+   *
+   * @param millis Wall-clock duration.
+   * @param count Records fetched by a fetch phase, or objects returned by a catalog phase.
+   * @param perSecond Throughput: {@code count} per second of {@code millis}.
+   */
+  public record Phase(double millis, long count, double perSecond) {
+
+    static Phase of(long nanos, long count) {
+      double millis = nanos / 1_000_000.0;
+      return new Phase(millis, count, millis > 0 ? count * 1_000 / millis : 0);
+    }
+  }
+
+  /** Statistics of one phase across iterations. Standard deviations are of the sample. */
+  public record PhaseSummary(
+      double meanMillis,
+      double stdevMillis,
+      double minMillis,
+      double maxMillis,
+      double meanPerSecond,
+      double stdevPerSecond) {
+
+    static PhaseSummary of(List<Phase> phases) {
+      double[] millis = phases.stream().mapToDouble(Phase::millis).toArray();
+      double[] perSecond = phases.stream().mapToDouble(Phase::perSecond).toArray();
+      return new PhaseSummary(
+          mean(millis),
+          stdev(millis),
+          Arrays.stream(millis).min().orElse(0),
+          Arrays.stream(millis).max().orElse(0),
+          mean(perSecond),
+          stdev(perSecond));
+    }
+
+    private static double mean(double[] values) {
+      double sum = 0;
+      for (double value : values) {
+        sum += value;
+      }
+      return values.length == 0 ? 0 : sum / values.length;
+    }
+
+    private static double stdev(double[] values) {
+      if (values.length < 2) {
+        return 0;
+      }
+      double mean = mean(values);
+      double squares = 0;
+      for (double value : values) {
+        squares += (value - mean) * (value - mean);
+      }
+      return Math.sqrt(squares / (values.length - 1));
+    }
+  }
+}
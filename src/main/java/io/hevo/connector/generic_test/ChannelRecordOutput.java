@@ -0,0 +1,92 @@
+package io.hevo.connector.generic_test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * {@link OutputMode#CHANNEL} output: records are encoded by a {@link CsvRecordEncoder} straight
+ * from their values into bytes and appended to a set of direct buffers, which are handed to the
+ * file in a single gathering write once they are all full or on flush. Unlike a character writer,
+ * this builds no string per record and needs no charset encoder, and nothing is allocated per
+ * record.
+ */
+final class ChannelRecordOutput implements RecordOutput {
+
+  static final int CHUNK_SIZE = 256 * 1024;
+
+  static final int CHUNK_COUNT = 4;
+
+  private final GatheringByteChannel channel;
+
+  private final ByteBuffer[] chunks = new ByteBuffer[CHUNK_COUNT];
+
+  private final CsvRecordEncoder encoder = new CsvRecordEncoder();
+
+  private int current;
+
+  ChannelRecordOutput(GatheringByteChannel channel) {
+    this.channel = channel;
+    for (int i = 0; i < CHUNK_COUNT; i++) {
+      chunks[i] = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    }
+  }
+
+  @Override
+  public long write(String[] values) throws IOException {
+    int length = encoder.encode(values);
+    byte[] bytes = encoder.bytes();
+    if (length <= CHUNK_SIZE) {
+      ensureRemaining(length).put(bytes, 0, length);
+      return length;
+    }
+    // Records larger than a chunk are spread over as many chunks as they need
+    for (int offset = 0; offset < length; ) {
+      ByteBuffer chunk = ensureRemaining(1);
+      int count = Math.min(chunk.remaining(), length - offset);
+      chunk.put(bytes, offset, count);
+      offset += count;
+    }
+    return length;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    for (int i = 0; i <= current; i++) {
+      chunks[i].flip();
+    }
+    long remaining;
+    do {
+      channel.write(chunks, 0, current + 1);
+      remaining = 0;
+      for (int i = 0; i <= current; i++) {
+        remaining += chunks[i].remaining();
+      }
+    } while (remaining > 0);
+    for (int i = 0; i <= current; i++) {
+      chunks[i].clear();
+    }
+    current = 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+  }
+
+  /**
+   * Returns a chunk with room for the given number of bytes, moving to the next chunk or writing
+   * all chunks to the file as needed. The count must not exceed {@link #CHUNK_SIZE}.
+   */
+  private ByteBuffer ensureRemaining(int bytes) throws IOException {
+    if (chunks[current].remaining() >= bytes) {
+      return chunks[current];
+    }
+    if (current + 1 < CHUNK_COUNT) {
+      current++;
+    } else {
+      flush();
+    }
+    return chunks[current];
+  }
+}
@@ -0,0 +1,28 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.processor.ConnectorProcessor;
+
+/**
+ * A {@link ConnectorProcessor} writing to durable output, whose records become safe to acknowledge
+ * at checkpoints.
+ */
+public interface CheckpointingProcessor extends ConnectorProcessor, AutoCloseable {
+
+  /**
+   * Makes every record published so far durable. Once this returns, the offset of the last
+   * published record can safely be acknowledged.
+   *
+   * @return The number of records that are durable.
+   * @throws ConnectorException If the records cannot be made durable.
+   */
+  long checkpoint() throws ConnectorException;
+
+  /**
+   * Makes pending records durable and releases the output.
+   *
+   * @throws ConnectorException If closing fails.
+   */
+  @Override
+  void close() throws ConnectorException;
+}
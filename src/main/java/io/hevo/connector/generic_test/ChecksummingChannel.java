@@ -0,0 +1,73 @@
+package io.hevo.connector.generic_test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.util.zip.CRC32C;
+
+/** Passes writes through to a file channel, keeping a CRC32C and a count of the bytes written. */
+final class ChecksummingChannel implements GatheringByteChannel {
+
+  private final FileChannel channel;
+
+  private final CRC32C checksum = new CRC32C();
+
+  private long bytesWritten;
+
+  ChecksummingChannel(FileChannel channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+    ByteBuffer written = src.duplicate();
+    int count = channel.write(src);
+    written.limit(written.position() + count);
+    checksum.update(written);
+    bytesWritten += count;
+    return count;
+  }
+
+  @Override
+  public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+    ByteBuffer[] written = new ByteBuffer[length];
+    for (int i = 0; i < length; i++) {
+      written[i] = srcs[offset + i].duplicate();
+    }
+    long count = channel.write(srcs, offset, length);
+    long remaining = count;
+    for (int i = 0; i < length && remaining > 0; i++) {
+      int part = (int) Math.min(written[i].remaining(), remaining);
+      written[i].limit(written[i].position() + part);
+      checksum.update(written[i]);
+      remaining -= part;
+    }
+    bytesWritten += count;
+    return count;
+  }
+
+  @Override
+  public long write(ByteBuffer[] srcs) throws IOException {
+    return write(srcs, 0, srcs.length);
+  }
+
+  /** CRC32C of every byte written so far. */
+  long checksum() {
+    return checksum.getValue();
+  }
+
+  long bytesWritten() {
+    return bytesWritten;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return channel.isOpen();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,387 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.generic_test.ColumnarFileReader.Column;
+import io.hevo.connector.generic_test.ColumnarFileReader.ColumnType;
+import io.hevo.connector.generic_test.ColumnarFileReader.Encoding;
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import io.hevo.connector.model.field.schema.base.Field;
+import io.hevo.connector.model.field.schema.hudt.HDataType;
+import io.hevo.connector.model.field.schema.hudt.HField;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes published records to a columnar file, readable with {@link ColumnarFileReader}.
+ *
+ * <p>Columns are the fields of the object schema in position order, and the values of a record are
+ * matched to them in that order. Rows are buffered per column and written as a row group once
+ * {@code rowGroupRows} rows are buffered or on {@link #checkpoint()}. Each column chunk is encoded
+ * on its own: integer and timestamp chunks are delta encoded, which shrinks sequential keys and
+ * cursors to a byte or two per value, and strings with few distinct values are dictionary encoded.
+ * Chunks record their min and max values. See {@link ColumnarFormat} for the layout.
+ *
+ * <p>Like the CSV sinks, the processor appends to an existing file, so that a resumed run or a
+ * later poll adds to the rows already written. Row groups are self-contained, so new ones simply
+ * follow the last complete row group of the file; anything after it, left by a run that stopped
+ * while writing, is cut off first. The file must have the same columns.
+ */
+public class ColumnarConnectorProcessor implements CheckpointingProcessor {
+
+  private static final Logger log = LoggerFactory.getLogger(ColumnarConnectorProcessor.class);
+
+  /**
+   * A string chunk is dictionary encoded if it has at most one distinct value per this many
+   * non-null values.
+   */
+  private static final int VALUES_PER_DICTIONARY_ENTRY = 4;
+
+  private static final Comparator<Field> BY_POSITION =
+      Comparator.comparingInt(field -> field.properties().position());
+
+  private static final String[] NO_VALUES = new String[0];
+
+  /** Rows the column buffers hold at first. They double as rows arrive, up to a row group. */
+  private static final int INITIAL_BUFFERED_ROWS = 1024;
+
+  private final Path filePath;
+
+  private final List<Column> columns;
+
+  private final int rowGroupRows;
+
+  private final boolean fsync;
+
+  private final FileChannel channel;
+
+  /**
+   * Buffered values, indexed by column and then row. Buffers grow as rows arrive, so a sink that
+   * only ever sees small fetches never allocates a whole row group.
+   */
+  private final String[][] buffered;
+
+  private int bufferedCapacity;
+
+  private int bufferedRows;
+
+  private long writtenRecords;
+
+  /**
+   * Constructs a ColumnarConnectorProcessor, appending to the file if it exists.
+   *
+   * @param outputFilePath The path to the output file.
+   * @param schema Schema of the records that will be published.
+   * @param rowGroupRows Number of rows per row group.
+   * @param fsync Whether checkpoints force the file to disk.
+   * @throws ConnectorException If the file cannot be opened, or exists with different columns.
+   */
+  public ColumnarConnectorProcessor(
+      String outputFilePath, ObjectSchema schema, int rowGroupRows, boolean fsync)
+      throws ConnectorException {
+    this(outputFilePath, columnsOf(schema), rowGroupRows, fsync);
+  }
+
+  ColumnarConnectorProcessor(
+      String outputFilePath, List<Column> columns, int rowGroupRows, boolean fsync)
+      throws ConnectorException {
+    this.filePath = Paths.get(outputFilePath).toAbsolutePath();
+    this.columns = List.copyOf(columns);
+    this.rowGroupRows = Math.max(1, rowGroupRows);
+    this.fsync = fsync;
+    this.bufferedCapacity = Math.min(this.rowGroupRows, INITIAL_BUFFERED_ROWS);
+    this.buffered = new String[columns.size()][bufferedCapacity];
+    try {
+      Path directoryPath = filePath.getParent();
+      if (directoryPath != null && !Files.exists(directoryPath)) {
+        Files.createDirectories(directoryPath);
+        log.info("Created directories: {}", directoryPath);
+      }
+      long appendAt = Files.exists(filePath) && Files.size(filePath) > 0 ? endOfRowGroups() : 0;
+      this.channel =
+          FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      channel.truncate(appendAt);
+      if (appendAt == 0) {
+        writeFully(fileHeader());
+      } else {
+        channel.position(appendAt);
+      }
+      log.info("ColumnarConnectorProcessor initialized. Writing to: {}", filePath);
+    } catch (IOException e) {
+      throw new ConnectorException("Failed to open file for writing: " + filePath, e);
+    }
+  }
+
+  /** End of the last complete row group of the existing file, checking it has the same columns. */
+  private long endOfRowGroups() throws IOException, ConnectorException {
+    try (ColumnarFileReader reader = ColumnarFileReader.open(filePath)) {
+      if (!reader.columns().equals(columns)) {
+        throw new ConnectorException(
+            filePath + " has columns " + reader.columns() + ", not " + columns + ".");
+      }
+      return reader.length();
+    }
+  }
+
+  /** Columns of an object schema: its fields in position order. */
+  static List<Column> columnsOf(ObjectSchema schema) {
+    Field[] fields = schema.fields().toArray(new Field[0]);
+    Arrays.sort(fields, BY_POSITION);
+    List<Column> columns = new ArrayList<>(fields.length);
+    for (Field field : fields) {
+      String name =
+          field instanceof HField
+              ? ((HField) field).sourceFieldName()
+              : "column_" + field.properties().position();
+      HDataType hDataType = HDataType.fromLogicalType(field.logicalType());
+      ColumnType type;
+      if (HDataType.INTEGER.equals(hDataType)) {
+        type = ColumnType.INTEGER;
+      } else if (HDataType.DATE_TIME.equals(hDataType)) {
+        type = ColumnType.TIMESTAMP;
+      } else {
+        type = ColumnType.STRING;
+      }
+      columns.add(new Column(name, type));
+    }
+    return columns;
+  }
+
+  @Override
+  public synchronized void publish(HStruct hStruct, ConnectorMeta connectorMeta)
+      throws ConnectorException {
+    if (hStruct == null) {
+      throw new ConnectorException("HStruct is null. Cannot write to file.");
+    }
+    Optional<String[]> stringArray = hStruct.asArrayOfString();
+    String[] values = stringArray.orElse(NO_VALUES);
+    if (values.length > columns.size()) {
+      throw new ConnectorException(
+          "Record has "
+              + values.length
+              + " values but "
+              + filePath
+              + " has "
+              + columns.size()
+              + " columns.");
+    }
+    if (bufferedRows == bufferedCapacity) {
+      bufferedCapacity = (int) Math.min(rowGroupRows, 2L * bufferedCapacity);
+      for (int column = 0; column < columns.size(); column++) {
+        buffered[column] = Arrays.copyOf(buffered[column], bufferedCapacity);
+      }
+    }
+    for (int column = 0; column < columns.size(); column++) {
+      buffered[column][bufferedRows] = column < values.length ? values[column] : null;
+    }
+    bufferedRows++;
+    if (bufferedRows == rowGroupRows) {
+      writeRowGroup();
+    }
+  }
+
+  /**
+   * Writes buffered rows as a row group, forcing it to disk if the sink is configured to fsync.
+   *
+   * @return The number of records that have been written.
+   * @throws ConnectorException If writing fails.
+   */
+  @Override
+  public synchronized long checkpoint() throws ConnectorException {
+    if (bufferedRows > 0) {
+      writeRowGroup();
+    }
+    if (fsync) {
+      try {
+        channel.force(false);
+      } catch (IOException e) {
+        throw new ConnectorException("Failed to force file to disk: " + filePath, e);
+      }
+    }
+    return writtenRecords;
+  }
+
+  @Override
+  public synchronized void close() throws ConnectorException {
+    try {
+      checkpoint();
+    } finally {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new ConnectorException("Failed to close file: " + filePath, e);
+      }
+    }
+  }
+
+  private ByteBuffer fileHeader() {
+    ByteArrayOutputStream columnList = new ByteArrayOutputStream();
+    ColumnarFormat.writeVarLong(columnList, columns.size());
+    for (Column column : columns) {
+      ColumnarFormat.writeString(columnList, column.name());
+      columnList.write(column.type().ordinal());
+    }
+    ByteBuffer header = ByteBuffer.allocate(9 + columnList.size());
+    header.putInt(ColumnarFormat.FILE_MAGIC).put(ColumnarFormat.VERSION);
+    header.putInt(columnList.size()).put(columnList.toByteArray());
+    return header.flip();
+  }
+
+  private void writeRowGroup() throws ConnectorException {
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    ColumnarFormat.writeVarLong(header, bufferedRows);
+    ByteBuffer[] buffers = new ByteBuffer[columns.size() + 2];
+    for (int column = 0; column < columns.size(); column++) {
+      buffers[column + 2] = ByteBuffer.wrap(encodeChunk(column, header));
+      Arrays.fill(buffered[column], 0, bufferedRows, null);
+    }
+    buffers[0] =
+        ByteBuffer.allocate(8).putInt(ColumnarFormat.ROW_GROUP_MAGIC).putInt(header.size()).flip();
+    buffers[1] = ByteBuffer.wrap(header.toByteArray());
+    try {
+      writeFully(buffers);
+    } catch (IOException e) {
+      throw new ConnectorException("Failed to write row group to file: " + filePath, e);
+    }
+    writtenRecords += bufferedRows;
+    bufferedRows = 0;
+  }
+
+  /** Encodes the buffered values of a column, appending its description to the row group header. */
+  private byte[] encodeChunk(int column, ByteArrayOutputStream header) {
+    ColumnType type = columns.get(column).type();
+    String[] values = buffered[column];
+    int rows = bufferedRows;
+
+    byte[] nulls = new byte[(rows + 7) / 8];
+    int nullCount = 0;
+    for (int row = 0; row < rows; row++) {
+      if (values[row] == null) {
+        nulls[row >>> 3] |= (byte) (1 << (row & 7));
+        nullCount++;
+      }
+    }
+    ByteArrayOutputStream data = new ByteArrayOutputStream();
+    if (nullCount > 0) {
+      data.write(nulls, 0, nulls.length);
+    }
+
+    long[] longs = type == ColumnType.STRING ? null : toLongs(type, values, rows, rows - nullCount);
+    Encoding encoding;
+    String min = null;
+    String max = null;
+    if (longs != null) {
+      encoding = Encoding.DELTA;
+      long previous = 0;
+      long minLong = Long.MAX_VALUE;
+      long maxLong = Long.MIN_VALUE;
+      for (long value : longs) {
+        ColumnarFormat.writeZigZag(data, value - previous);
+        previous = value;
+        minLong = Math.min(minLong, value);
+        maxLong = Math.max(maxLong, value);
+      }
+      if (longs.length > 0) {
+        min = ColumnarFormat.fromLong(type, minLong);
+        max = ColumnarFormat.fromLong(type, maxLong);
+      }
+    } else {
+      Map<String, Integer> dictionary = dictionaryOf(values, rows, rows - nullCount);
+      encoding = dictionary != null ? Encoding.DICTIONARY : Encoding.PLAIN;
+      if (dictionary != null) {
+        ColumnarFormat.writeVarLong(data, dictionary.size());
+        String[] entries = new String[dictionary.size()];
+        dictionary.forEach((value, index) -> entries[index] = value);
+        for (String entry : entries) {
+          ColumnarFormat.writeString(data, entry);
+        }
+      }
+      for (int row = 0; row < rows; row++) {
+        String value = values[row];
+        if (value == null) {
+          continue;
+        }
+        if (dictionary != null) {
+          ColumnarFormat.writeVarLong(data, dictionary.get(value));
+        } else {
+          ColumnarFormat.writeString(data, value);
+        }
+        // Text order only means something for text columns
+        if (type == ColumnType.STRING) {
+          min = min == null || value.compareTo(min) < 0 ? value : min;
+          max = max == null || value.compareTo(max) > 0 ? value : max;
+        }
+      }
+    }
+
+    header.write(encoding.ordinal());
+    ColumnarFormat.writeVarLong(header, nullCount);
+    header.write(min != null ? 1 : 0);
+    if (min != null) {
+      ColumnarFormat.writeString(header, min);
+      ColumnarFormat.writeString(header, max);
+    }
+    ColumnarFormat.writeVarLong(header, data.size());
+    return data.toByteArray();
+  }
+
+  /** The non-null values as delta-encodable longs, or {@code null} if any is not encodable. */
+  private static long[] toLongs(ColumnType type, String[] values, int rows, int nonNullCount) {
+    long[] longs = new long[nonNullCount];
+    int count = 0;
+    for (int row = 0; row < rows; row++) {
+      if (values[row] != null) {
+        Long parsed = ColumnarFormat.toLong(type, values[row]);
+        if (parsed == null) {
+          return null;
+        }
+        longs[count++] = parsed;
+      }
+    }
+    return longs;
+  }
+
+  /**
+   * Index of each distinct non-null value in first-seen order, or {@code null} if there are too
+   * many distinct values for a dictionary to pay off.
+   */
+  private static Map<String, Integer> dictionaryOf(String[] values, int rows, int nonNullCount) {
+    int maxEntries = nonNullCount / VALUES_PER_DICTIONARY_ENTRY;
+    Map<String, Integer> dictionary = new HashMap<>();
+    for (int row = 0; row < rows; row++) {
+      String value = values[row];
+      if (value != null && dictionary.putIfAbsent(value, dictionary.size()) == null) {
+        if (dictionary.size() > maxEntries) {
+          return null;
+        }
+      }
+    }
+    return dictionary;
+  }
+
+  private void writeFully(ByteBuffer... buffers) throws IOException {
+    long remaining = 0;
+    for (ByteBuffer buffer : buffers) {
+      remaining += buffer.remaining();
+    }
+    while (remaining > 0) {
+      remaining -= channel.write(buffers);
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package io.hevo.connector.generic_test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads files written by {@link ColumnarConnectorProcessor}. Opening a file only reads the column
+ * list and the row group headers; column data is read on demand, one column chunk at a time, so a
+ * single column can be scanned without reading the others. Values are returned in the text form
+ * they were published in.
+ */
+public final class ColumnarFileReader implements AutoCloseable {
+
+  /** How the values of a column are interpreted. */
+  public enum ColumnType {
+    /** Integers, delta encoded when every value of a chunk is a canonical {@code long}. */
+    INTEGER,
+
+    /** ISO-8601 local date-times, delta encoded as epoch nanoseconds when canonical. */
+    TIMESTAMP,
+
+    /** Any other value. */
+    STRING
+  }
+
+  /** How the values of one column chunk are stored. */
+  public enum Encoding {
+    /** Length-prefixed UTF-8 strings. */
+    PLAIN,
+
+    /** A list of the distinct values, then the index of each value in it. */
+    DICTIONARY,
+
+    /** The difference of each value from the previous one; small for sorted keys and cursors. */
+    DELTA
+  }
+
+  /** A column of the file. */
+  public record Column(String name, ColumnType type) {}
+
+  /** Where a column chunk is stored, how, and the range of its values. */
+  public record ColumnChunk(
+      Encoding encoding, int nullCount, String min, String max, long dataOffset, int dataLength) {
+
+    /** Whether the chunk records min and max values. */
+    public boolean hasStatistics() {
+      return min != null;
+    }
+  }
+
+  /** A row group: its row count and the chunk of each column, in column order. */
+  public record RowGroup(int rowCount, List<ColumnChunk> columns) {}
+
+  private final Path file;
+
+  private final FileChannel channel;
+
+  private final List<Column> columns;
+
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+  private final List<RowGroup> rowGroups = new ArrayList<>();
+
+  private final long length;
+
+  private ColumnarFileReader(Path file, FileChannel channel) throws IOException {
+    this.file = file;
+    this.channel = channel;
+    long size = channel.size();
+    ByteBuffer prelude = read(0, 9);
+    if (prelude.remaining() < 9
+        || prelude.getInt() != ColumnarFormat.FILE_MAGIC
+        || prelude.get() != ColumnarFormat.VERSION) {
+      throw new IOException("Not a columnar output file: " + file);
+    }
+    int columnListLength = prelude.getInt();
+    ByteBuffer columnList = read(9, columnListLength);
+    int columnCount = ColumnarFormat.readVarInt(columnList);
+    List<Column> columns = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      String name = ColumnarFormat.readString(columnList);
+      columns.add(new Column(name, ColumnType.values()[columnList.get()]));
+      columnIndexes.putIfAbsent(name, i);
+    }
+    this.columns = Collections.unmodifiableList(columns);
+
+    long position = 9L + columnListLength;
+    while (position + 8 <= size) {
+      ByteBuffer prefix = read(position, 8);
+      if (prefix.getInt() != ColumnarFormat.ROW_GROUP_MAGIC) {
+        throw new IOException("Corrupt row group at " + position + " in " + file);
+      }
+      int headerLength = prefix.getInt();
+      if (position + 8 + headerLength > size) {
+        break;
+      }
+      ByteBuffer header = read(position + 8, headerLength);
+      int rowCount = ColumnarFormat.readVarInt(header);
+      long dataOffset = position + 8 + headerLength;
+      List<ColumnChunk> chunks = new ArrayList<>(columnCount);
+      for (int i = 0; i < columnCount; i++) {
+        Encoding encoding = Encoding.values()[header.get()];
+        int nullCount = ColumnarFormat.readVarInt(header);
+        String min = null;
+        String max = null;
+        if (header.get() != 0) {
+          min = ColumnarFormat.readString(header);
+          max = ColumnarFormat.readString(header);
+        }
+        int dataLength = ColumnarFormat.readVarInt(header);
+        chunks.add(new ColumnChunk(encoding, nullCount, min, max, dataOffset, dataLength));
+        dataOffset += dataLength;
+      }
+      if (dataOffset > size) {
+        // Cut short while being written
+        break;
+      }
+      rowGroups.add(new RowGroup(rowCount, Collections.unmodifiableList(chunks)));
+      position = dataOffset;
+    }
+    this.length = position;
+  }
+
+  /**
+   * Opens a file and reads its column list and row group headers.
+   *
+   * @throws IOException If the file cannot be read or is not a columnar output file.
+   */
+  public static ColumnarFileReader open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      return new ColumnarFileReader(file, channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public List<Column> columns() {
+    return columns;
+  }
+
+  public List<RowGroup> rowGroups() {
+    return Collections.unmodifiableList(rowGroups);
+  }
+
+  /**
+   * Length of the file up to the end of its last complete row group, which is where the next row
+   * group belongs. Anything after it was cut short while being written.
+   */
+  public long length() {
+    return length;
+  }
+
+  /** Number of rows in the file. */
+  public long rowCount() {
+    long rowCount = 0;
+    for (RowGroup rowGroup : rowGroups) {
+      rowCount += rowGroup.rowCount();
+    }
+    return rowCount;
+  }
+
+  /** Every value of a column, in row order. Only the chunks of that column are read. */
+  public List<String> readColumn(String column) throws IOException {
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < rowGroups.size(); i++) {
+      values.addAll(readColumn(i, column));
+    }
+    return values;
+  }
+
+  /** The values of a column in one row group, in row order. */
+  public List<String> readColumn(int rowGroupIndex, String column) throws IOException {
+    Integer columnIndex = columnIndexes.get(column);
+    if (columnIndex == null) {
+      throw new IllegalArgumentException("No column " + column + " in " + file);
+    }
+    RowGroup rowGroup = rowGroups.get(rowGroupIndex);
+    ColumnChunk chunk = rowGroup.columns().get(columnIndex);
+    ByteBuffer data = read(chunk.dataOffset(), chunk.dataLength());
+    int rowCount = rowGroup.rowCount();
+
+    byte[] nulls = null;
+    if (chunk.nullCount() > 0) {
+      nulls = new byte[(rowCount + 7) / 8];
+      data.get(nulls);
+    }
+    String[] dictionary = null;
+    if (chunk.encoding() == Encoding.DICTIONARY) {
+      dictionary = new String[ColumnarFormat.readVarInt(data)];
+      for (int i = 0; i < dictionary.length; i++) {
+        dictionary[i] = ColumnarFormat.readString(data);
+      }
+    }
+    ColumnType type = columns.get(columnIndex).type();
+
+    List<String> values = new ArrayList<>(rowCount);
+    long previous = 0;
+    for (int row = 0; row < rowCount; row++) {
+      if (nulls != null && (nulls[row >>> 3] & (1 << (row & 7))) != 0) {
+        values.add(null);
+        continue;
+      }
+      switch (chunk.encoding()) {
+        case DICTIONARY:
+          values.add(dictionary[ColumnarFormat.readVarInt(data)]);
+          break;
+        case DELTA:
+          previous += ColumnarFormat.readZigZag(data);
+          values.add(ColumnarFormat.fromLong(type, previous));
+          break;
+        case PLAIN:
+        default:
+          values.add(ColumnarFormat.readString(data));
+          break;
+      }
+    }
+    return values;
+  }
+
+  private ByteBuffer read(long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        break;
+      }
+    }
+    return buffer.flip();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,117 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.generic_test.ColumnarFileReader.ColumnType;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Layout shared by {@link ColumnarConnectorProcessor} and {@link ColumnarFileReader}.
+ *
+ * <p>A file starts with {@link #FILE_MAGIC}, {@link #VERSION}, the length of the column list and
+ * the column list itself: a count, then the name and {@link ColumnType} of each column. Row groups
+ * follow, each made of {@link #ROW_GROUP_MAGIC}, the length of its header, the header and then the
+ * data of every column chunk in column order. The header holds the row count and, per column, the
+ * {@link ColumnarFileReader.Encoding}, the null count, optional min and max and the length of the
+ * data, so a reader can seek straight to one column. Row groups are self-contained: a file cut
+ * short by a crash is readable up to its last complete row group.
+ *
+ * <p>Chunk data starts with a null bitmap, one bit per row, if the chunk has nulls. Counts and
+ * lengths are unsigned LEB128 varints and delta-encoded values are zigzag varints.
+ */
+final class ColumnarFormat {
+
+  /** "HCOL" */
+  static final int FILE_MAGIC = 0x48434F4C;
+
+  static final byte VERSION = 1;
+
+  /** "RGRP" */
+  static final int ROW_GROUP_MAGIC = 0x52475250;
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private ColumnarFormat() {}
+
+  /**
+   * The {@code long} a value is delta encoded as, or {@code null} if it cannot be, because it does
+   * not parse or because {@link #fromLong} would not restore exactly the same text.
+   */
+  static Long toLong(ColumnType type, String value) {
+    try {
+      if (type == ColumnType.TIMESTAMP) {
+        LocalDateTime dateTime = LocalDateTime.parse(value);
+        if (!dateTime.toString().equals(value)) {
+          return null;
+        }
+        long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+        return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), dateTime.getNano());
+      }
+      long parsed = Long.parseLong(value);
+      return Long.toString(parsed).equals(value) ? parsed : null;
+    } catch (DateTimeParseException | NumberFormatException | ArithmeticException e) {
+      return null;
+    }
+  }
+
+  /** Text form of a delta-encoded value. */
+  static String fromLong(ColumnType type, long value) {
+    if (type == ColumnType.TIMESTAMP) {
+      return LocalDateTime.ofEpochSecond(
+              Math.floorDiv(value, NANOS_PER_SECOND),
+              (int) Math.floorMod(value, NANOS_PER_SECOND),
+              ZoneOffset.UTC)
+          .toString();
+    }
+    return Long.toString(value);
+  }
+
+  static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  static void writeZigZag(ByteArrayOutputStream out, long value) {
+    writeVarLong(out, (value << 1) ^ (value >> 63));
+  }
+
+  static void writeString(ByteArrayOutputStream out, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(out, bytes.length);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+  }
+
+  static int readVarInt(ByteBuffer in) {
+    return Math.toIntExact(readVarLong(in));
+  }
+
+  static long readZigZag(ByteBuffer in) {
+    long value = readVarLong(in);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  static String readString(ByteBuffer in) {
+    int length = readVarInt(in);
+    String value =
+        new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+    in.position(in.position() + length);
+    return value;
+  }
+}
@@ -0,0 +1,14 @@
+package io.hevo.connector.generic_test;
+
+/** Compression of CSV output files. */
+public enum Compression {
+  /** Plain CSV. */
+  NONE,
+
+  /**
+   * Gzip, compressed in independent blocks on a worker pool and written as a multi-member gzip
+   * stream that any gzip reader can decompress. A {@link GzipBlockIndex} next to the file lets
+   * readers decompress blocks in parallel.
+   */
+  GZIP
+}
@@ -0,0 +1,100 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.ui.Auth;
+import io.hevo.connector.ui.Property;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Setters of the {@link Property} and {@link Auth} fields of a connector class, resolved once per
+ * class into method handles. Binding a configuration then costs a method handle call per field
+ * instead of a walk of the class hierarchy and a reflective, access-checked {@code Field.set}.
+ */
+final class ConnectorBinder {
+
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final ClassValue<ConnectorBinder> BINDERS =
+      new ClassValue<>() {
+        @Override
+        protected ConnectorBinder computeValue(Class<?> connectorClass) {
+          return new ConnectorBinder(connectorClass);
+        }
+      };
+
+  /**
+   * An annotated field.
+   *
+   * @param name Name of the field, which is also its key in the configuration.
+   * @param type Type of the field.
+   * @param setter Sets the field, as {@code (Object connector, Object value)void}.
+   */
+  record Binding(String name, Class<?> type, MethodHandle setter) {
+
+    /**
+     * Sets the field on a connector.
+     *
+     * @throws ConnectorException If the value does not fit the type of the field.
+     */
+    void set(Object connector, Object value) throws ConnectorException {
+      try {
+        setter.invokeExact(connector, value);
+      } catch (ClassCastException | NullPointerException e) {
+        throw new ConnectorException("Failed to set field '" + name + "'.", e);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new ConnectorException("Failed to set field '" + name + "'.", e);
+      }
+    }
+  }
+
+  private final List<Binding> bindings;
+
+  private ConnectorBinder(Class<?> connectorClass) {
+    List<Binding> annotatedFields = new ArrayList<>();
+    Class<?> currentClass = connectorClass;
+    while (currentClass != null) {
+      MethodHandles.Lookup lookup = null;
+      for (Field field : currentClass.getDeclaredFields()) {
+        if (!field.isAnnotationPresent(Property.class) && !field.isAnnotationPresent(Auth.class)) {
+          continue;
+        }
+        // Skip static or final fields
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+          continue;
+        }
+        try {
+          if (lookup == null) {
+            lookup = MethodHandles.privateLookupIn(currentClass, MethodHandles.lookup());
+          }
+          MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+          annotatedFields.add(new Binding(field.getName(), field.getType(), setter));
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(
+              "Cannot access field '" + field.getName() + "' of " + currentClass.getName(), e);
+        }
+      }
+      currentClass = currentClass.getSuperclass();
+    }
+    this.bindings = Collections.unmodifiableList(annotatedFields);
+  }
+
+  /** The binder of a connector class, resolved on first use and shared afterwards. */
+  static ConnectorBinder of(Class<?> connectorClass) {
+    return BINDERS.get(connectorClass);
+  }
+
+  /** Annotated fields, from the connector class up through its superclasses. */
+  List<Binding> bindings() {
+    return bindings;
+  }
+}
@@ -0,0 +1,192 @@
+package io.hevo.connector.generic_test;
+
+/**
+ * Encodes records as RFC 4180 CSV: fields are separated by commas, records end with CRLF, and a
+ * field is enclosed in double quotes, with embedded quotes doubled, only if it contains a comma, a
+ * double quote or a line break. A {@code null} value becomes an empty field and an empty string
+ * becomes {@code ""}, so the two stay distinguishable.
+ *
+ * <p>{@link #encode} writes UTF-8 straight into a reusable byte array. Fields are first encoded
+ * optimistically without quotes and only re-encoded quoted when a special character turns up, so
+ * the common case costs a single pass over each value. Instances are not thread-safe.
+ *
+ * <p>Values are taken as strings because that is how a processor receives them: {@code
+ * HStruct#asArrayOfString()} is the only way the SDK offers to read a published row, so there are
+ * no typed integer or timestamp values to encode directly.
+ */
+final class CsvRecordEncoder {
+
+  static final String RECORD_SEPARATOR = "\r\n";
+
+  /** Upper bound on the UTF-8 length of one UTF-16 char; a surrogate pair takes 4 bytes for 2. */
+  private static final int MAX_BYTES_PER_CHAR = 3;
+
+  /** Bit set of the chars that force a field to be quoted, all of which are below 64. */
+  private static final long SPECIAL_CHARS = 1L << ',' | 1L << '"' | 1L << '\n' | 1L << '\r';
+
+  private byte[] bytes = new byte[1024];
+
+  private int length;
+
+  /**
+   * Encodes one record, replacing the previously encoded one.
+   *
+   * @return The number of bytes of the record, available through {@link #bytes()}.
+   */
+  int encode(String[] values) {
+    length = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        ensureCapacity(1);
+        bytes[length++] = ',';
+      }
+      encodeField(values[i]);
+    }
+    ensureCapacity(2);
+    bytes[length++] = '\r';
+    bytes[length++] = '\n';
+    return length;
+  }
+
+  /** Bytes of the last encoded record, valid up to the length {@link #encode} returned. */
+  byte[] bytes() {
+    return bytes;
+  }
+
+  /**
+   * Appends one record to a string builder, encoded the same way as {@link #encode}, for writers
+   * that work on characters.
+   */
+  static void appendTo(StringBuilder sb, String[] values) {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      String value = values[i];
+      if (value == null) {
+        continue;
+      }
+      if (value.isEmpty() || needsQuotes(value)) {
+        sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+      } else {
+        sb.append(value);
+      }
+    }
+    sb.append(RECORD_SEPARATOR);
+  }
+
+  private void encodeField(String value) {
+    if (value == null) {
+      return;
+    }
+    int chars = value.length();
+    if (chars == 0) {
+      ensureCapacity(2);
+      bytes[length++] = '"';
+      bytes[length++] = '"';
+      return;
+    }
+    // Covers the quoted form too: a doubled quote takes 2 bytes, within the bound of 3
+    ensureCapacity(chars * MAX_BYTES_PER_CHAR + 2);
+    int start = length;
+    if (!encodeUnquoted(value)) {
+      length = start;
+      encodeQuoted(value);
+    }
+  }
+
+  /** Encodes a value as is, giving up as soon as it turns out to need quotes. */
+  private boolean encodeUnquoted(String value) {
+    byte[] b = bytes;
+    int n = length;
+    for (int i = 0, chars = value.length(); i < chars; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        if (isSpecial(c)) {
+          return false;
+        }
+        b[n++] = (byte) c;
+      } else {
+        length = n;
+        i = encodeNonAscii(value, i);
+        n = length;
+      }
+    }
+    length = n;
+    return true;
+  }
+
+  private void encodeQuoted(String value) {
+    byte[] b = bytes;
+    int n = length;
+    b[n++] = '"';
+    for (int i = 0, chars = value.length(); i < chars; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x80) {
+        length = n;
+        i = encodeNonAscii(value, i);
+        n = length;
+      } else {
+        if (c == '"') {
+          b[n++] = '"';
+        }
+        b[n++] = (byte) c;
+      }
+    }
+    b[n++] = '"';
+    length = n;
+  }
+
+  /**
+   * Encodes the non-ASCII char at the given index, and the low surrogate after it if it starts a
+   * pair.
+   *
+   * @return The index of the last char consumed.
+   */
+  private int encodeNonAscii(String value, int i) {
+    byte[] b = bytes;
+    char c = value.charAt(i);
+    if (c < 0x800) {
+      b[length++] = (byte) (0xC0 | (c >> 6));
+      b[length++] = (byte) (0x80 | (c & 0x3F));
+    } else if (Character.isHighSurrogate(c)
+        && i + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(i + 1))) {
+      int codePoint = Character.toCodePoint(c, value.charAt(++i));
+      b[length++] = (byte) (0xF0 | (codePoint >> 18));
+      b[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+      b[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+      b[length++] = (byte) (0x80 | (codePoint & 0x3F));
+    } else if (Character.isSurrogate(c)) {
+      // Unpaired surrogate, replaced the same way String.getBytes does
+      b[length++] = '?';
+    } else {
+      b[length++] = (byte) (0xE0 | (c >> 12));
+      b[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+      b[length++] = (byte) (0x80 | (c & 0x3F));
+    }
+    return i;
+  }
+
+  private void ensureCapacity(int additional) {
+    int required = length + additional;
+    if (required > bytes.length) {
+      byte[] grown = new byte[Math.max(required, bytes.length * 2)];
+      System.arraycopy(bytes, 0, grown, 0, length);
+      bytes = grown;
+    }
+  }
+
+  private static boolean needsQuotes(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (isSpecial(value.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSpecial(char c) {
+    return c < 64 && (SPECIAL_CHARS & (1L << c)) != 0;
+  }
+}
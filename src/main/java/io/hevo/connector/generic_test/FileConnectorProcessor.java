@@ -1,35 +1,95 @@
 package io.hevo.connector.generic_test;
 
 import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.generic_test.SegmentManifest.Segment;
 import io.hevo.connector.model.ConnectorMeta;
 import io.hevo.connector.model.field.data.datum.hudt.HStruct;
-import io.hevo.connector.processor.ConnectorProcessor;
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class FileConnectorProcessor implements ConnectorProcessor, AutoCloseable {
+/**
+ * Writes published records to a file as RFC 4180 CSV, one record per row; see {@link
+ * CsvRecordEncoder}. The {@link OutputMode} and {@link Compression} of the sink's {@link
+ * FileSinkOptions} select how records are encoded.
+ *
+ * <p>Records are buffered and flushed according to the {@link FlushMode} of the sink's {@link
+ * FileSinkOptions}. Records published after the last flush may be lost on a crash, so the offset of
+ * a fetch may only be acknowledged once {@link #checkpoint()} has returned.
+ *
+ * <p>If the options set a segment size, records are written to numbered segment files instead of
+ * the output file itself: {@code historical_o1.csv} becomes {@code historical_o1.00000.csv}, {@code
+ * historical_o1.00001.csv} and so on. A segment is completed once it reaches the record or byte
+ * threshold, on {@link #checkpoint()}, or when the sink is closed, and is then listed in the {@link
+ * SegmentManifest}. Reopening the output continues after the last listed segment, and discards an
+ * unfinished one, whose records no checkpoint has acknowledged.
+ */
+public class FileConnectorProcessor implements CheckpointingProcessor {
 
   private static final Logger log = LoggerFactory.getLogger(FileConnectorProcessor.class);
 
+  private static final String[] NO_VALUES = new String[0];
+
   private final Path filePath;
 
-  private final BufferedWriter writer;
+  private final FileSinkOptions options;
+
+  /** Completed segments, or {@code null} if the output is not segmented. */
+  private final SegmentManifest manifest;
+
+  private Path segmentPath;
+
+  private FileChannel channel;
+
+  /** Checksums the current segment, or {@code null} if the output is not segmented. */
+  private ChecksummingChannel checksummedChannel;
+
+  private RecordOutput output;
+
+  /** Number, in the output as a whole, of the first record published to this sink. */
+  private long recordNumberBase;
+
+  private long segmentFirstRecord;
+
+  private long segmentBytes;
+
+  private long publishedRecords;
+
+  private long flushedRecords;
+
+  private long bufferedBytes;
+
+  private long lastFlushNanos = System.nanoTime();
 
   /**
-   * Constructs a FileConnectorProcessor.
+   * Constructs a FileConnectorProcessor that flushes after every record.
    *
    * @param outputFilePath The path to the output file.
    * @throws ConnectorException If the file cannot be opened.
    */
   public FileConnectorProcessor(String outputFilePath) throws ConnectorException {
+    this(outputFilePath, FileSinkOptions.defaults());
+  }
+
+  /**
+   * Constructs a FileConnectorProcessor.
+   *
+   * @param outputFilePath The path to the output file.
+   * @param options Flush behaviour of the sink.
+   * @throws ConnectorException If the file cannot be opened.
+   */
+  public FileConnectorProcessor(String outputFilePath, FileSinkOptions options)
+      throws ConnectorException {
     this.filePath = Paths.get(outputFilePath).toAbsolutePath();
+    this.options = options;
     try {
       // Extract directory path
       Path directoryPath = this.filePath.getParent();
@@ -40,73 +100,202 @@ public class FileConnectorProcessor implements ConnectorProcessor, AutoCloseable
         log.info("Created directories: {}", directoryPath.toString());
       }
 
-      // Initialize BufferedWriter with append option
-      this.writer =
-          Files.newBufferedWriter(
-              this.filePath, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      if (options.segmented()) {
+        this.manifest = SegmentManifest.read(filePath);
+        this.recordNumberBase = manifest.recordCount();
+        openSegment(segmentPathOf(manifest.segments().size()));
+      } else {
+        this.manifest = null;
+        openSegment(filePath);
+      }
 
-      log.info("FileConnectorProcessor initialized. Writing to: {}", this.filePath.toString());
+      log.info("FileConnectorProcessor initialized. Writing to: {}", this.segmentPath.toString());
     } catch (IOException e) {
       throw new ConnectorException("Failed to open file for writing: " + filePath, e);
     }
   }
 
   @Override
-  public synchronized void publish(HStruct hStruct, ConnectorMeta connectorMeta)
-      throws ConnectorException {
+  public void publish(HStruct hStruct, ConnectorMeta connectorMeta) throws ConnectorException {
     if (hStruct == null) {
       throw new ConnectorException("HStruct is null. Cannot write to file.");
     }
 
-    // Convert HStruct and ConnectorMeta to a desired string format.
-    // For simplicity, we'll use JSON representation. You can customize this as needed.
+    Optional<String[]> values = hStruct.asArrayOfString();
+    if (values.isEmpty()) {
+      log.info("Nothing to write.");
+    }
+    write(values.orElse(NO_VALUES));
+  }
 
-    String record = convertToString(hStruct, connectorMeta);
+  /** Writes the values of a record that has already been converted by the caller. */
+  synchronized void write(String[] values) throws ConnectorException {
     try {
-      writer.write(record);
-      writer.newLine();
-      writer.flush();
+      long recordBytes = output.write(values);
+      bufferedBytes += recordBytes;
+      segmentBytes += recordBytes;
+      publishedRecords++;
+      if (manifest != null && segmentIsFull()) {
+        completeSegment();
+        openSegment(segmentPathOf(manifest.segments().size()));
+      } else if (shouldFlush()) {
+        flush();
+      }
     } catch (Exception e) {
-      throw new ConnectorException("Failed to write record to file: " + filePath, e);
+      throw new ConnectorException("Failed to write record to file: " + segmentPath, e);
     }
   }
 
   /**
-   * Converts HStruct and ConnectorMeta to a JSON string. Customize this method based on how you
-   * want to format the output.
+   * Flushes every record published so far, forcing it to disk if the sink is configured to fsync.
+   * Once this returns, the offset of the last published record can safely be acknowledged.
+   *
+   * <p>A segmented output completes its current segment, if it holds any record, and continues in
+   * the next one: only listed segments survive reopening the output, so the records a checkpoint
+   * acknowledges must be in one.
    *
-   * @param hStruct The data structure.
-   * @param connectorMeta The metadata associated with the data.
-   * @return A JSON-formatted string representing the record.
+   * @return The number of records that have been flushed.
+   * @throws ConnectorException If flushing fails.
    */
-  private String convertToString(HStruct hStruct, ConnectorMeta connectorMeta) {
-    Optional<String[]> stringArray = hStruct.asArrayOfString();
-    if (stringArray.isPresent()) {
-      StringBuilder sb = new StringBuilder();
-      // Assuming HStruct has a method to retrieve field values as a list
-      for (String value : stringArray.get()) { // Replace with actual method
-        sb.append(value).append(",");
+  @Override
+  public synchronized long checkpoint() throws ConnectorException {
+    try {
+      if (manifest != null && publishedRecords > segmentFirstRecord) {
+        completeSegment();
+        openSegment(segmentPathOf(manifest.segments().size()));
+      } else {
+        flush();
       }
-      return sb.toString();
+      return flushedRecords;
+    } catch (IOException e) {
+      throw new ConnectorException("Failed to flush file: " + segmentPath, e);
+    }
+  }
+
+  /** Number of records published to this sink that have been flushed. */
+  public synchronized long flushedRecords() {
+    return flushedRecords;
+  }
+
+  /**
+   * Path of a segment: the output file name with the segment number inserted before its extension,
+   * not counting a trailing {@code .gz}.
+   */
+  Path segmentPathOf(int segment) {
+    return OutputFileNames.withSuffix(filePath, String.format(".%05d", segment));
+  }
+
+  private void openSegment(Path path) throws IOException {
+    // Open the file for appending, keeping the channel to be able to force writes to disk
+    FileChannel opened =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    long size = opened.size();
+    GatheringByteChannel target = opened;
+    if (manifest != null) {
+      // Anything already there is left over from a run that stopped before completing the segment,
+      // so none of it is in the manifest or was acknowledged by a checkpoint
+      opened.truncate(0);
+      size = 0;
+      Files.deleteIfExists(GzipBlockIndex.indexPathOf(path));
+      checksummedChannel = new ChecksummingChannel(opened);
+      target = checksummedChannel;
+    } else if (options.compression() == Compression.GZIP) {
+      // Members are indexed once written, so members after the last indexed one were left by a run
+      // that stopped before indexing them, and were never acknowledged by a checkpoint
+      long indexed = GzipBlockIndex.truncate(path, size).compressedSize();
+      if (indexed < size) {
+        log.warn("Discarding {} unindexed bytes at the end of {}", size - indexed, path);
+        opened.truncate(indexed);
+        size = indexed;
+      }
+    }
+    if (options.compression() == Compression.GZIP) {
+      output = new GzipRecordOutput(target, size, path, options);
+    } else if (options.outputMode() == OutputMode.CHANNEL) {
+      output = new ChannelRecordOutput(target);
     } else {
-      log.info("Nothing to write.");
-      return "";
+      output = new WriterRecordOutput(target);
+    }
+    channel = opened;
+    segmentPath = path;
+    segmentFirstRecord = publishedRecords;
+    segmentBytes = 0;
+  }
+
+  private boolean segmentIsFull() {
+    long records = publishedRecords - segmentFirstRecord;
+    return (options.segmentRecords() > 0 && records >= options.segmentRecords())
+        || (options.segmentBytes() > 0 && segmentBytes >= options.segmentBytes());
+  }
+
+  /** Flushes and closes the current segment and lists it in the manifest. */
+  private void completeSegment() throws IOException {
+    flush();
+    output.close();
+    channel.force(true);
+    channel.close();
+    manifest.add(
+        new Segment(
+            segmentPath.getFileName().toString(),
+            publishedRecords - segmentFirstRecord,
+            checksummedChannel.bytesWritten(),
+            recordNumberBase + segmentFirstRecord,
+            recordNumberBase + publishedRecords - 1,
+            String.format("%08x", checksummedChannel.checksum())));
+    log.info("Completed segment {}", segmentPath);
+  }
+
+  private boolean shouldFlush() {
+    switch (options.flushMode()) {
+      case EVERY_RECORD:
+        return true;
+      case RECORD_COUNT:
+        return publishedRecords - flushedRecords >= options.flushRecords();
+      case BYTE_SIZE:
+        return bufferedBytes >= options.flushBytes();
+      case ELAPSED_TIME:
+        return System.nanoTime() - lastFlushNanos
+            >= TimeUnit.MILLISECONDS.toNanos(options.flushIntervalMillis());
+      case CHECKPOINT:
+      default:
+        return false;
+    }
+  }
+
+  private void flush() throws IOException {
+    output.flush();
+    if (options.fsync()) {
+      channel.force(false);
     }
+    flushedRecords = publishedRecords;
+    bufferedBytes = 0;
+    lastFlushNanos = System.nanoTime();
   }
 
   /**
-   * Closes the BufferedWriter. Should be called when processing is complete.
+   * Flushes pending records and closes the file. Should be called when processing is complete. A
+   * segmented output completes its current segment, or deletes it if it is empty.
    *
    * @throws ConnectorException If an error occurs while closing the writer.
    */
   @Override
-  public void close() throws ConnectorException {
+  public synchronized void close() throws ConnectorException {
     try {
-      if (writer != null) {
-        writer.close();
+      if (manifest == null) {
+        flush();
+        output.close();
+        channel.close();
+      } else if (publishedRecords > segmentFirstRecord) {
+        completeSegment();
+      } else {
+        output.close();
+        channel.close();
+        Files.deleteIfExists(segmentPath);
+        Files.deleteIfExists(GzipBlockIndex.indexPathOf(segmentPath));
       }
     } catch (IOException e) {
-      throw new ConnectorException("Failed to close file writer: " + filePath, e);
+      throw new ConnectorException("Failed to close file writer: " + segmentPath, e);
     }
   }
 }
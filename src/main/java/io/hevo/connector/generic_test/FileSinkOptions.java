@@ -0,0 +1,226 @@
+package io.hevo.connector.generic_test;
+
+import java.util.concurrent.ExecutorService;
+
+/** Options of a {@link FileConnectorProcessor}. Instances are immutable; use {@link #builder()}. */
+public final class FileSinkOptions {
+
+  private final FlushMode flushMode;
+  private final int flushRecords;
+  private final long flushBytes;
+  private final long flushIntervalMillis;
+  private final boolean fsync;
+  private final OutputMode outputMode;
+  private final Compression compression;
+  private final int compressionBlockBytes;
+  private final int compressionThreads;
+  private final ExecutorService compressionExecutor;
+  private final int compressionLevel;
+  private final long segmentRecords;
+  private final long segmentBytes;
+
+  private FileSinkOptions(Builder builder) {
+    this.flushMode = builder.flushMode;
+    this.flushRecords = builder.flushRecords;
+    this.flushBytes = builder.flushBytes;
+    this.flushIntervalMillis = builder.flushIntervalMillis;
+    this.fsync = builder.fsync;
+    this.outputMode = builder.outputMode;
+    this.compression = builder.compression;
+    this.compressionBlockBytes = builder.compressionBlockBytes;
+    this.compressionThreads = compressionThreadsOf(builder.compressionThreads);
+    this.compressionExecutor = builder.compressionExecutor;
+    this.compressionLevel = builder.compressionLevel;
+    this.segmentRecords = builder.segmentRecords;
+    this.segmentBytes = builder.segmentBytes;
+  }
+
+  /**
+   * Options that flush after every record without forcing writes to disk, in {@link
+   * OutputMode#WRITER} mode.
+   */
+  public static FileSinkOptions defaults() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public FlushMode flushMode() {
+    return flushMode;
+  }
+
+  /** Buffered records that trigger a flush in {@link FlushMode#RECORD_COUNT}. */
+  public int flushRecords() {
+    return flushRecords;
+  }
+
+  /** Buffered bytes that trigger a flush in {@link FlushMode#BYTE_SIZE}. */
+  public long flushBytes() {
+    return flushBytes;
+  }
+
+  /** Time since the previous flush that triggers a flush in {@link FlushMode#ELAPSED_TIME}. */
+  public long flushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
+  /**
+   * Whether every flush also forces the written bytes to the storage device. Only then does a flush
+   * survive a crash of the machine, not just of the process.
+   */
+  public boolean fsync() {
+    return fsync;
+  }
+
+  /** How records are encoded. Ignored with {@link Compression#GZIP}, which encodes to bytes. */
+  public OutputMode outputMode() {
+    return outputMode;
+  }
+
+  public Compression compression() {
+    return compression;
+  }
+
+  /** Uncompressed size of each independently compressed block of gzip output. */
+  public int compressionBlockBytes() {
+    return compressionBlockBytes;
+  }
+
+  /**
+   * Number of threads compressing blocks of gzip output. Each output keeps up to twice as many
+   * blocks in flight.
+   */
+  public int compressionThreads() {
+    return compressionThreads;
+  }
+
+  /**
+   * Executor compressing blocks of gzip output, shared by every output opened with these options,
+   * or {@code null} for a pool shared by the whole process with one thread per processor.
+   */
+  public ExecutorService compressionExecutor() {
+    return compressionExecutor;
+  }
+
+  /** Resolves a configured number of compression threads, {@code 0} meaning one per processor. */
+  static int compressionThreadsOf(int configured) {
+    return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+  }
+
+  /** Deflate level of gzip output, from 1 (fastest) to 9 (smallest). */
+  public int compressionLevel() {
+    return compressionLevel;
+  }
+
+  /** Records after which a segment is completed, or {@code 0} for no record limit. */
+  public long segmentRecords() {
+    return segmentRecords;
+  }
+
+  /**
+   * Bytes after which a segment is completed, or {@code 0} for no size limit. Counts bytes before
+   * compression.
+   */
+  public long segmentBytes() {
+    return segmentBytes;
+  }
+
+  /** Whether output is split into segments. */
+  public boolean segmented() {
+    return segmentRecords > 0 || segmentBytes > 0;
+  }
+
+  public static final class Builder {
+    private FlushMode flushMode = FlushMode.EVERY_RECORD;
+    private int flushRecords = 10_000;
+    private long flushBytes = 1 << 20;
+    private long flushIntervalMillis = 1_000L;
+    private boolean fsync = false;
+    private OutputMode outputMode = OutputMode.WRITER;
+    private Compression compression = Compression.NONE;
+    private int compressionBlockBytes = 1 << 20;
+    private int compressionThreads = 0;
+    private ExecutorService compressionExecutor;
+    private int compressionLevel = 6;
+    private long segmentRecords = 0;
+    private long segmentBytes = 0;
+
+    private Builder() {}
+
+    public Builder flushMode(FlushMode flushMode) {
+      this.flushMode = flushMode;
+      return this;
+    }
+
+    public Builder flushRecords(int flushRecords) {
+      this.flushRecords = flushRecords;
+      return this;
+    }
+
+    public Builder flushBytes(long flushBytes) {
+      this.flushBytes = flushBytes;
+      return this;
+    }
+
+    public Builder flushIntervalMillis(long flushIntervalMillis) {
+      this.flushIntervalMillis = flushIntervalMillis;
+      return this;
+    }
+
+    public Builder fsync(boolean fsync) {
+      this.fsync = fsync;
+      return this;
+    }
+
+    public Builder outputMode(OutputMode outputMode) {
+      this.outputMode = outputMode;
+      return this;
+    }
+
+    public Builder compression(Compression compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    public Builder compressionBlockBytes(int compressionBlockBytes) {
+      this.compressionBlockBytes = compressionBlockBytes;
+      return this;
+    }
+
+    /** Number of compression threads, or {@code 0} for one per available processor. */
+    public Builder compressionThreads(int compressionThreads) {
+      this.compressionThreads = compressionThreads;
+      return this;
+    }
+
+    /**
+     * Executor compressing blocks of gzip output. It is not shut down by the outputs, so one
+     * executor can bound the compression threads of every sink of a run.
+     */
+    public Builder compressionExecutor(ExecutorService compressionExecutor) {
+      this.compressionExecutor = compressionExecutor;
+      return this;
+    }
+
+    public Builder compressionLevel(int compressionLevel) {
+      this.compressionLevel = compressionLevel;
+      return this;
+    }
+
+    public Builder segmentRecords(long segmentRecords) {
+      this.segmentRecords = segmentRecords;
+      return this;
+    }
+
+    public Builder segmentBytes(long segmentBytes) {
+      this.segmentBytes = segmentBytes;
+      return this;
+    }
+
+    public FileSinkOptions build() {
+      return new FileSinkOptions(this);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package io.hevo.connector.generic_test;
+
+/** When a {@link FileConnectorProcessor} flushes buffered records to its file. */
+public enum FlushMode {
+  /** After every record. Slowest, but nothing is ever left in the buffer. */
+  EVERY_RECORD,
+
+  /** Once {@link FileSinkOptions#flushRecords()} records are buffered. */
+  RECORD_COUNT,
+
+  /** Once {@link FileSinkOptions#flushBytes()} bytes are buffered. */
+  BYTE_SIZE,
+
+  /**
+   * On the first record published {@link FileSinkOptions#flushIntervalMillis()} after the previous
+   * flush. There is no background timer, so an idle sink flushes on its next checkpoint or close.
+   */
+  ELAPSED_TIME,
+
+  /** Only on {@link FileConnectorProcessor#checkpoint()} and on close. */
+  CHECKPOINT
+}
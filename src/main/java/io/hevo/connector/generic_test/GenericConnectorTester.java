@@ -11,27 +11,34 @@ import io.hevo.connector.model.ConnectorContext;
 import io.hevo.connector.model.ExecutionResult;
 import io.hevo.connector.model.ObjectDetails;
 import io.hevo.connector.model.ObjectSchema;
-import io.hevo.connector.model.field.schema.base.FieldProperties;
-import io.hevo.connector.model.field.schema.hudt.HField;
 import io.hevo.connector.offset.Offset;
+import io.hevo.connector.spi.RangePartitionedConnector;
 import io.hevo.connector.test_connector.TestConnector;
-import io.hevo.connector.ui.Auth;
-import io.hevo.connector.ui.Property;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Scanner;
 import java.util.ServiceLoader;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * A generic tester for any connector that can initialize a connection, retrieve objects, fetch
@@ -41,9 +48,36 @@ import java.util.stream.Collectors;
  */
 public class GenericConnectorTester<T extends GenericConnector> {
 
+  private static final String OUTPUT_DIR = "src/main/java/io/hevo/connector/generic_test/output/";
+
+  private static final String DEFAULT_CONFIG_FILE =
+      "src/main/java/io/hevo/connector/generic_test/config.json";
+
   private final Class<T> connectorClass;
   private final T connectorInstance;
+  private final ConnectorBinder binder;
   private final ObjectMapper objectMapper;
+  private final StartupProfile startupProfile = new StartupProfile();
+
+  /** Directory output files, schema exports and the default benchmark report are written to. */
+  private final Path outputDir;
+
+  private TesterConfig testerConfig = new TesterConfig();
+
+  /**
+   * Workers compressing the gzip output of every sink of a run, or {@code null} until a gzip sink
+   * is opened.
+   */
+  private ExecutorService compressionWorkers;
+
+  /** Offsets committed by {@link #executeConnector()}, or {@code null} if none are kept. */
+  private OffsetStore offsetStore;
+
+  /** The connector provider, looked up once however many testers are constructed. */
+  private static final class ConnectorProvider {
+    private static final Optional<ServiceLoader.Provider<GenericConnector>> PROVIDER =
+        ServiceLoader.load(GenericConnector.class).stream().findFirst();
+  }
 
   /**
    * Constructs a GenericConnectorTester for the specified connector class.
@@ -51,76 +85,85 @@ public class GenericConnectorTester<T extends GenericConnector> {
    * @param connectorClass The Class object of the connector.
    * @throws ConnectorException If instantiation fails.
    */
+  @SuppressWarnings("unchecked")
   public GenericConnectorTester(Class<T> connectorClass) throws ConnectorException {
     this.connectorClass = connectorClass;
     this.objectMapper = new ObjectMapper();
+    this.outputDir = Paths.get(OUTPUT_DIR);
     try {
-      this.connectorInstance =
-          (T)
-              ServiceLoader.load(GenericConnector.class)
-                  .findFirst()
-                  .orElseThrow(
-                      () -> new ConnectorRuntimeException("Connector has not been configured"));
-      ;
+      ServiceLoader.Provider<GenericConnector> provider =
+          startupProfile
+              .time("classLoading", () -> ConnectorProvider.PROVIDER)
+              .orElseThrow(
+                  () -> new ConnectorRuntimeException("Connector has not been configured"));
+      this.connectorInstance = startupProfile.time("instantiation", () -> (T) provider.get());
+      this.binder =
+          startupProfile.time("binderResolution", () -> ConnectorBinder.of(connectorClass));
     } catch (Exception e) {
       throw new ConnectorException("Failed to instantiate connector class.", e);
     }
   }
 
   /**
-   * Loads connector configuration from a JSON file.
+   * Constructs a GenericConnectorTester for a connector instance, such as a mock, rather than the
+   * configured connector provider.
+   *
+   * @param connectorClass The Class object of the connector, whose annotated fields are bound.
+   * @param connectorInstance The connector to test.
+   * @param testerConfig Settings of the tester.
+   * @param outputDir Directory output files are written to.
+   */
+  GenericConnectorTester(
+      Class<T> connectorClass, T connectorInstance, TesterConfig testerConfig, Path outputDir) {
+    this.connectorClass = connectorClass;
+    this.objectMapper = new ObjectMapper();
+    this.outputDir = outputDir;
+    this.connectorInstance = connectorInstance;
+    this.binder = ConnectorBinder.of(connectorClass);
+    this.testerConfig = testerConfig;
+  }
+
+  /**
+   * Loads connector configuration from a JSON file. Settings of the tester itself are read from the
+   * optional {@code tester} section.
    *
    * @param filePath The path to the JSON configuration file.
    * @throws ConnectorException If loading or setting fields fails.
    */
   public void loadConfigurationFromFile(String filePath) throws ConnectorException {
     try {
-      Map<String, Object> config = objectMapper.readValue(new File(filePath), Map.class);
-      setAnnotatedFields(config);
+      Map<String, Object> config =
+          startupProfile.time(
+              "configRead", () -> objectMapper.readValue(new File(filePath), Map.class));
+      Object testerSettings = config.get("tester");
+      if (testerSettings != null) {
+        testerConfig = objectMapper.convertValue(testerSettings, TesterConfig.class);
+      }
+      startupProfile.time(
+          "binding",
+          () -> {
+            setAnnotatedFields(config);
+            return null;
+          });
     } catch (IOException e) {
       throw new ConnectorException("Failed to read configuration file.", e);
     }
   }
 
-  private List<Field> getAllAnnotatedFields(Class<?> clazz) {
-    List<Field> annotatedFields = new ArrayList<>();
-    Class<?> currentClass = clazz;
-    while (currentClass != null) {
-      for (Field field : currentClass.getDeclaredFields()) {
-        if (field.isAnnotationPresent(Property.class) || field.isAnnotationPresent(Auth.class)) {
-          // Skip static or final fields
-          if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
-            continue;
-          }
-          annotatedFields.add(field);
-        }
-      }
-      currentClass = currentClass.getSuperclass();
-    }
-    return annotatedFields;
-  }
-
   /**
    * Sets the annotated fields of the connector instance based on the provided configuration map.
    *
    * @param config A map containing field names and their corresponding values.
    * @throws ConnectorException If setting fields fails.
    */
-  private void setAnnotatedFields(Map<String, Object> config) throws ConnectorException {
-    List<Field> fields = getAllAnnotatedFields(connectorClass);
-    for (Field field : fields) {
-      String fieldName = field.getName();
+  void setAnnotatedFields(Map<String, Object> config) throws ConnectorException {
+    for (ConnectorBinder.Binding binding : binder.bindings()) {
+      String fieldName = binding.name();
       if (!config.containsKey(fieldName)) {
         throw new ConnectorException("Missing configuration for field: " + fieldName);
       }
       Object value = config.get(fieldName);
-      try {
-        field.setAccessible(true);
-        Object parsedValue = parseValue(value, field.getType(), true);
-        field.set(connectorInstance, parsedValue);
-      } catch (IllegalAccessException e) {
-        throw new ConnectorException("Failed to set field '" + fieldName + "'.", e);
-      }
+      binding.set(connectorInstance, parseValue(value, binding.type(), true));
     }
   }
 
@@ -131,29 +174,40 @@ public class GenericConnectorTester<T extends GenericConnector> {
    */
   public void promptForConfiguration() throws ConnectorException {
     Scanner scanner = new Scanner(System.in);
-    List<Field> fields = getAllAnnotatedFields(connectorClass);
-    Map<String, Object> configMap = new HashMap<>();
-
-    for (Field field : fields) {
-      // Skip static or final fields
-      if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
-        continue;
-      }
-
-      field.setAccessible(true);
-      String fieldName = field.getName();
-      Class<?> fieldType = field.getType();
+    for (ConnectorBinder.Binding binding : binder.bindings()) {
+      String fieldName = binding.name();
+      Class<?> fieldType = binding.type();
 
       System.out.println(
           "Enter value for field '" + fieldName + "' (Type: " + fieldType.getSimpleName() + "): ");
       String input = scanner.nextLine();
 
-      Object value = parseValue(input, fieldType, false);
-      configMap.put(fieldName, value);
-      setAnnotatedFields(configMap);
+      // Bind each field as soon as it is entered, leaving the fields already bound alone
+      binding.set(connectorInstance, parseValue(input, fieldType, false));
     }
   }
 
+  /**
+   * Initializes the connection of the connector, printing the startup profile if {@link
+   * TesterConfig#isStartupReport()} is set.
+   */
+  private void initializeConnection() throws ConnectorException {
+    startupProfile.time(
+        "initializeConnection",
+        () -> {
+          connectorInstance.initializeConnection();
+          return null;
+        });
+    if (testerConfig.isStartupReport()) {
+      System.out.print("Startup profile:" + System.lineSeparator() + startupProfile.report());
+    }
+  }
+
+  /** Time spent getting the connector ready so far. */
+  public StartupProfile startupProfile() {
+    return startupProfile;
+  }
+
   /**
    * Executes the connector methods in the specified order.
    *
@@ -162,7 +216,7 @@ public class GenericConnectorTester<T extends GenericConnector> {
   public void executeConnector() throws ConnectorException {
     try {
       // Initialize connection
-      connectorInstance.initializeConnection();
+      initializeConnection();
       System.out.println("Connection initialized successfully.");
 
       // Fetch all objects
@@ -178,31 +232,15 @@ public class GenericConnectorTester<T extends GenericConnector> {
       List<ObjectDetails> objectsToPoll = new ArrayList<>();
       if ("1".equals(choice)) {
         System.out.println(
-            "Enter comma-separated list of objects to poll (fully qualified names):");
+            "Enter comma-separated list of objects to poll (fully qualified names, globs such as"
+                + " schema.orders_*, re:<regex>, or !<name or pattern> to exclude):");
         String objectsInput = scanner.nextLine().trim();
 
         // Split input and trim whitespace
         List<String> objectsInputList =
             Arrays.stream(objectsInput.split(",")).map(String::trim).toList();
 
-        // Match input objects with fetched ObjectDetails
-        objectsToPoll =
-            allObjectDetails.stream()
-                .filter(od -> objectsInputList.contains(od.getTableFullyQualifiedName()))
-                .collect(Collectors.toList());
-
-        // Log unmatched objects
-        List<String> unmatchedObjects =
-            objectsInputList.stream()
-                .filter(
-                    name ->
-                        allObjectDetails.stream()
-                            .noneMatch(od -> od.getTableFullyQualifiedName().equals(name)))
-                .toList();
-        if (!unmatchedObjects.isEmpty()) {
-          System.out.println(
-              "The following objects were not found and will be skipped: " + unmatchedObjects);
-        }
+        objectsToPoll = selectObjects(allObjectDetails, objectsInputList);
 
         System.out.println("Selected  " + objectsToPoll.size() + " objects to poll");
 
@@ -221,154 +259,746 @@ public class GenericConnectorTester<T extends GenericConnector> {
       System.out.println("Fetching object schemas...");
       List<ObjectSchema> objectSchemas = connectorInstance.fetchSchemaFromSource(objectsToPoll);
 
-      String schemaCSV = "src/main/java/io/hevo/connector/generic_test/output/object_schemas.csv";
-      exportObjectSchemasToCsv(objectSchemas, schemaCSV);
+      exportObjectSchemas(objectSchemas);
 
-      Map<ObjectSchema, ExecutionResult> objectFetchResult = new HashMap<>();
-      // Historical Data Fetching
-      System.out.println("Starting historical data fetching...");
-      for (ObjectSchema objectSchema : objectSchemas) {
-        String outputFileName =
-            "src/main/java/io/hevo/connector/generic_test/output/historical_"
-                + objectSchema.objectDetail().getTableFullyQualifiedName()
-                + ".csv";
-        try (FileConnectorProcessor fileProcessor = new FileConnectorProcessor(outputFileName)) {
-          ExecutionResult executionResult =
-              connectorInstance.fetchDataFromSource(
-                  new ConnectorContext(objectSchema, Offset.empty()), fileProcessor);
-          objectFetchResult.put(objectSchema, executionResult);
-          System.out.println(
-              "Historical data fetched for object "
-                  + objectSchema.objectDetail().getTableFullyQualifiedName());
-        } catch (ConnectorException e) {
-          System.err.println(
-              "Failed to fetch historical data for object "
-                  + objectSchema.objectDetail().getTableFullyQualifiedName()
-                  + " error : "
-                  + e.getMessage());
-        }
+      if (!testerConfig.getOffsetStoreFile().isEmpty()) {
+        offsetStore = OffsetStore.open(Paths.get(testerConfig.getOffsetStoreFile()));
+        System.out.println(
+            "Loaded committed offsets of "
+                + offsetStore.size()
+                + " objects from "
+                + offsetStore.path());
       }
 
-      // Incremental Data Fetching
-      System.out.println("Starting incremental data fetching...");
+      System.out.println(
+          "Fetching data of "
+              + objectSchemas.size()
+              + " objects, "
+              + objectConcurrency(objectSchemas)
+              + " at a time...");
+      fetchObjects(objectSchemas);
+      System.out.println("Data fetching process completed successfully.");
+    } finally {
+      try {
+        connectorInstance.close();
+      } catch (ConnectorException e) {
+        System.err.println("Failed to close the connection" + e.getMessage());
+      }
+      stopCompressionWorkers();
+    }
+  }
+
+  /**
+   * Selects fetched objects by name or pattern, logging the entries that match none. See {@link
+   * ObjectCatalog} for the patterns.
+   *
+   * @param objectNames Fully qualified names, globs or regular expressions of the objects to
+   *     select, or to exclude when prefixed by {@code !}.
+   * @return The selected objects, in the order they were fetched.
+   * @throws ConnectorException If a pattern is invalid.
+   */
+  private static List<ObjectDetails> selectObjects(
+      List<ObjectDetails> allObjectDetails, List<String> objectNames) throws ConnectorException {
+    ObjectCatalog.Selection selection;
+    try {
+      selection = ObjectCatalog.of(allObjectDetails).select(objectNames);
+    } catch (IllegalArgumentException e) {
+      throw new ConnectorException(e.getMessage(), e);
+    }
+
+    // Log unmatched objects
+    if (!selection.unmatched().isEmpty()) {
+      System.out.println(
+          "The following objects were not found and will be skipped: " + selection.unmatched());
+    }
+    return selection.objects();
+  }
+
+  /**
+   * Polls the {@link TesterConfig#getPollObjects()} continuously without any prompt, on {@link
+   * TesterConfig#getPollThreads()} workers shared by all objects, for {@link
+   * TesterConfig#getPollDurationSeconds()} or until the process is stopped. The first poll of an
+   * object is its historical fetch, unless the offset store holds an offset for it, and every later
+   * poll an incremental fetch from the offset the previous one reached. See {@link
+   * PollingScheduler} for how objects are scheduled.
+   *
+   * @return Polling statistics of every object.
+   * @throws ConnectorException If the connection, the objects or the schemas cannot be fetched.
+   */
+  public List<PollingScheduler.ObjectStats> runPolling() throws ConnectorException {
+    CountDownLatch pollingEnded = new CountDownLatch(1);
+    try {
+      initializeConnection();
+      List<ObjectDetails> allObjectDetails = connectorInstance.getObjects();
+      List<ObjectDetails> objectsToPoll =
+          testerConfig.getPollObjects().isEmpty()
+              ? allObjectDetails
+              : selectObjects(allObjectDetails, testerConfig.getPollObjects());
+      if (objectsToPoll.isEmpty()) {
+        throw new ConnectorException("No objects to poll.");
+      }
+      List<ObjectSchema> objectSchemas = connectorInstance.fetchSchemaFromSource(objectsToPoll);
+      if (!testerConfig.getOffsetStoreFile().isEmpty()) {
+        offsetStore = OffsetStore.open(Paths.get(testerConfig.getOffsetStoreFile()));
+      }
+
+      PollingScheduler<ObjectSchema> scheduler =
+          new PollingScheduler<>(
+              new PollingScheduler.Policy(
+                  testerConfig.getPollMinIntervalMillis(),
+                  testerConfig.getPollMaxIntervalMillis(),
+                  testerConfig.getPollTargetRecords()),
+              testerConfig.getPollThreads(),
+              this::pollObject);
       for (ObjectSchema objectSchema : objectSchemas) {
-        ExecutionResult lastExecutionResult = objectFetchResult.get(objectSchema);
-        if (lastExecutionResult == null) {
-          System.out.println(
-              "Skipping incremental fetch for object '{}' due to previous failures."
-                  + objectSchema.objectDetail().getTableFullyQualifiedName());
-          continue;
-        }
+        String objectName = objectSchema.objectDetail().getTableFullyQualifiedName();
+        Optional<Offset> committedOffset =
+            offsetStore != null ? offsetStore.offset(objectName) : Optional.empty();
+        scheduler.add(
+            objectSchema,
+            objectName,
+            committedOffset.map(offset -> new ExecutionResult(0, offset)).orElse(null));
+      }
 
-        String outputFileName =
-            "src/main/java/io/hevo/connector/generic_test/output/incremental_"
-                + objectSchema.objectDetail().getTableFullyQualifiedName()
-                + ".csv";
-        try (FileConnectorProcessor fileProcessor = new FileConnectorProcessor(outputFileName)) {
-          ExecutionResult executionResult =
-              connectorInstance.fetchDataFromSource(
-                  new ConnectorContext(objectSchema, lastExecutionResult.lastReadOffset()),
-                  fileProcessor);
-          objectFetchResult.put(objectSchema, executionResult);
-          System.out.println(
-              "Incremental data fetched for object "
-                  + objectSchema.objectDetail().getTableFullyQualifiedName());
-        } catch (ConnectorException e) {
-          System.out.println(
-              "Failed to fetch incremental data for object "
-                  + objectSchema.objectDetail().getTableFullyQualifiedName()
-                  + " error : "
-                  + e.getMessage());
+      System.out.println(
+          "Polling "
+              + objectSchemas.size()
+              + " objects on "
+              + testerConfig.getPollThreads()
+              + " workers...");
+      // Let polls in progress finish, and their offsets be committed, when the process is stopped.
+      // The JVM halts as soon as every shutdown hook has returned, so the hook waits for polling
+      // to end and the connection to be closed.
+      Thread shutdownHook =
+          new Thread(
+              () -> {
+                scheduler.stop();
+                try {
+                  pollingEnded.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              });
+      Runtime.getRuntime().addShutdownHook(shutdownHook);
+      List<PollingScheduler.ObjectStats> stats;
+      try {
+        stats = scheduler.run(Duration.ofSeconds(testerConfig.getPollDurationSeconds()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ConnectorException("Interrupted while polling.", e);
+      } finally {
+        try {
+          Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+          // The process is already shutting down
         }
       }
-      System.out.println("Data fetching process completed successfully.");
+      for (PollingScheduler.ObjectStats objectStats : stats) {
+        System.out.printf(
+            "%-40s %8d polls %6d failed %12d records  interval %8d ms  max lag %8d ms%n",
+            objectStats.name(),
+            objectStats.polls(),
+            objectStats.failures(),
+            objectStats.fetchedRecords(),
+            objectStats.intervalMillis(),
+            objectStats.maxLagMillis());
+      }
+      return stats;
     } finally {
       try {
         connectorInstance.close();
       } catch (ConnectorException e) {
         System.err.println("Failed to close the connection" + e.getMessage());
       }
+      stopCompressionWorkers();
+      pollingEnded.countDown();
     }
   }
 
-  private void exportObjectSchemasToCsv(List<ObjectSchema> objectSchemas, String filePath) {
-    // Define the CSV header
-    String header =
-        "fullyQualifiedName,sourceFieldName,sourceDataType,logicalType,"
-            + "position,defaultValue,pkPos,customPkPos,ckOrdinal,"
-            + "isNullable,isToasted,isInternal,fieldProvider,"
-            + "shouldReplicateToDestination,length,precision,scale";
+  /**
+   * Polls an object once: its historical fetch if it has never been fetched, otherwise an
+   * incremental fetch from the offset of the last poll. The offset is committed to the offset
+   * store, if one is kept, before the next poll starts from it.
+   */
+  private ExecutionResult pollObject(ObjectSchema objectSchema, ExecutionResult lastResult)
+      throws ConnectorException {
+    String objectName = objectSchema.objectDetail().getTableFullyQualifiedName();
+    if (lastResult == null) {
+      ExecutionResult executionResult = fetchHistoricalData(objectSchema, outputDir);
+      commitOffset(objectName, executionResult, "historical");
+      return executionResult;
+    }
+    ExecutionResult executionResult = fetchIncrementalData(objectSchema, lastResult, outputDir);
+    commitOffset(objectName, executionResult, "incremental");
+    return executionResult;
+  }
 
-    // Ensure the output directory exists
-    File file = new File(filePath);
-    File parentDir = file.getParentFile();
-    if (parentDir != null && !parentDir.exists()) {
-      if (parentDir.mkdirs()) {
-        System.out.println("Created output directory: " + parentDir.getAbsolutePath());
-      } else {
-        System.err.println("Failed to create output directory: " + parentDir.getAbsolutePath());
-        return;
+  /**
+   * Benchmarks the connector without any prompt. Every iteration initializes the connection, lists
+   * the objects, fetches the schemas of the {@link TesterConfig#getBenchmarkObjects()} and then
+   * runs their historical and incremental fetches, timing each of these phases. The first {@link
+   * TesterConfig#getWarmupIterations()} iterations are discarded; the report of the {@link
+   * TesterConfig#getMeasuredIterations()} that follow is written as JSON to {@link
+   * TesterConfig#getBenchmarkReportFile()}.
+   *
+   * @return The report of the measured iterations.
+   * @throws ConnectorException If a phase other than the fetch of an object fails, or the report
+   *     cannot be written.
+   */
+  public BenchmarkReport runBenchmark() throws ConnectorException {
+    int warmupIterations = Math.max(0, testerConfig.getWarmupIterations());
+    int measuredIterations = Math.max(1, testerConfig.getMeasuredIterations());
+    List<String> objectNames = new ArrayList<>();
+    List<BenchmarkReport.Iteration> iterations = new ArrayList<>(measuredIterations);
+    try {
+      for (int i = 1; i <= warmupIterations + measuredIterations; i++) {
+        boolean warmup = i <= warmupIterations;
+        int iteration = warmup ? i : i - warmupIterations;
+        System.out.println(
+            (warmup ? "Warmup" : "Measured") + " benchmark iteration " + iteration + "...");
+        objectNames.clear();
+        BenchmarkReport.Iteration result = runBenchmarkIteration(iteration, objectNames);
+        if (!warmup) {
+          iterations.add(result);
+        }
+      }
+    } finally {
+      stopCompressionWorkers();
+    }
+
+    BenchmarkReport report =
+        BenchmarkReport.of(
+            connectorInstance.getClass().getName(),
+            objectNames,
+            testerConfig,
+            warmupIterations,
+            iterations);
+    String reportFile =
+        testerConfig.getBenchmarkReportFile().isEmpty()
+            ? outputDir.resolve("benchmark_report.json").toString()
+            : testerConfig.getBenchmarkReportFile();
+    try {
+      Path reportPath = Paths.get(reportFile).toAbsolutePath();
+      Files.createDirectories(reportPath.getParent());
+      objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), report);
+      System.out.println("Benchmark report written to " + reportPath);
+    } catch (IOException e) {
+      throw new ConnectorException("Failed to write benchmark report: " + reportFile, e);
+    }
+    report
+        .summary()
+        .forEach(
+            (phase, summary) ->
+                System.out.printf(
+                    "%-22s %10.1f ms +- %8.1f   %14.1f /s +- %12.1f%n",
+                    phase,
+                    summary.meanMillis(),
+                    summary.stdevMillis(),
+                    summary.meanPerSecond(),
+                    summary.stdevPerSecond()));
+    return report;
+  }
+
+  /**
+   * Runs and times every phase once. Fetches write into a directory of their own, deleted once the
+   * iteration is over, so every iteration starts from empty output files rather than appending to
+   * those of the iterations before it.
+   *
+   * @param objectNames Receives the fully qualified names of the objects fetched.
+   */
+  private BenchmarkReport.Iteration runBenchmarkIteration(int iteration, List<String> objectNames)
+      throws ConnectorException {
+    Map<String, BenchmarkReport.Phase> phases = new LinkedHashMap<>();
+    Path iterationDir;
+    try {
+      Files.createDirectories(outputDir);
+      iterationDir = Files.createTempDirectory(outputDir, "benchmark_" + iteration + "_");
+    } catch (IOException e) {
+      throw new ConnectorException("Failed to create benchmark output directory.", e);
+    }
+    try {
+      long startNanos = System.nanoTime();
+      connectorInstance.initializeConnection();
+      phases.put(
+          "initializeConnection", BenchmarkReport.Phase.of(System.nanoTime() - startNanos, 0));
+
+      startNanos = System.nanoTime();
+      List<ObjectDetails> allObjectDetails = connectorInstance.getObjects();
+      phases.put(
+          "getObjects",
+          BenchmarkReport.Phase.of(System.nanoTime() - startNanos, allObjectDetails.size()));
+
+      List<ObjectDetails> objectsToPoll =
+          testerConfig.getBenchmarkObjects().isEmpty()
+              ? allObjectDetails
+              : selectObjects(allObjectDetails, testerConfig.getBenchmarkObjects());
+      if (objectsToPoll.isEmpty()) {
+        throw new ConnectorException("No objects to benchmark.");
       }
+      objectsToPoll.forEach(od -> objectNames.add(od.getTableFullyQualifiedName()));
+
+      startNanos = System.nanoTime();
+      List<ObjectSchema> objectSchemas = connectorInstance.fetchSchemaFromSource(objectsToPoll);
+      phases.put(
+          "fetchSchemaFromSource",
+          BenchmarkReport.Phase.of(System.nanoTime() - startNanos, objectSchemas.size()));
+
+      Map<ObjectSchema, ExecutionResult> historicalResults = new ConcurrentHashMap<>();
+      startNanos = System.nanoTime();
+      int failedObjects =
+          forEachObject(
+              objectSchemas,
+              "fetch historical data",
+              objectSchema ->
+                  historicalResults.put(
+                      objectSchema, fetchHistoricalData(objectSchema, iterationDir)));
+      phases.put(
+          "historical",
+          BenchmarkReport.Phase.of(
+              System.nanoTime() - startNanos, fetchedRecords(historicalResults)));
+
+      Map<ObjectSchema, ExecutionResult> incrementalResults = new ConcurrentHashMap<>();
+      startNanos = System.nanoTime();
+      failedObjects +=
+          forEachObject(
+              new ArrayList<>(historicalResults.keySet()),
+              "fetch incremental data",
+              objectSchema ->
+                  incrementalResults.put(
+                      objectSchema,
+                      fetchIncrementalData(
+                          objectSchema, historicalResults.get(objectSchema), iterationDir)));
+      phases.put(
+          "incremental",
+          BenchmarkReport.Phase.of(
+              System.nanoTime() - startNanos, fetchedRecords(incrementalResults)));
+      return new BenchmarkReport.Iteration(iteration, failedObjects, phases);
+    } finally {
+      try {
+        connectorInstance.close();
+      } catch (ConnectorException e) {
+        System.err.println("Failed to close the connection" + e.getMessage());
+      }
+      deleteRecursively(iterationDir);
+    }
+  }
+
+  /** Deletes a directory and everything in it, logging the files that cannot be deleted. */
+  private static void deleteRecursively(Path directory) {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files
+          .sorted(Comparator.reverseOrder())
+          .forEach(
+              file -> {
+                try {
+                  Files.delete(file);
+                } catch (IOException e) {
+                  System.err.println("Failed to delete " + file + ": " + e.getMessage());
+                }
+              });
+    } catch (IOException e) {
+      System.err.println("Failed to delete " + directory + ": " + e.getMessage());
     }
+  }
+
+  private static long fetchedRecords(Map<ObjectSchema, ExecutionResult> results) {
+    return results.values().stream().mapToLong(ExecutionResult::fetchedRecords).sum();
+  }
+
+  /** Work done for one object by {@link #forEachObject}. */
+  @FunctionalInterface
+  private interface ObjectTask {
+    void run(ObjectSchema objectSchema) throws Exception;
+  }
 
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-      // Write header
-      writer.write(header);
-      writer.newLine();
+  private int objectConcurrency(List<ObjectSchema> objectSchemas) {
+    return Math.max(1, Math.min(testerConfig.getObjectConcurrency(), objectSchemas.size()));
+  }
 
-      // Iterate through each ObjectSchema
+  /**
+   * Runs a task for every object, with up to {@link TesterConfig#getObjectConcurrency()} objects in
+   * flight at a time. A failure only affects the object it occurs in; the other objects carry on.
+   *
+   * @param description What the task does, for failure messages.
+   * @return The number of objects the task failed for.
+   */
+  private int forEachObject(List<ObjectSchema> objectSchemas, String description, ObjectTask task)
+      throws ConnectorException {
+    ExecutorService pollers = Executors.newFixedThreadPool(objectConcurrency(objectSchemas));
+    try {
+      Map<ObjectSchema, Future<?>> pipelines = new LinkedHashMap<>();
       for (ObjectSchema objectSchema : objectSchemas) {
-        String fullyQualifiedName = objectSchema.objectDetail().getTableFullyQualifiedName();
-        Set<io.hevo.connector.model.field.schema.base.Field> fields = objectSchema.fields();
-
-        for (io.hevo.connector.model.field.schema.base.Field field : fields) {
-          String sourceFieldName = "";
-          String sourceDataType = "";
-
-          // Check if the field is an instance of HField to get source-specific data
-          if (field instanceof HField) {
-            HField hField = (HField) field;
-            sourceFieldName = hField.sourceFieldName();
-            sourceDataType = hField.sourceDataType();
-          }
+        pipelines.put(
+            objectSchema,
+            pollers.submit(
+                () -> {
+                  task.run(objectSchema);
+                  return null;
+                }));
+      }
+      int failedObjects = 0;
+      for (Map.Entry<ObjectSchema, Future<?>> pipeline : pipelines.entrySet()) {
+        try {
+          pipeline.getValue().get();
+        } catch (ExecutionException e) {
+          failedObjects++;
+          System.err.println(
+              "Failed to "
+                  + description
+                  + " for object "
+                  + pipeline.getKey().objectDetail().getTableFullyQualifiedName()
+                  + " error : "
+                  + e.getCause());
+        }
+      }
+      return failedObjects;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectorException("Interrupted while waiting for object fetches.", e);
+    } finally {
+      pollers.shutdownNow();
+    }
+  }
+
+  /**
+   * Fetches every object with {@link #fetchObject}, up to {@link
+   * TesterConfig#getObjectConcurrency()} objects at a time.
+   *
+   * @return The result of the last fetch that succeeded for every object, or none for objects whose
+   *     historical fetch failed.
+   * @throws ConnectorException If interrupted while waiting for the fetches.
+   */
+  Map<ObjectSchema, ExecutionResult> fetchObjects(List<ObjectSchema> objectSchemas)
+      throws ConnectorException {
+    Map<ObjectSchema, ExecutionResult> objectFetchResult = new ConcurrentHashMap<>();
+    forEachObject(
+        objectSchemas, "fetch data", objectSchema -> fetchObject(objectSchema, objectFetchResult));
+    return objectFetchResult;
+  }
 
-          String logicalType = field.logicalType();
-          FieldProperties properties = field.properties();
-
-          // Prepare the row data
-          StringBuilder row = new StringBuilder();
-          row.append(fullyQualifiedName).append(",");
-          row.append(sourceFieldName).append(",");
-          row.append(sourceDataType).append(",");
-          row.append(logicalType).append(",");
-          row.append(properties.position()).append(",");
-          row.append(properties.defaultValue().orElse("")).append(",");
-          row.append(properties.pkPos().isPresent() ? properties.pkPos().get() : "").append(",");
-          row.append(properties.customPkPos().isPresent() ? properties.customPkPos().get() : "")
-              .append(",");
-          row.append(properties.ckOrdinal().isPresent() ? properties.ckOrdinal().get() : "")
-              .append(",");
-          row.append(properties.isNullable()).append(",");
-          row.append(properties.isToasted()).append(",");
-          row.append(properties.isInternal()).append(",");
-          row.append(
-                  properties.fieldProvider() != null ? properties.fieldProvider().toString() : "")
-              .append(",");
-          row.append(properties.shouldReplicateToDestination()).append(",");
-          row.append(properties.length().isPresent() ? properties.length().get() : "").append(",");
-          row.append(properties.precision().isPresent() ? properties.precision().get() : "")
-              .append(",");
-          row.append(properties.scale().isPresent() ? properties.scale().get() : "");
-
-          // Write the row to CSV
-          writer.write(row.toString());
-          writer.newLine();
+  /**
+   * Runs the historical fetch of an object and, if it succeeds, the incremental fetch from the
+   * offset it reached. The offset of each fetch is committed to the offset store, if one is kept,
+   * and an object with an offset committed by an earlier run skips its historical fetch.
+   */
+  private void fetchObject(
+      ObjectSchema objectSchema, Map<ObjectSchema, ExecutionResult> objectFetchResult) {
+    String objectName = objectSchema.objectDetail().getTableFullyQualifiedName();
+    Optional<Offset> committedOffset =
+        offsetStore != null ? offsetStore.offset(objectName) : Optional.empty();
+    if (committedOffset.isPresent()) {
+      objectFetchResult.put(objectSchema, new ExecutionResult(0, committedOffset.get()));
+      System.out.println(
+          "Skipping historical fetch for object " + objectName + ", resuming from its offset");
+    } else {
+      try {
+        ExecutionResult executionResult = fetchHistoricalData(objectSchema, outputDir);
+        commitOffset(objectName, executionResult, "historical");
+        objectFetchResult.put(objectSchema, executionResult);
+        System.out.println("Historical data fetched for object " + objectName);
+      } catch (ConnectorException e) {
+        System.err.println(
+            "Failed to fetch historical data for object "
+                + objectName
+                + " error : "
+                + e.getMessage());
+      }
+    }
+
+    ExecutionResult lastExecutionResult = objectFetchResult.get(objectSchema);
+    if (lastExecutionResult == null) {
+      System.out.println(
+          "Skipping incremental fetch for object '{}' due to previous failures." + objectName);
+      return;
+    }
+
+    try {
+      ExecutionResult executionResult =
+          fetchIncrementalData(objectSchema, lastExecutionResult, outputDir);
+      commitOffset(objectName, executionResult, "incremental");
+      objectFetchResult.put(objectSchema, executionResult);
+      System.out.println("Incremental data fetched for object " + objectName);
+    } catch (ConnectorException e) {
+      System.out.println(
+          "Failed to fetch incremental data for object "
+              + objectName
+              + " error : "
+              + e.getMessage());
+    }
+  }
+
+  /**
+   * Commits the offset a fetch reached to the offset store, if one is kept. Fetches checkpoint
+   * their output before returning, so every record the offset covers is already flushed.
+   */
+  private void commitOffset(String objectName, ExecutionResult executionResult, String phase)
+      throws ConnectorException {
+    if (offsetStore != null && executionResult.lastReadOffset() != null) {
+      offsetStore.commit(
+          objectName, executionResult.lastReadOffset(), phase, executionResult.fetchedRecords());
+    }
+  }
+
+  /**
+   * Runs the historical fetch of an object into a directory. Objects of a {@link
+   * RangePartitionedConnector} are split into {@link TesterConfig#getHistoricalPartitions()} key
+   * ranges when more than one is configured.
+   */
+  private ExecutionResult fetchHistoricalData(ObjectSchema objectSchema, Path directory)
+      throws ConnectorException {
+    String outputFilePrefix =
+        directory
+            .resolve("historical_" + objectSchema.objectDetail().getTableFullyQualifiedName())
+            .toString();
+    int partitions = testerConfig.getHistoricalPartitions();
+    if (partitions > 1 && connectorInstance instanceof RangePartitionedConnector connector) {
+      return fetchHistoricalDataPartitioned(objectSchema, connector, partitions, outputFilePrefix);
+    }
+    return fetchIntoFile(
+        new ConnectorContext(objectSchema, Offset.empty()), outputFilePrefix + ".csv");
+  }
+
+  /**
+   * Runs the incremental fetch of an object into a directory, from the offset its previous fetch
+   * reached.
+   */
+  private ExecutionResult fetchIncrementalData(
+      ObjectSchema objectSchema, ExecutionResult lastExecutionResult, Path directory)
+      throws ConnectorException {
+    String outputFileName =
+        directory
+            .resolve(
+                "incremental_" + objectSchema.objectDetail().getTableFullyQualifiedName() + ".csv")
+            .toString();
+    return fetchIntoFile(
+        new ConnectorContext(objectSchema, lastExecutionResult.lastReadOffset()), outputFileName);
+  }
+
+  /**
+   * Fetches every key range of an object concurrently, each on its own worker, and merges the
+   * per-range offsets into the result of the object. The object fails if any range fails.
+   *
+   * <p>Each range is written to its own {@code .part-N.csv} file, unless output is sharded, in
+   * which case every range publishes into one shared sharded sink that is checkpointed once all of
+   * them have finished.
+   */
+  private ExecutionResult fetchHistoricalDataPartitioned(
+      ObjectSchema objectSchema,
+      RangePartitionedConnector partitionedConnector,
+      int partitions,
+      String outputFilePrefix)
+      throws ConnectorException {
+    List<Offset> partitionOffsets = partitionedConnector.partitionOffsets(objectSchema, partitions);
+    CheckpointingProcessor sharedSink =
+        testerConfig.getShards() > 1 ? openSink(objectSchema, outputFilePrefix + ".csv") : null;
+    ExecutorService workers = Executors.newFixedThreadPool(partitionOffsets.size());
+    try (sharedSink) {
+      List<Future<ExecutionResult>> partitionResults = new ArrayList<>(partitionOffsets.size());
+      for (int i = 0; i < partitionOffsets.size(); i++) {
+        String outputFileName = outputFilePrefix + ".part-" + i + ".csv";
+        ConnectorContext partitionContext =
+            new ConnectorContext(objectSchema, partitionOffsets.get(i));
+        partitionResults.add(
+            workers.submit(
+                () ->
+                    sharedSink != null
+                        ? connectorInstance.fetchDataFromSource(partitionContext, sharedSink)
+                        : fetchIntoFile(partitionContext, outputFileName)));
+      }
+
+      int fetchedRecords = 0;
+      List<Offset> lastReadOffsets = new ArrayList<>(partitionResults.size());
+      Throwable failure = null;
+      for (Future<ExecutionResult> partitionResult : partitionResults) {
+        try {
+          ExecutionResult executionResult = partitionResult.get();
+          fetchedRecords += executionResult.fetchedRecords();
+          lastReadOffsets.add(executionResult.lastReadOffset());
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
         }
       }
-      System.out.println("CSV file created successfully at: " + filePath);
+      if (failure != null) {
+        throw new ConnectorException(
+            "Partitioned historical fetch failed: " + failure.getMessage(), failure);
+      }
+      if (sharedSink != null) {
+        sharedSink.checkpoint();
+      }
+      System.out.println(
+          "Fetched "
+              + partitionOffsets.size()
+              + " partitions of object "
+              + objectSchema.objectDetail().getTableFullyQualifiedName());
+      return new ExecutionResult(
+          fetchedRecords,
+          partitionedConnector.mergePartitionOffsets(objectSchema, lastReadOffsets));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectorException("Interrupted while waiting for partitioned fetch.", e);
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  /**
+   * Runs one fetch into an output file. The file is checkpointed before the result is returned, so
+   * the offset of the result is only acknowledged once every record it covers has been flushed.
+   */
+  private ExecutionResult fetchIntoFile(ConnectorContext connectorContext, String outputFileName)
+      throws ConnectorException {
+    try (CheckpointingProcessor sink = openSink(connectorContext.schema(), outputFileName)) {
+      ExecutionResult executionResult =
+          connectorInstance.fetchDataFromSource(connectorContext, sink);
+      sink.checkpoint();
+      return executionResult;
+    }
+  }
+
+  /**
+   * Opens the sink described by the tester settings on an output file. Columnar output replaces the
+   * {@code .csv} extension of the file name with {@code .hcol}, and gzip output appends {@code .gz}
+   * to it. CSV output is sharded by primary key if more than one shard is configured.
+   */
+  private CheckpointingProcessor openSink(ObjectSchema objectSchema, String outputFileName)
+      throws ConnectorException {
+    CheckpointingProcessor sink;
+    String fileName;
+    if (testerConfig.getOutputFormat() == OutputFormat.COLUMNAR) {
+      fileName = outputFileName.replaceFirst("\\.csv$", ".hcol");
+      sink =
+          new ColumnarConnectorProcessor(
+              fileName, objectSchema, testerConfig.getRowGroupRows(), testerConfig.isFsync());
+    } else {
+      FileSinkOptions options =
+          testerConfig.fileSinkOptions(
+              testerConfig.getCompression() == Compression.GZIP ? compressionWorkers() : null);
+      fileName =
+          options.compression() == Compression.GZIP ? outputFileName + ".gz" : outputFileName;
+      sink =
+          testerConfig.getShards() > 1
+              ? new ShardedConnectorProcessor(
+                  fileName, objectSchema, testerConfig.getShards(), options)
+              : new FileConnectorProcessor(fileName, options);
+    }
+    if (testerConfig.isMetrics()) {
+      sink = instrument(sink, fileName);
+    }
+    if (!testerConfig.isAsyncWriter()) {
+      return sink;
+    }
+    return new AsyncConnectorProcessor(
+        sink,
+        testerConfig.getAsyncQueueCapacity(),
+        testerConfig.getAsyncBackpressure(),
+        testerConfig.getAsyncBatchSize());
+  }
+
+  /**
+   * The compression workers of the run, started on first use with {@link
+   * TesterConfig#getCompressionThreads()} threads. Every gzip sink shares them, however many
+   * shards, segments, partitions and objects are written at once.
+   */
+  private synchronized ExecutorService compressionWorkers() {
+    if (compressionWorkers == null) {
+      compressionWorkers =
+          GzipRecordOutput.newWorkers(
+              FileSinkOptions.compressionThreadsOf(testerConfig.getCompressionThreads()));
+    }
+    return compressionWorkers;
+  }
+
+  /** Stops the compression workers of the run, once every sink is closed. */
+  private synchronized void stopCompressionWorkers() {
+    if (compressionWorkers != null) {
+      compressionWorkers.shutdownNow();
+      compressionWorkers = null;
+    }
+  }
+
+  /**
+   * Wraps a sink in an {@link InstrumentedConnectorProcessor}. Bytes written are measured as the
+   * growth of every file named after the output file, which covers its shards, segments and
+   * indexes, and the summary is written next to it as {@code <name>.metrics.json}.
+   */
+  private static CheckpointingProcessor instrument(CheckpointingProcessor sink, String fileName) {
+    Path filePath = Paths.get(fileName).toAbsolutePath();
+    String stem = OutputFileNames.stemOf(filePath);
+    Path directory = filePath.getParent();
+    String prefix = stem + ".";
+    return InstrumentedConnectorProcessor.of(
+        sink,
+        filePath.getFileName().toString(),
+        () -> sizeOfFiles(directory, prefix),
+        directory.resolve(stem + ".metrics.json"));
+  }
+
+  /** Total size of the files in a directory whose name starts with a prefix, except summaries. */
+  private static long sizeOfFiles(Path directory, String prefix) {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(
+              file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(prefix) && !name.endsWith(".metrics.json");
+              })
+          .mapToLong(
+              file -> {
+                try {
+                  return Files.size(file);
+                } catch (IOException e) {
+                  // Deleted since it was listed
+                  return 0;
+                }
+              })
+          .sum();
     } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Exports the object schemas to {@code object_schemas.csv} and, if {@link
+   * TesterConfig#isSchemaSnapshot()}, to the snapshot {@code object_schemas.hsch}, which is left
+   * out if it would not load back the schemas. See {@link SchemaExporter}.
+   */
+  private void exportObjectSchemas(List<ObjectSchema> objectSchemas) {
+    Path csvFile = outputDir.resolve("object_schemas.csv");
+    Path snapshotFile = outputDir.resolve("object_schemas.hsch");
+    int threads =
+        testerConfig.getSchemaExportThreads() > 0
+            ? testerConfig.getSchemaExportThreads()
+            : Runtime.getRuntime().availableProcessors();
+    try {
+      // Ensure the output directory exists
+      Files.createDirectories(csvFile.getParent());
+      SchemaExporter.Summary summary;
+      try (OutputStream csv = new BufferedOutputStream(Files.newOutputStream(csvFile));
+          OutputStream snapshot =
+              testerConfig.isSchemaSnapshot()
+                  ? new BufferedOutputStream(Files.newOutputStream(snapshotFile))
+                  : null) {
+        summary = SchemaExporter.export(objectSchemas, csv, snapshot, threads);
+      }
+      System.out.println(
+          "CSV file created successfully at: "
+              + csvFile
+              + " ("
+              + summary.fields()
+              + " fields of "
+              + summary.objects()
+              + " objects)");
+      if (summary.snapshotBytes() > 0) {
+        System.out.println("Schema snapshot created successfully at: " + snapshotFile);
+      } else if (testerConfig.isSchemaSnapshot()) {
+        // The exporter skipped a snapshot that would not load back the schemas
+        Files.deleteIfExists(snapshotFile);
+      }
+    } catch (IOException | RuntimeException e) {
       e.printStackTrace();
-      System.err.println("Error while writing CSV file.");
+      System.err.println("Error while exporting object schemas.");
     }
   }
 
@@ -380,8 +1010,7 @@ public class GenericConnectorTester<T extends GenericConnector> {
    * @return The parsed object.
    * @throws ConnectorException If parsing fails.
    */
-  private Object parseValue(Object input, Class<?> type, boolean fileMode)
-      throws ConnectorException {
+  Object parseValue(Object input, Class<?> type, boolean fileMode) throws ConnectorException {
     if (input == null) {
       return null;
     }
@@ -482,16 +1111,72 @@ public class GenericConnectorTester<T extends GenericConnector> {
     return connectorInstance;
   }
 
-  // Example usage
+  /**
+   * Runs the tester. Without arguments it prompts for the objects to poll. {@code --benchmark} runs
+   * {@link #runBenchmark()} instead, without any prompt. Benchmark settings of the configuration
+   * file can be overridden with {@code --objects=a,b}, {@code --warmup=N}, {@code --iterations=N}
+   * and {@code --report=file}, and another configuration file can be read with {@code
+   * --config=file}.
+   */
   public static void main(String[] args) {
     try {
+      boolean benchmark = false;
+      boolean poll = false;
+      Map<String, String> overrides = new HashMap<>();
+      for (String arg : args) {
+        if ("--benchmark".equals(arg)) {
+          benchmark = true;
+        } else if ("--poll".equals(arg)) {
+          poll = true;
+        } else if (arg.startsWith("--") && arg.indexOf('=') > 2) {
+          overrides.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        } else {
+          System.err.println("Unknown argument: " + arg);
+          return;
+        }
+      }
+      String filePath = overrides.getOrDefault("config", DEFAULT_CONFIG_FILE);
+
       // Replace SalesforceConnector.class with your actual connector class
       GenericConnectorTester<?> tester = new GenericConnectorTester<>(TestConnector.class);
 
-      String filePath = "src/main/java/io/hevo/connector/generic_test/config.json";
       tester.loadConfigurationFromFile(filePath);
-      tester.executeConnector();
+      TesterConfig testerConfig = tester.testerConfig;
+      for (Map.Entry<String, String> override : overrides.entrySet()) {
+        String value = override.getValue();
+        switch (override.getKey()) {
+          case "config":
+            break;
+          case "objects":
+            List<String> objectNames = Arrays.stream(value.split(",")).map(String::trim).toList();
+            testerConfig.setBenchmarkObjects(objectNames);
+            testerConfig.setPollObjects(objectNames);
+            break;
+          case "duration":
+            testerConfig.setPollDurationSeconds(Long.parseLong(value));
+            break;
+          case "warmup":
+            testerConfig.setWarmupIterations(Integer.parseInt(value));
+            break;
+          case "iterations":
+            testerConfig.setMeasuredIterations(Integer.parseInt(value));
+            break;
+          case "report":
+            testerConfig.setBenchmarkReportFile(value);
+            break;
+          default:
+            System.err.println("Unknown argument: --" + override.getKey());
+            return;
+        }
+      }
 
+      if (benchmark) {
+        tester.runBenchmark();
+      } else if (poll) {
+        tester.runPolling();
+      } else {
+        tester.executeConnector();
+      }
     } catch (ConnectorException e) {
       System.err.println("Connector testing failed: " + e.getMessage());
       e.printStackTrace();
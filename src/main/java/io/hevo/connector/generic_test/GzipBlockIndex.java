@@ -0,0 +1,172 @@
+package io.hevo.connector.generic_test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Index of the blocks of a gzip output file, stored next to it with an {@code .idx} suffix.
+ *
+ * <p>Each block of the file is a complete gzip member holding whole records, so any block can be
+ * decompressed and parsed on its own. The index has one line per block, in file order, with the
+ * comma-separated fields of a {@link Block}.
+ */
+public final class GzipBlockIndex {
+
+  static final String SUFFIX = ".idx";
+
+  /** Location of one block in the compressed file and of its records in the uncompressed data. */
+  public record Block(
+      long compressedOffset,
+      int compressedLength,
+      long uncompressedOffset,
+      int uncompressedLength,
+      long firstRecord,
+      long recordCount) {
+
+    String toLine() {
+      return compressedOffset
+          + ","
+          + compressedLength
+          + ","
+          + uncompressedOffset
+          + ","
+          + uncompressedLength
+          + ","
+          + firstRecord
+          + ","
+          + recordCount
+          + "\n";
+    }
+
+    static Block parse(String line) {
+      String[] fields = line.split(",");
+      return new Block(
+          Long.parseLong(fields[0]),
+          Integer.parseInt(fields[1]),
+          Long.parseLong(fields[2]),
+          Integer.parseInt(fields[3]),
+          Long.parseLong(fields[4]),
+          Long.parseLong(fields[5]));
+    }
+
+    /** Offset in the compressed file right after this block. */
+    long compressedEnd() {
+      return compressedOffset + compressedLength;
+    }
+  }
+
+  private final List<Block> blocks;
+
+  private GzipBlockIndex(List<Block> blocks) {
+    this.blocks = Collections.unmodifiableList(blocks);
+  }
+
+  /** Path of the index of a gzip output file. */
+  public static Path indexPathOf(Path file) {
+    return file.resolveSibling(file.getFileName() + SUFFIX);
+  }
+
+  /**
+   * Reads the index of a gzip output file. A missing index reads as empty.
+   *
+   * @throws IOException If the index cannot be read.
+   */
+  public static GzipBlockIndex read(Path file) throws IOException {
+    Path indexPath = indexPathOf(file);
+    List<Block> blocks = new ArrayList<>();
+    if (Files.exists(indexPath)) {
+      for (String line : Files.readAllLines(indexPath, StandardCharsets.US_ASCII)) {
+        if (!line.isEmpty()) {
+          blocks.add(Block.parse(line));
+        }
+      }
+    }
+    return new GzipBlockIndex(blocks);
+  }
+
+  /**
+   * Drops the blocks of an index that end after a size of the gzip output file, replacing the index
+   * on disk if any is dropped. A block is indexed only once it has been written, so blocks past the
+   * end of the file were lost with it.
+   *
+   * @param size Size of the gzip output file.
+   * @return The index of the blocks the file holds in full.
+   * @throws IOException If the index cannot be read or replaced.
+   */
+  static GzipBlockIndex truncate(Path file, long size) throws IOException {
+    GzipBlockIndex index = read(file);
+    if (index.compressedSize() <= size) {
+      return index;
+    }
+    List<Block> kept = new ArrayList<>();
+    StringBuilder lines = new StringBuilder();
+    for (Block block : index.blocks) {
+      if (block.compressedEnd() > size) {
+        break;
+      }
+      kept.add(block);
+      lines.append(block.toLine());
+    }
+    Path indexPath = indexPathOf(file);
+    Path temporary = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+    Files.write(temporary, lines.toString().getBytes(StandardCharsets.US_ASCII));
+    Files.move(
+        temporary, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return new GzipBlockIndex(kept);
+  }
+
+  public List<Block> blocks() {
+    return blocks;
+  }
+
+  /** Number of records in the indexed blocks. */
+  public long recordCount() {
+    return blocks.isEmpty() ? 0 : last().firstRecord() + last().recordCount();
+  }
+
+  /** Number of uncompressed bytes in the indexed blocks. */
+  public long uncompressedSize() {
+    return blocks.isEmpty() ? 0 : last().uncompressedOffset() + last().uncompressedLength();
+  }
+
+  /** Number of compressed bytes in the indexed blocks. */
+  public long compressedSize() {
+    return blocks.isEmpty() ? 0 : last().compressedEnd();
+  }
+
+  /**
+   * Decompresses one block. Safe to call concurrently for different blocks of the same channel.
+   *
+   * @throws IOException If the block cannot be read or is not valid gzip.
+   */
+  public static byte[] decompress(FileChannel file, Block block) throws IOException {
+    ByteBuffer compressed = ByteBuffer.allocate(block.compressedLength());
+    while (compressed.hasRemaining()) {
+      if (file.read(compressed, block.compressedOffset() + compressed.position()) < 0) {
+        throw new IOException("Block at " + block.compressedOffset() + " is cut short.");
+      }
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(block.uncompressedLength());
+    try (InputStream in =
+        new GZIPInputStream(new ByteArrayInputStream(compressed.array()), 64 * 1024)) {
+      in.transferTo(out);
+    }
+    return out.toByteArray();
+  }
+
+  private Block last() {
+    return blocks.get(blocks.size() - 1);
+  }
+}
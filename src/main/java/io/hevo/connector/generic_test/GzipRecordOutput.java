@@ -0,0 +1,263 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.generic_test.GzipBlockIndex.Block;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * {@link Compression#GZIP} output, compressed pigz-style. Encoded records are collected into blocks
+ * of whole records; each full block is compressed into a complete gzip member on a worker pool
+ * while the publishing thread fills the next one. Finished members are appended in block order, so
+ * the file is a valid multi-member gzip stream, and each is recorded in the {@link GzipBlockIndex}.
+ *
+ * <p>The publishing thread only copies bytes and picks up finished members; it waits for a worker
+ * only when more than two blocks per worker are in flight, which bounds memory, or on {@link
+ * #flush()}, which seals the current block even if it is not full.
+ *
+ * <p>Workers are not owned by an output: every output opened with the same {@link
+ * FileSinkOptions#compressionExecutor()}, or without one, shares its workers, so shards, segments
+ * and concurrent objects do not each start a pool of their own.
+ */
+final class GzipRecordOutput implements RecordOutput {
+
+  private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+
+  /** Workers of outputs whose options carry no executor, started on first use. */
+  private static final class SharedWorkers {
+    private static final ExecutorService POOL =
+        newWorkers(Runtime.getRuntime().availableProcessors());
+  }
+
+  /** Gzip member header: magic, deflate, no flags, no mtime, unknown OS. */
+  private static final byte[] GZIP_HEADER = {
+    0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+  };
+
+  /** A sealed block, compressed into a gzip member. */
+  private record Member(byte[] bytes, int length, int uncompressedLength, long recordCount) {}
+
+  private final GatheringByteChannel channel;
+
+  private final FileChannel indexChannel;
+
+  private final ExecutorService workers;
+
+  private final int blockSize;
+
+  private final int level;
+
+  private final int maxInFlight;
+
+  private final boolean fsync;
+
+  private final CsvRecordEncoder encoder = new CsvRecordEncoder();
+
+  private final ArrayDeque<Future<Member>> inFlight = new ArrayDeque<>();
+
+  private byte[] block;
+
+  private int blockLength;
+
+  private long blockRecords;
+
+  private long compressedOffset;
+
+  private long uncompressedOffset;
+
+  private long recordOffset;
+
+  /**
+   * @param channel Channel of the output file, opened for appending.
+   * @param fileSize Size of the output file before anything is appended, which must be the size
+   *     its index covers; see {@link GzipBlockIndex#truncate}.
+   * @param filePath Path of the output file, next to which the index is kept.
+   * @param options Compression settings.
+   * @throws IOException If the index does not cover the file exactly, or cannot be opened.
+   */
+  GzipRecordOutput(
+      GatheringByteChannel channel, long fileSize, Path filePath, FileSinkOptions options)
+      throws IOException {
+    this.channel = channel;
+    this.blockSize = options.compressionBlockBytes();
+    this.level = options.compressionLevel();
+    int threads = options.compressionThreads();
+    this.maxInFlight = 2 * threads;
+    this.fsync = options.fsync();
+    this.block = new byte[blockSize];
+
+    // Continue the index of a file that is appended to
+    GzipBlockIndex index = GzipBlockIndex.read(filePath);
+    if (index.compressedSize() != fileSize) {
+      throw new IOException(
+          "Index of "
+              + filePath
+              + " covers "
+              + index.compressedSize()
+              + " of its "
+              + fileSize
+              + " bytes.");
+    }
+    this.compressedOffset = fileSize;
+    this.uncompressedOffset = index.uncompressedSize();
+    this.recordOffset = index.recordCount();
+    this.indexChannel =
+        FileChannel.open(
+            GzipBlockIndex.indexPathOf(filePath),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+    this.workers =
+        options.compressionExecutor() != null ? options.compressionExecutor() : SharedWorkers.POOL;
+  }
+
+  /** Starts a pool of daemon compression workers, to be shared by many outputs. */
+  static ExecutorService newWorkers(int threads) {
+    return Executors.newFixedThreadPool(
+        threads,
+        runnable -> {
+          Thread thread = new Thread(runnable, "gzip-" + WORKER_IDS.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @Override
+  public long write(String[] values) throws IOException {
+    int length = encoder.encode(values);
+    if (blockLength + length > block.length) {
+      // Only a record larger than a block gets here with an empty block
+      block = Arrays.copyOf(block, blockLength + length);
+    }
+    System.arraycopy(encoder.bytes(), 0, block, blockLength, length);
+    blockLength += length;
+    blockRecords++;
+    if (blockLength >= blockSize) {
+      seal();
+    }
+    return length;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (blockLength > 0) {
+      seal();
+    }
+    while (!inFlight.isEmpty()) {
+      writeMember(inFlight.peek());
+    }
+    if (fsync) {
+      // Reopening discards members the index does not list, so the index must be as durable
+      indexChannel.force(false);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      // The workers are shared, so only the blocks of this output are abandoned
+      for (Future<Member> member : inFlight) {
+        member.cancel(true);
+      }
+      inFlight.clear();
+      indexChannel.close();
+    }
+  }
+
+  /** Hands the current block to a worker and starts a new one. */
+  private void seal() throws IOException {
+    byte[] sealed = block;
+    int length = blockLength;
+    long records = blockRecords;
+    inFlight.add(workers.submit(() -> compress(sealed, length, records)));
+    block = new byte[blockSize];
+    blockLength = 0;
+    blockRecords = 0;
+    // Write what is ready without waiting, then wait only if too much is in flight
+    while (!inFlight.isEmpty() && (inFlight.peek().isDone() || inFlight.size() > maxInFlight)) {
+      writeMember(inFlight.peek());
+    }
+  }
+
+  /** Waits for the oldest block to be compressed and appends it to the file and the index. */
+  private void writeMember(Future<Member> future) throws IOException {
+    Member member;
+    try {
+      member = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a compressed block.");
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to compress block.", e.getCause());
+    }
+    inFlight.poll();
+    writeFully(channel, ByteBuffer.wrap(member.bytes(), 0, member.length()));
+    Block indexed =
+        new Block(
+            compressedOffset,
+            member.length(),
+            uncompressedOffset,
+            member.uncompressedLength(),
+            recordOffset,
+            member.recordCount());
+    writeFully(indexChannel, ByteBuffer.wrap(indexed.toLine().getBytes(StandardCharsets.US_ASCII)));
+    compressedOffset += member.length();
+    uncompressedOffset += member.uncompressedLength();
+    recordOffset += member.recordCount();
+  }
+
+  /** Compresses a block into a complete gzip member. Runs on a worker. */
+  private Member compress(byte[] data, int length, long records) {
+    CRC32 crc = new CRC32();
+    crc.update(data, 0, length);
+    Deflater deflater = new Deflater(level, true);
+    try {
+      deflater.setInput(data, 0, length);
+      deflater.finish();
+      byte[] out = new byte[GZIP_HEADER.length + length / 2 + 64];
+      System.arraycopy(GZIP_HEADER, 0, out, 0, GZIP_HEADER.length);
+      int size = GZIP_HEADER.length;
+      while (!deflater.finished()) {
+        if (size == out.length) {
+          out = Arrays.copyOf(out, out.length * 2);
+        }
+        size += deflater.deflate(out, size, out.length - size);
+      }
+      if (size + 8 > out.length) {
+        out = Arrays.copyOf(out, size + 8);
+      }
+      ByteBuffer.wrap(out, size, 8)
+          .order(ByteOrder.LITTLE_ENDIAN)
+          .putInt((int) crc.getValue())
+          .putInt(length);
+      return new Member(out, size + 8, length, records);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package io.hevo.connector.generic_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import io.hevo.connector.spi.RecordRetainingProcessor;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates a sink with {@link SinkMetrics}: records published, bytes written, the latency of every
+ * publish and the duration of every checkpoint, which is where sinks flush and fsync.
+ *
+ * <p>While the sink is open the metrics are registered as an MBean named {@code
+ * io.hevo.connector.generic_test:type=SinkMetrics,id=N,sink="<name>"}, so they can be watched with
+ * JConsole or any other JMX client. When the sink is closed, a summary is logged and, if a path was
+ * given, written there as JSON.
+ *
+ * <p>An instrumented sink is a {@link RecordRetainingProcessor} exactly when the sink it decorates
+ * is one, so connectors still see whether they may recycle the records they publish.
+ */
+public class InstrumentedConnectorProcessor implements CheckpointingProcessor {
+
+  private static final Logger log = LoggerFactory.getLogger(InstrumentedConnectorProcessor.class);
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static final AtomicInteger instances = new AtomicInteger();
+
+  private final CheckpointingProcessor delegate;
+
+  private final SinkMetrics metrics;
+
+  private final Path summaryPath;
+
+  /** Name the metrics are registered under, or {@code null} if registration failed. */
+  private final ObjectName objectName;
+
+  /** An instrumented sink whose delegate keeps published records. */
+  private static final class Retaining extends InstrumentedConnectorProcessor
+      implements RecordRetainingProcessor {
+
+    private Retaining(
+        CheckpointingProcessor delegate,
+        String sinkName,
+        LongSupplier bytesWritten,
+        Path summaryPath) {
+      super(delegate, sinkName, bytesWritten, summaryPath);
+    }
+  }
+
+  private InstrumentedConnectorProcessor(
+      CheckpointingProcessor delegate,
+      String sinkName,
+      LongSupplier bytesWritten,
+      Path summaryPath) {
+    this.delegate = delegate;
+    this.metrics = new SinkMetrics(sinkName, bytesWritten);
+    this.summaryPath = summaryPath;
+    this.objectName = register(metrics, sinkName);
+  }
+
+  /**
+   * Instruments a sink.
+   *
+   * @param delegate The sink to instrument.
+   * @param sinkName Name of the sink in the metrics, usually its output file.
+   * @param bytesWritten Reports the bytes the sink has written so far, or {@code null} if unknown.
+   * @param summaryPath Where the JSON summary is written on close, or {@code null} to only log it.
+   * @return The instrumented sink, a {@link RecordRetainingProcessor} if the delegate is one.
+   */
+  public static InstrumentedConnectorProcessor of(
+      CheckpointingProcessor delegate,
+      String sinkName,
+      LongSupplier bytesWritten,
+      Path summaryPath) {
+    return delegate instanceof RecordRetainingProcessor
+        ? new Retaining(delegate, sinkName, bytesWritten, summaryPath)
+        : new InstrumentedConnectorProcessor(delegate, sinkName, bytesWritten, summaryPath);
+  }
+
+  private static ObjectName register(SinkMetrics metrics, String sinkName) {
+    try {
+      ObjectName name =
+          new ObjectName(
+              "io.hevo.connector.generic_test:type=SinkMetrics,id="
+                  + instances.incrementAndGet()
+                  + ",sink="
+                  + ObjectName.quote(sinkName));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+      return name;
+    } catch (JMException e) {
+      log.warn("Failed to register sink metrics of {}", sinkName, e);
+      return null;
+    }
+  }
+
+  /** Metrics of the sink. */
+  public SinkMetrics metrics() {
+    return metrics;
+  }
+
+  @Override
+  public void publish(HStruct hStruct, ConnectorMeta connectorMeta) throws ConnectorException {
+    long startNanos = System.nanoTime();
+    try {
+      delegate.publish(hStruct, connectorMeta);
+    } catch (ConnectorException | RuntimeException e) {
+      metrics.recordPublishFailure();
+      throw e;
+    }
+    metrics.recordPublish(System.nanoTime() - startNanos);
+  }
+
+  @Override
+  public long checkpoint() throws ConnectorException {
+    long startNanos = System.nanoTime();
+    long flushedRecords = delegate.checkpoint();
+    metrics.recordCheckpoint(System.nanoTime() - startNanos);
+    return flushedRecords;
+  }
+
+  /**
+   * Closes the sink, then unregisters the metrics and writes their summary. Bytes the sink writes
+   * while closing are included in the summary.
+   *
+   * @throws ConnectorException If closing the sink fails.
+   */
+  @Override
+  public void close() throws ConnectorException {
+    try {
+      delegate.close();
+    } finally {
+      metrics.stop();
+      unregister();
+      writeSummary();
+    }
+  }
+
+  private void unregister() {
+    if (objectName == null) {
+      return;
+    }
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    try {
+      mBeanServer.unregisterMBean(objectName);
+    } catch (JMException e) {
+      log.warn("Failed to unregister sink metrics {}", objectName, e);
+    }
+  }
+
+  private void writeSummary() {
+    SinkMetrics.Summary summary = metrics.summary();
+    log.info("Sink metrics: {}", summary);
+    if (summaryPath == null) {
+      return;
+    }
+    try {
+      Path directoryPath = summaryPath.toAbsolutePath().getParent();
+      if (directoryPath != null) {
+        Files.createDirectories(directoryPath);
+      }
+      objectMapper.writerWithDefaultPrettyPrinter().writeValue(summaryPath.toFile(), summary);
+    } catch (IOException e) {
+      log.warn("Failed to write sink metrics to {}", summaryPath, e);
+    }
+  }
+}
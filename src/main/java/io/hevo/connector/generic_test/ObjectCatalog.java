@@ -0,0 +1,368 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ObjectDetails;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The objects of a source, indexed once so that selecting objects by name or pattern does not scan
+ * the whole catalog for every name.
+ *
+ * <p>Objects are indexed by fully qualified name, and in a trie of the segments of that name, such
+ * as catalog, schema and table. An exact name is a hash lookup, and a pattern is only matched
+ * against the objects under the trie node of its literal prefix, so {@code sales.orders_*} only
+ * looks at the tables of the {@code sales} schema whose name starts with {@code orders_}.
+ *
+ * <p>A selection is a list of entries, each of which is one of:
+ *
+ * <ul>
+ *   <li>a fully qualified name, such as {@code sales.orders};
+ *   <li>a glob, such as {@code sales.orders_*}, where {@code *} matches any characters, {@code ?}
+ *       any single character and {@code [...]} any character of a set ({@code [!...]} negates it);
+ *   <li>a regular expression prefixed by {@code re:}, such as {@code re:sales\.orders_\d+}, which
+ *       must match the whole name.
+ * </ul>
+ *
+ * Entries prefixed by {@code !} exclude the objects they match instead. A selection holding only
+ * exclusions starts from every object.
+ */
+public final class ObjectCatalog {
+
+  static final String REGEX_PREFIX = "re:";
+
+  static final String EXCLUDE_PREFIX = "!";
+
+  private static final String DEFAULT_DELIMITER = ".";
+
+  private static final String GLOB_CHARACTERS = "*?[";
+
+  /**
+   * Objects selected by a list of entries.
+   *
+   * @param objects The selected objects, in catalog order and without duplicates.
+   * @param unmatched Entries including objects that matched none.
+   */
+  public record Selection(List<ObjectDetails> objects, List<String> unmatched) {}
+
+  /** A segment of fully qualified names, and the objects named by the segments leading to it. */
+  private static final class Node {
+
+    private static final int[] NO_OBJECTS = new int[0];
+
+    private Map<String, Node> children;
+    private int[] objects = NO_OBJECTS;
+    private int objectCount;
+
+    Node child(String segment) {
+      return children == null ? null : children.get(segment);
+    }
+
+    Node addChild(String segment) {
+      if (children == null) {
+        children = new HashMap<>();
+      }
+      return children.computeIfAbsent(segment, s -> new Node());
+    }
+
+    void addObject(int index) {
+      if (objectCount == objects.length) {
+        objects = Arrays.copyOf(objects, Math.max(1, objectCount * 2));
+      }
+      objects[objectCount++] = index;
+    }
+
+    /** Visits the objects of this node and of every node below it. */
+    void forEachObject(IntConsumer action) {
+      for (int i = 0; i < objectCount; i++) {
+        action.accept(objects[i]);
+      }
+      if (children != null) {
+        for (Node child : children.values()) {
+          child.forEachObject(action);
+        }
+      }
+    }
+  }
+
+  private final List<ObjectDetails> objects;
+
+  private final String[] names;
+
+  private final Map<String, Node> byName;
+
+  private final Node root = new Node();
+
+  /** Delimiter of the segments of every name, or {@code null} if objects disagree on it. */
+  private final String delimiter;
+
+  private ObjectCatalog(List<ObjectDetails> objects) {
+    this.objects = List.copyOf(objects);
+    this.names = new String[objects.size()];
+    this.byName = new HashMap<>(Math.max(16, objects.size() * 4 / 3 + 1));
+    this.delimiter = commonDelimiter(objects);
+    for (int i = 0; i < names.length; i++) {
+      String name = objects.get(i).getTableFullyQualifiedName();
+      names[i] = name;
+      Node node = root;
+      if (delimiter != null) {
+        int start = 0;
+        for (int end = name.indexOf(delimiter); end >= 0; end = name.indexOf(delimiter, start)) {
+          node = node.addChild(name.substring(start, end));
+          start = end + delimiter.length();
+        }
+        node = node.addChild(name.substring(start));
+      } else {
+        node = node.addChild(name);
+      }
+      node.addObject(i);
+      byName.putIfAbsent(name, node);
+    }
+  }
+
+  /** Indexes the objects fetched from a source. */
+  public static ObjectCatalog of(List<ObjectDetails> objects) {
+    return new ObjectCatalog(objects);
+  }
+
+  /** Every object, in catalog order. */
+  public List<ObjectDetails> objects() {
+    return objects;
+  }
+
+  public int size() {
+    return objects.size();
+  }
+
+  /**
+   * Selects objects by name, glob or regular expression.
+   *
+   * @param entries Names and patterns to include or, prefixed by {@code !}, to exclude.
+   * @return The selected objects, and the including entries that matched no object.
+   * @throws IllegalArgumentException If a pattern is invalid.
+   */
+  public Selection select(List<String> entries) {
+    BitSet included = new BitSet(objects.size());
+    BitSet excluded = new BitSet(objects.size());
+    List<String> unmatched = new ArrayList<>();
+    boolean onlyExclusions = true;
+    for (String entry : entries) {
+      if (entry.isEmpty()) {
+        continue;
+      }
+      if (entry.startsWith(EXCLUDE_PREFIX)) {
+        match(entry.substring(EXCLUDE_PREFIX.length()), excluded);
+      } else {
+        onlyExclusions = false;
+        if (!match(entry, included)) {
+          unmatched.add(entry);
+        }
+      }
+    }
+    if (onlyExclusions) {
+      included.set(0, objects.size());
+    }
+    included.andNot(excluded);
+
+    List<ObjectDetails> selected = new ArrayList<>(included.cardinality());
+    for (int i = included.nextSetBit(0); i >= 0; i = included.nextSetBit(i + 1)) {
+      selected.add(objects.get(i));
+    }
+    return new Selection(
+        Collections.unmodifiableList(selected), Collections.unmodifiableList(unmatched));
+  }
+
+  /**
+   * Sets the indices of the objects an entry matches.
+   *
+   * @return Whether the entry matches any object.
+   */
+  private boolean match(String entry, BitSet matched) {
+    String regex;
+    String literalPrefix;
+    if (entry.startsWith(REGEX_PREFIX)) {
+      regex = entry.substring(REGEX_PREFIX.length());
+      literalPrefix = regexLiteralPrefix(regex);
+    } else if (isGlob(entry)) {
+      regex = globToRegex(entry);
+      literalPrefix = entry.substring(0, firstGlobCharacter(entry));
+    } else {
+      Node node = byName.get(entry);
+      if (node == null) {
+        return false;
+      }
+      for (int i = 0; i < node.objectCount; i++) {
+        matched.set(node.objects[i]);
+      }
+      return true;
+    }
+
+    Pattern pattern;
+    try {
+      pattern = Pattern.compile(regex);
+    } catch (PatternSyntaxException e) {
+      throw new IllegalArgumentException(
+          "Invalid object pattern '" + entry + "': " + e.getDescription(), e);
+    }
+    Matcher matcher = pattern.matcher("");
+    boolean[] any = {false};
+    forEachCandidate(
+        literalPrefix,
+        index -> {
+          if (matcher.reset(names[index]).matches()) {
+            matched.set(index);
+            any[0] = true;
+          }
+        });
+    return any[0];
+  }
+
+  /** Visits the objects whose name may start with a prefix, found by walking the trie. */
+  private void forEachCandidate(String prefix, IntConsumer action) {
+    Node node = root;
+    int start = 0;
+    if (delimiter != null) {
+      for (int end = prefix.indexOf(delimiter); end >= 0; end = prefix.indexOf(delimiter, start)) {
+        node = node.child(prefix.substring(start, end));
+        if (node == null) {
+          return;
+        }
+        start = end + delimiter.length();
+      }
+    }
+    String partialSegment = prefix.substring(start);
+
+    if (node.children != null) {
+      for (Map.Entry<String, Node> child : node.children.entrySet()) {
+        if (child.getKey().startsWith(partialSegment)) {
+          child.getValue().forEachObject(action);
+        }
+      }
+    }
+  }
+
+  /**
+   * The delimiter shared by every object, if it is a single character. Names are not split into
+   * segments otherwise, since a prefix could then end with part of a delimiter.
+   */
+  private static String commonDelimiter(List<ObjectDetails> objects) {
+    String common = null;
+    for (ObjectDetails objectDetails : objects) {
+      String delimiter = objectDetails.delimiter();
+      if (delimiter == null || delimiter.isEmpty()) {
+        delimiter = DEFAULT_DELIMITER;
+      }
+      if (common == null) {
+        common = delimiter;
+      } else if (!common.equals(delimiter)) {
+        return null;
+      }
+    }
+    return common == null || common.length() == 1 ? common : null;
+  }
+
+  static boolean isGlob(String entry) {
+    return firstGlobCharacter(entry) < entry.length();
+  }
+
+  private static int firstGlobCharacter(String entry) {
+    for (int i = 0; i < entry.length(); i++) {
+      if (GLOB_CHARACTERS.indexOf(entry.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return entry.length();
+  }
+
+  /** Translates a glob into an equivalent regular expression. */
+  static String globToRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    int literalStart = 0;
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (GLOB_CHARACTERS.indexOf(c) < 0) {
+        continue;
+      }
+      int classEnd = c == '[' ? glob.indexOf(']', i + 2) : -1;
+      if (c == '[' && classEnd < 0) {
+        // An unclosed bracket is a literal
+        continue;
+      }
+      if (literalStart < i) {
+        regex.append(Pattern.quote(glob.substring(literalStart, i)));
+      }
+      if (c == '*') {
+        regex.append(".*");
+        literalStart = i + 1;
+      } else if (c == '?') {
+        regex.append('.');
+        literalStart = i + 1;
+      } else {
+        regex.append('[');
+        int memberStart = i + 1;
+        if (glob.charAt(memberStart) == '!') {
+          regex.append('^');
+          memberStart++;
+        }
+        for (int m = memberStart; m < classEnd; m++) {
+          char member = glob.charAt(m);
+          if ("\\[]^&".indexOf(member) >= 0) {
+            regex.append('\\');
+          }
+          regex.append(member);
+        }
+        regex.append(']');
+        i = classEnd;
+        literalStart = classEnd + 1;
+      }
+    }
+    if (literalStart < glob.length()) {
+      regex.append(Pattern.quote(glob.substring(literalStart)));
+    }
+    return regex.toString();
+  }
+
+  /**
+   * Characters every name a regular expression matches must start with. The prefix stops at the
+   * first construct that is not a plain or escaped literal, and is empty if the expression has an
+   * alternation anywhere, since a prefix would then only hold for one of the alternatives.
+   */
+  static String regexLiteralPrefix(String regex) {
+    if (regex.indexOf('|') >= 0) {
+      return "";
+    }
+    StringBuilder prefix = new StringBuilder();
+    int i = regex.startsWith("^") ? 1 : 0;
+    while (i < regex.length()) {
+      char c = regex.charAt(i);
+      int next;
+      char literal;
+      if (c == '\\'
+          && i + 1 < regex.length()
+          && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+        literal = regex.charAt(i + 1);
+        next = i + 2;
+      } else if ("\\^$.|?*+()[]{}".indexOf(c) < 0) {
+        literal = c;
+        next = i + 1;
+      } else {
+        break;
+      }
+      // A quantified literal may not be there at all
+      if (next < regex.length() && "?*{".indexOf(regex.charAt(next)) >= 0) {
+        break;
+      }
+      prefix.append(literal);
+      i = next;
+    }
+    return prefix.toString();
+  }
+}
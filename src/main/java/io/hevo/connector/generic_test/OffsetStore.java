@@ -0,0 +1,206 @@
+package io.hevo.connector.generic_test;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.offset.Offset;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Offsets committed per object, keyed by fully qualified object name and kept in a JSON file so
+ * that a later run resumes each object from where the previous one stopped instead of loading it
+ * again from the beginning.
+ *
+ * <p>An offset is only committed once the output it covers has been checkpointed. Every commit
+ * writes the whole store to a temporary file, forces it to disk and renames it over the store, so
+ * the file on disk always holds either the previous or the new set of offsets.
+ */
+public final class OffsetStore {
+
+  /** Also sees private fields, so offsets without getters keep their state. */
+  private static final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+          .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+          .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+  /**
+   * Offset committed for an object.
+   *
+   * @param offset The offset, as serialized by Jackson.
+   * @param phase Fetch that reached the offset, {@code historical} or {@code incremental}.
+   * @param fetchedRecords Records fetched by that fetch.
+   * @param committedAt When the offset was committed, in ISO-8601.
+   */
+  public record Entry(JsonNode offset, String phase, long fetchedRecords, String committedAt) {}
+
+  private final Path path;
+
+  private final Map<String, Entry> entries;
+
+  private OffsetStore(Path path, Map<String, Entry> entries) {
+    this.path = path;
+    this.entries = entries;
+  }
+
+  /**
+   * Opens the store kept in a file. A missing file opens as an empty store.
+   *
+   * @throws ConnectorException If the file exists but cannot be read.
+   */
+  public static OffsetStore open(Path path) throws ConnectorException {
+    Map<String, Entry> entries = new TreeMap<>();
+    if (Files.exists(path)) {
+      try {
+        entries.putAll(
+            objectMapper.readValue(path.toFile(), new TypeReference<Map<String, Entry>>() {}));
+      } catch (IOException e) {
+        throw new ConnectorException("Failed to read offset store " + path, e);
+      }
+    }
+    return new OffsetStore(path, entries);
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  /** Number of objects with a committed offset. */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized Optional<Entry> entry(String objectName) {
+    return Optional.ofNullable(entries.get(objectName));
+  }
+
+  /**
+   * Offset committed for an object.
+   *
+   * @param objectName Fully qualified name of the object.
+   * @return The offset, or empty if none has been committed.
+   */
+  public Optional<Offset> offset(String objectName) {
+    return entry(objectName).map(entry -> toOffset(entry.offset()));
+  }
+
+  /**
+   * Commits the offset an object has been fetched up to, replacing the one committed before.
+   * Callers must only commit once the output of the fetch has been checkpointed.
+   *
+   * @param objectName Fully qualified name of the object.
+   * @param offset Offset the fetch reached.
+   * @param phase Fetch that reached the offset.
+   * @param fetchedRecords Records fetched by that fetch.
+   * @throws ConnectorException If the store cannot be written, in which case the previous store is
+   *     left in place.
+   */
+  public synchronized void commit(
+      String objectName, Offset offset, String phase, long fetchedRecords)
+      throws ConnectorException {
+    Entry entry =
+        new Entry(
+            objectMapper.valueToTree(offset), phase, fetchedRecords, Instant.now().toString());
+    Entry previous = entries.put(objectName, entry);
+    try {
+      write();
+    } catch (IOException e) {
+      if (previous == null) {
+        entries.remove(objectName);
+      } else {
+        entries.put(objectName, previous);
+      }
+      throw new ConnectorException("Failed to commit offset of object " + objectName, e);
+    }
+  }
+
+  /**
+   * Forgets the offset of an object, so that the next run loads it from the beginning.
+   *
+   * @throws ConnectorException If the store cannot be written.
+   */
+  public synchronized void remove(String objectName) throws ConnectorException {
+    Entry previous = entries.remove(objectName);
+    if (previous == null) {
+      return;
+    }
+    try {
+      write();
+    } catch (IOException e) {
+      entries.put(objectName, previous);
+      throw new ConnectorException("Failed to remove offset of object " + objectName, e);
+    }
+  }
+
+  private void write() throws IOException {
+    Path directory = path.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    byte[] content = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(entries);
+    try (FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.wrap(content);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(
+        temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads an offset back from its serialized form. Offsets Jackson cannot construct directly are
+   * rebuilt with {@link Offset#builder()} from their fields, or from the entries of their only
+   * field if that is a map of values.
+   */
+  static Offset toOffset(JsonNode node) {
+    if (node == null || node.isNull()) {
+      return Offset.empty();
+    }
+    try {
+      Offset offset = objectMapper.treeToValue(node, Offset.class);
+      if (offset != null) {
+        return offset;
+      }
+    } catch (JsonProcessingException | IllegalArgumentException e) {
+      // Fall back to the builder below
+    }
+    Offset.Builder builder = Offset.builder();
+    if (node.size() == 1 && node.elements().next() instanceof ObjectNode values) {
+      node = values;
+    }
+    if (node instanceof ObjectNode fields) {
+      Iterator<Map.Entry<String, JsonNode>> iterator = fields.fields();
+      while (iterator.hasNext()) {
+        Map.Entry<String, JsonNode> field = iterator.next();
+        builder.put(field.getKey(), objectMapper.convertValue(field.getValue(), Object.class));
+      }
+    }
+    return builder.build();
+  }
+}
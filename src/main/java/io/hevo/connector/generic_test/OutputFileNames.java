@@ -0,0 +1,41 @@
+package io.hevo.connector.generic_test;
+
+import java.nio.file.Path;
+
+/**
+ * Names of the files derived from an output file, such as its segments, shards and metrics. They
+ * keep the extension of the output file, so that {@code historical_o1.csv.gz} has shards like
+ * {@code historical_o1.shard-0.csv.gz}.
+ */
+final class OutputFileNames {
+
+  private static final String GZIP_EXTENSION = ".gz";
+
+  private OutputFileNames() {}
+
+  /**
+   * Index at which the extension of a file name starts, not counting a trailing {@code .gz}, or the
+   * length of the name if it has none. A leading dot does not start an extension.
+   */
+  static int extensionStart(String fileName) {
+    int end =
+        fileName.endsWith(GZIP_EXTENSION)
+            ? fileName.length() - GZIP_EXTENSION.length()
+            : fileName.length();
+    int extension = fileName.lastIndexOf('.', end - 1);
+    return extension > 0 ? extension : end;
+  }
+
+  /** The file name without its extension, for example {@code historical_o1}. */
+  static String stemOf(Path file) {
+    String name = file.getFileName().toString();
+    return name.substring(0, extensionStart(name));
+  }
+
+  /** A sibling of a file, named with a suffix inserted before the extension of its name. */
+  static Path withSuffix(Path file, String suffix) {
+    String name = file.getFileName().toString();
+    int extension = extensionStart(name);
+    return file.resolveSibling(name.substring(0, extension) + suffix + name.substring(extension));
+  }
+}
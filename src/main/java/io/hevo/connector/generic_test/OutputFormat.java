@@ -0,0 +1,14 @@
+package io.hevo.connector.generic_test;
+
+/** File format {@link GenericConnectorTester} writes fetched records in. */
+public enum OutputFormat {
+  /** RFC 4180 CSV, written by {@link FileConnectorProcessor}. */
+  CSV,
+
+  /**
+   * Row groups of encoded column chunks, written by {@link ColumnarConnectorProcessor} and read
+   * with {@link ColumnarFileReader}. Files take the {@code .hcol} extension instead of {@code
+   * .csv}.
+   */
+  COLUMNAR
+}
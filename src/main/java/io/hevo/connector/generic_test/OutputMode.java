@@ -0,0 +1,13 @@
+package io.hevo.connector.generic_test;
+
+/** How a {@link FileConnectorProcessor} turns records into bytes. */
+public enum OutputMode {
+  /** Builds a string per record and encodes it through a character writer. */
+  WRITER,
+
+  /**
+   * Encodes records straight into reusable direct buffers, written to the file with gathering
+   * channel writes. Avoids the intermediate strings and copies of {@link #WRITER}.
+   */
+  CHANNEL
+}
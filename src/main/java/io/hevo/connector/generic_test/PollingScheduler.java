@@ -0,0 +1,306 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ExecutionResult;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls objects continuously on a bounded pool of workers. Objects wait in a queue ordered by the
+ * time their next poll is due, and a free worker always takes the object that has been due the
+ * longest, so objects polled often cannot starve the others. An object is polled by one worker at a
+ * time and only queued again once its poll has finished.
+ *
+ * <p>After every poll, the interval of the object is adapted to the number of records it fetched
+ * with {@link Policy#nextIntervalMillis}: objects that return many records are polled more often,
+ * and objects that return few or none less often.
+ *
+ * @param <T> The type of the polled objects.
+ */
+public final class PollingScheduler<T> {
+
+  private static final Logger log = LoggerFactory.getLogger(PollingScheduler.class);
+
+  /** How long an idle worker waits for a due object before checking whether it should stop. */
+  private static final long IDLE_WAIT_MILLIS = 100;
+
+  /**
+   * One poll of an object.
+   *
+   * @param <T> The type of the polled objects.
+   */
+  @FunctionalInterface
+  public interface Poll<T> {
+
+    /**
+     * Polls an object.
+     *
+     * @param object The object to poll.
+     * @param lastResult Result of the previous successful poll of the object, or the result it is
+     *     resumed from, or {@code null} if it has never been polled.
+     * @return The result of the poll, whose offset the next poll starts from.
+     * @throws Exception If the poll fails, in which case the next poll starts from the same result.
+     */
+    ExecutionResult poll(T object, ExecutionResult lastResult) throws Exception;
+  }
+
+  /**
+   * How poll intervals adapt to the records each poll fetches.
+   *
+   * @param minIntervalMillis Shortest interval between two polls of an object, and the interval
+   *     objects start with.
+   * @param maxIntervalMillis Longest interval between two polls of an object.
+   * @param targetRecords Records a poll should fetch. An object whose poll fetched more has its
+   *     interval shortened, and one whose poll fetched fewer has it lengthened, by at most a factor
+   *     of two per poll.
+   */
+  public record Policy(long minIntervalMillis, long maxIntervalMillis, long targetRecords) {
+
+    public Policy {
+      if (minIntervalMillis < 0 || maxIntervalMillis < minIntervalMillis || targetRecords < 1) {
+        throw new IllegalArgumentException(
+            "Invalid polling policy: intervals "
+                + minIntervalMillis
+                + " to "
+                + maxIntervalMillis
+                + " ms, target "
+                + targetRecords
+                + " records");
+      }
+    }
+
+    /** Interval until the next poll of an object whose last poll fetched some records. */
+    public long nextIntervalMillis(long intervalMillis, long fetchedRecords) {
+      if (fetchedRecords <= 0) {
+        return clamp(Math.max(1, intervalMillis) * 2);
+      }
+      double factor = Math.min(2.0, Math.max(0.5, (double) targetRecords / fetchedRecords));
+      return clamp(Math.round(Math.max(1, intervalMillis) * factor));
+    }
+
+    /** Interval until the next poll of an object whose last poll failed. */
+    public long failureIntervalMillis(long intervalMillis) {
+      return clamp(Math.max(1, intervalMillis) * 2);
+    }
+
+    private long clamp(long intervalMillis) {
+      return Math.max(minIntervalMillis, Math.min(maxIntervalMillis, intervalMillis));
+    }
+  }
+
+  /**
+   * Polling statistics of an object.
+   *
+   * @param name Name of the object.
+   * @param polls Number of polls, including failed ones.
+   * @param failures Number of failed polls.
+   * @param fetchedRecords Records fetched by all polls.
+   * @param intervalMillis Current interval between polls.
+   * @param maxLagMillis Longest time a poll started after it was due.
+   */
+  public record ObjectStats(
+      String name,
+      long polls,
+      long failures,
+      long fetchedRecords,
+      long intervalMillis,
+      long maxLagMillis) {}
+
+  /** Polling state of an object, only updated by the worker that took it from the queue. */
+  private static final class Task<T> implements Delayed {
+
+    private final T object;
+    private final String name;
+    private ExecutionResult lastResult;
+    private long intervalMillis;
+    private long dueNanos;
+    private long sequence;
+    private long polls;
+    private long failures;
+    private long fetchedRecords;
+    private long maxLagNanos;
+
+    private Task(T object, String name, ExecutionResult lastResult, long intervalMillis) {
+      this.object = object;
+      this.name = name;
+      this.lastResult = lastResult;
+      this.intervalMillis = intervalMillis;
+      this.dueNanos = System.nanoTime();
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /** Orders objects by due time, and objects due at the same time in the order they queued. */
+    @Override
+    public int compareTo(Delayed other) {
+      Task<?> task = (Task<?>) other;
+      int order = Long.compare(dueNanos - task.dueNanos, 0);
+      return order != 0 ? order : Long.compare(sequence, task.sequence);
+    }
+
+    private synchronized ObjectStats stats() {
+      return new ObjectStats(
+          name,
+          polls,
+          failures,
+          fetchedRecords,
+          intervalMillis,
+          TimeUnit.NANOSECONDS.toMillis(maxLagNanos));
+    }
+  }
+
+  private final Policy policy;
+
+  private final int workers;
+
+  private final Poll<T> poll;
+
+  private final List<Task<T>> tasks = new ArrayList<>();
+
+  private final DelayQueue<Task<T>> queue = new DelayQueue<>();
+
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  private long nextSequence;
+
+  /**
+   * Creates a scheduler without objects.
+   *
+   * @param policy How poll intervals adapt.
+   * @param workers Maximum number of objects polled at the same time.
+   * @param poll Polls one object.
+   */
+  public PollingScheduler(Policy policy, int workers, Poll<T> poll) {
+    this.policy = policy;
+    this.workers = Math.max(1, workers);
+    this.poll = poll;
+  }
+
+  /**
+   * Adds an object, due for polling as soon as the scheduler runs.
+   *
+   * @param object The object.
+   * @param name Name of the object in logs and statistics.
+   * @param lastResult Result the first poll starts from, or {@code null} to start from scratch.
+   */
+  public synchronized void add(T object, String name, ExecutionResult lastResult) {
+    Task<T> task = new Task<>(object, name, lastResult, policy.minIntervalMillis());
+    tasks.add(task);
+    enqueue(task);
+  }
+
+  /**
+   * Polls the added objects until the duration elapses or {@link #stop()} is called, then waits for
+   * the polls in progress to finish.
+   *
+   * @param duration How long to poll, or zero to poll until stopped.
+   * @return Statistics of every object, in the order they were added.
+   * @throws InterruptedException If interrupted while polling, after the polls in progress have
+   *     finished.
+   */
+  public List<ObjectStats> run(Duration duration) throws InterruptedException {
+    int threads;
+    synchronized (this) {
+      threads = Math.max(1, Math.min(workers, tasks.size()));
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      pool.execute(this::work);
+    }
+    try {
+      if (duration.isZero() || duration.isNegative()) {
+        stopped.await();
+      } else {
+        stopped.await(duration.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    } finally {
+      stop();
+      pool.shutdown();
+      while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+        log.info("Waiting for polls in progress to finish...");
+      }
+    }
+    return stats();
+  }
+
+  /** Stops polling. Polls in progress finish, and no new poll starts. */
+  public void stop() {
+    stopped.countDown();
+  }
+
+  /** Statistics of every object, in the order they were added. */
+  public synchronized List<ObjectStats> stats() {
+    return tasks.stream().map(Task::stats).toList();
+  }
+
+  private boolean isStopped() {
+    return stopped.getCount() == 0;
+  }
+
+  private void work() {
+    while (!isStopped()) {
+      Task<T> task;
+      try {
+        task = queue.poll(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (task == null) {
+        continue;
+      }
+      if (isStopped()) {
+        queue.add(task);
+        return;
+      }
+      pollOnce(task);
+      enqueue(task);
+    }
+  }
+
+  private void pollOnce(Task<T> task) {
+    long startNanos = System.nanoTime();
+    ExecutionResult result = null;
+    Exception failure = null;
+    long intervalMillis;
+    try {
+      result = poll.poll(task.object, task.lastResult);
+    } catch (Exception e) {
+      failure = e;
+    }
+    synchronized (task) {
+      task.polls++;
+      task.maxLagNanos = Math.max(task.maxLagNanos, startNanos - task.dueNanos);
+      if (failure == null) {
+        task.lastResult = result;
+        task.fetchedRecords += result.fetchedRecords();
+        task.intervalMillis =
+            policy.nextIntervalMillis(task.intervalMillis, result.fetchedRecords());
+      } else {
+        task.failures++;
+        task.intervalMillis = policy.failureIntervalMillis(task.intervalMillis);
+      }
+      intervalMillis = task.intervalMillis;
+      task.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+    if (failure != null) {
+      log.warn("Failed to poll object {}, retrying in {} ms", task.name, intervalMillis, failure);
+    }
+  }
+
+  private synchronized void enqueue(Task<T> task) {
+    task.sequence = nextSequence++;
+    queue.add(task);
+  }
+}
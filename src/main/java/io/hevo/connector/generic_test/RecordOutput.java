@@ -0,0 +1,21 @@
+package io.hevo.connector.generic_test;
+
+import java.io.IOException;
+
+/** Encodes records into the buffered output of a {@link FileConnectorProcessor}. */
+interface RecordOutput {
+
+  /**
+   * Buffers one record, writing earlier buffered records to the file if the buffer is full.
+   *
+   * @param values Column values of the record.
+   * @return The number of bytes the record takes up in the file.
+   */
+  long write(String[] values) throws IOException;
+
+  /** Writes every buffered record to the file. */
+  void flush() throws IOException;
+
+  /** Flushes, then releases the output. Does not close the underlying channel. */
+  void close() throws IOException;
+}
@@ -0,0 +1,93 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free queue of published records for many producers and a single consumer.
+ *
+ * <p>Each slot carries a sequence number that tells producers and the consumer whose turn it is to
+ * use the slot: producers claim a position with a CAS and publish the slot by advancing its
+ * sequence, and the consumer releases it to the next lap the same way. Records are kept in plain
+ * arrays, so queueing a record does not allocate.
+ */
+final class RecordRingBuffer {
+
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final HStruct[] structs;
+  private final ConnectorMeta[] metas;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private long dequeuePosition;
+
+  /**
+   * @param capacity Minimum number of records the queue holds. Rounded up to a power of two.
+   */
+  RecordRingBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.mask = size - 1;
+    this.sequences = new AtomicLongArray(size);
+    this.structs = new HStruct[size];
+    this.metas = new ConnectorMeta[size];
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Adds a record if there is room. Safe to call from any number of threads.
+   *
+   * @return {@code false} if the queue is full.
+   */
+  boolean offer(HStruct hStruct, ConnectorMeta connectorMeta) {
+    long position = enqueuePosition.get();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (enqueuePosition.compareAndSet(position, position + 1)) {
+          structs[index] = hStruct;
+          metas[index] = connectorMeta;
+          sequences.lazySet(index, position + 1);
+          return true;
+        }
+        position = enqueuePosition.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = enqueuePosition.get();
+      }
+    }
+  }
+
+  /**
+   * Moves up to {@code structs.length} queued records into the given arrays. Must only be called
+   * from the consumer thread.
+   *
+   * @return The number of records moved.
+   */
+  int drainTo(HStruct[] structs, ConnectorMeta[] metas) {
+    int drained = 0;
+    while (drained < structs.length) {
+      int index = (int) dequeuePosition & mask;
+      if (sequences.get(index) != dequeuePosition + 1) {
+        break;
+      }
+      structs[drained] = this.structs[index];
+      metas[drained] = this.metas[index];
+      this.structs[index] = null;
+      this.metas[index] = null;
+      sequences.lazySet(index, dequeuePosition + mask + 1);
+      dequeuePosition++;
+      drained++;
+    }
+    return drained;
+  }
+
+  /** Whether no record is queued or being queued. Must only be called from the consumer thread. */
+  boolean isEmpty() {
+    return enqueuePosition.get() == dequeuePosition;
+  }
+}
@@ -0,0 +1,238 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.field.schema.base.Field;
+import io.hevo.connector.model.field.schema.base.FieldProperties;
+import io.hevo.connector.model.field.schema.hudt.HField;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports object schemas to CSV, one row per field, and optionally to a {@link SchemaSnapshot}.
+ *
+ * <p>Objects are encoded independently on a pool of threads, each into its CSV rows and its
+ * snapshot block, and written in their original order as soon as every object before them has been.
+ * At most a few objects per thread are encoded ahead of the writer, so memory stays bounded however
+ * large the catalog. CSV values are quoted as needed by {@link CsvRecordEncoder}, so default values
+ * with commas, quotes or line breaks cannot corrupt rows.
+ *
+ * <p>A snapshot is only worth writing if it loads back the schemas it was exported from, so the
+ * encoders check every field with {@link SchemaSnapshot#lossOf}. At the first field the snapshot
+ * would lose, the export logs a warning and stops writing the snapshot, and goes on with the CSV.
+ */
+public final class SchemaExporter {
+
+  private static final Logger log = LoggerFactory.getLogger(SchemaExporter.class);
+
+  static final String[] CSV_HEADER = {
+    "fullyQualifiedName",
+    "sourceFieldName",
+    "sourceDataType",
+    "logicalType",
+    "position",
+    "defaultValue",
+    "pkPos",
+    "customPkPos",
+    "ckOrdinal",
+    "isNullable",
+    "isToasted",
+    "isInternal",
+    "fieldProvider",
+    "shouldReplicateToDestination",
+    "length",
+    "precision",
+    "scale"
+  };
+
+  /** Objects encoded ahead of the writer, per thread. */
+  private static final int OBJECTS_AHEAD_PER_THREAD = 4;
+
+  /**
+   * What an export wrote.
+   *
+   * @param objects Number of objects.
+   * @param fields Number of fields, which is also the number of CSV rows.
+   * @param csvBytes Bytes written to the CSV.
+   * @param snapshotBytes Bytes written to the snapshot, or {@code 0} without one or if it was
+   *     skipped.
+   */
+  public record Summary(int objects, long fields, long csvBytes, long snapshotBytes) {}
+
+  /**
+   * The CSV rows and snapshot block of one object.
+   *
+   * @param snapshotLoss What a snapshot would lose of the object, in which case there is no block.
+   */
+  private record EncodedObject(
+      int fields, SchemaSnapshot.Bytes csv, SchemaSnapshot.Bytes block, String snapshotLoss) {}
+
+  private SchemaExporter() {}
+
+  /**
+   * Exports object schemas.
+   *
+   * @param objectSchemas The schemas, in the order they are written.
+   * @param csv Stream the CSV is written to.
+   * @param snapshot Stream the snapshot is written to, or {@code null} to only write the CSV. If
+   *     the snapshot is skipped, what was written to it must be discarded.
+   * @param threads Number of threads encoding objects; {@code 1} encodes on the calling thread.
+   * @return What was written.
+   * @throws IOException If writing fails.
+   */
+  public static Summary export(
+      List<ObjectSchema> objectSchemas, OutputStream csv, OutputStream snapshot, int threads)
+      throws IOException {
+    CsvRecordEncoder headerEncoder = new CsvRecordEncoder();
+    int headerLength = headerEncoder.encode(CSV_HEADER);
+    csv.write(headerEncoder.bytes(), 0, headerLength);
+    long csvBytes = headerLength;
+    long snapshotBytes = 0;
+    if (snapshot != null) {
+      SchemaSnapshot.writeHeader(snapshot);
+      snapshotBytes = SchemaSnapshot.HEADER_BYTES;
+    }
+    long[] blockOffsets = new long[objectSchemas.size()];
+    long fields = 0;
+    boolean writingSnapshot = snapshot != null;
+
+    ExecutorService encoders =
+        threads > 1 && objectSchemas.size() > 1 ? Executors.newFixedThreadPool(threads) : null;
+    ThreadLocal<CsvRecordEncoder> csvEncoders = ThreadLocal.withInitial(CsvRecordEncoder::new);
+    try {
+      Deque<Future<EncodedObject>> pending = new ArrayDeque<>();
+      int submitted = 0;
+      for (int written = 0; written < objectSchemas.size(); written++) {
+        EncodedObject encoded;
+        if (encoders == null) {
+          encoded = encode(objectSchemas.get(written), csvEncoders.get(), snapshot != null);
+        } else {
+          while (submitted < objectSchemas.size()
+              && pending.size() < threads * OBJECTS_AHEAD_PER_THREAD) {
+            ObjectSchema objectSchema = objectSchemas.get(submitted++);
+            pending.add(
+                encoders.submit(() -> encode(objectSchema, csvEncoders.get(), snapshot != null)));
+          }
+          encoded = await(pending.poll());
+        }
+
+        encoded.csv().writeTo(csv);
+        csvBytes += encoded.csv().length();
+        if (writingSnapshot && encoded.snapshotLoss() != null) {
+          log.warn(
+              "Skipping the schema snapshot, which could not be loaded back: {}",
+              encoded.snapshotLoss());
+          writingSnapshot = false;
+        }
+        if (writingSnapshot) {
+          blockOffsets[written] = snapshotBytes;
+          encoded.block().writeTo(snapshot);
+          snapshotBytes += encoded.block().length();
+        }
+        fields += encoded.fields();
+      }
+    } finally {
+      if (encoders != null) {
+        encoders.shutdownNow();
+      }
+    }
+
+    if (writingSnapshot) {
+      SchemaSnapshot.writeIndex(snapshot, blockOffsets, snapshotBytes);
+      snapshotBytes += 8L * blockOffsets.length + SchemaSnapshot.TRAILER_BYTES;
+    } else {
+      snapshotBytes = 0;
+    }
+    return new Summary(objectSchemas.size(), fields, csvBytes, snapshotBytes);
+  }
+
+  private static EncodedObject await(Future<EncodedObject> encoded) throws IOException {
+    try {
+      return encoded.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IOException("Failed to encode object schema", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while exporting object schemas", e);
+    }
+  }
+
+  private static EncodedObject encode(
+      ObjectSchema objectSchema, CsvRecordEncoder encoder, boolean withBlock) {
+    String fullyQualifiedName = objectSchema.objectDetail().getTableFullyQualifiedName();
+    SchemaSnapshot.Bytes csv = new SchemaSnapshot.Bytes();
+    String[] values = new String[CSV_HEADER.length];
+    for (Field field : objectSchema.fields()) {
+      int length = encoder.encode(csvValues(fullyQualifiedName, field, values));
+      csv.write(encoder.bytes(), 0, length);
+    }
+    SchemaSnapshot.Bytes block = null;
+    String snapshotLoss = null;
+    if (withBlock) {
+      for (Field field : objectSchema.fields()) {
+        String loss = SchemaSnapshot.lossOf(field);
+        if (loss != null) {
+          snapshotLoss =
+              "field at position "
+                  + field.properties().position()
+                  + " of "
+                  + fullyQualifiedName
+                  + ": "
+                  + loss;
+          break;
+        }
+      }
+      if (snapshotLoss == null) {
+        block = new SchemaSnapshot.Bytes();
+        SchemaSnapshot.encodeObject(objectSchema, block);
+      }
+    }
+    return new EncodedObject(objectSchema.fields().size(), csv, block, snapshotLoss);
+  }
+
+  /** Fills the CSV values of a field, leaving absent values {@code null}. */
+  static String[] csvValues(String fullyQualifiedName, Field field, String[] values) {
+    String sourceFieldName = null;
+    String sourceDataType = null;
+    // Source-specific data is only available on HField
+    if (field instanceof HField hField) {
+      sourceFieldName = hField.sourceFieldName();
+      sourceDataType = hField.sourceDataType();
+    }
+    FieldProperties properties = field.properties();
+    values[0] = fullyQualifiedName;
+    values[1] = sourceFieldName;
+    values[2] = sourceDataType;
+    values[3] = field.logicalType();
+    values[4] = Integer.toString(properties.position());
+    values[5] = properties.defaultValue().orElse(null);
+    values[6] = toString(properties.pkPos());
+    values[7] = toString(properties.customPkPos());
+    values[8] = toString(properties.ckOrdinal());
+    values[9] = Boolean.toString(properties.isNullable());
+    values[10] = Boolean.toString(properties.isToasted());
+    values[11] = Boolean.toString(properties.isInternal());
+    values[12] = properties.fieldProvider() != null ? properties.fieldProvider().toString() : null;
+    values[13] = Boolean.toString(properties.shouldReplicateToDestination());
+    values[14] = toString(properties.length());
+    values[15] = toString(properties.precision());
+    values[16] = toString(properties.scale());
+    return values;
+  }
+
+  private static String toString(Optional<Integer> value) {
+    return value.map(String::valueOf).orElse(null);
+  }
+}
@@ -0,0 +1,450 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ObjectDetails;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.enums.SourceObjectStatus;
+import io.hevo.connector.model.field.schema.base.Field;
+import io.hevo.connector.model.field.schema.base.FieldProperties;
+import io.hevo.connector.model.field.schema.enumeration.FieldState;
+import io.hevo.connector.model.field.schema.hudt.HDateTimeField;
+import io.hevo.connector.model.field.schema.hudt.HField;
+import io.hevo.connector.model.field.schema.hudt.HIntegerField;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Binary snapshot of object schemas, written by {@link SchemaExporter} next to the schema CSV and
+ * loaded back into {@link ObjectSchema} instances without asking the source again.
+ *
+ * <p>The file starts with the magic number and format version, followed by one block per object and
+ * an index of the offsets of the blocks. A 16-byte trailer holds the offset of the index, the
+ * number of objects and the magic number again, so blocks can be written as they are encoded and
+ * the index located once they all are. Each block describes its object and every field of it, with
+ * integers as varints and each distinct string of the block stored once and referenced after that,
+ * which keeps catalogs of wide tables with repetitive types small. Blocks are independent, so
+ * {@link #load} decodes them in parallel from a memory-mapped file.
+ *
+ * <p>Every property of the schema CSV is stored, but fields are rebuilt with the SDK builders of
+ * their type: only integer and date-time fields can be rebuilt, only with their position, keys,
+ * nullability and precision, and always {@link FieldState#ACTIVE}. {@link SchemaExporter} checks
+ * every field with {@link #lossOf} and skips snapshots that would not load back what was exported.
+ */
+public final class SchemaSnapshot {
+
+  static final int MAGIC = 0x48534348; // "HSCH"
+
+  static final int VERSION = 1;
+
+  static final int HEADER_BYTES = 8;
+
+  static final int TRAILER_BYTES = 16;
+
+  /** Field types, by the SDK class that can rebuild them. */
+  static final byte KIND_OTHER = 0;
+
+  static final byte KIND_INTEGER = 1;
+
+  static final byte KIND_DATE_TIME = 2;
+
+  private static final int NULLABLE = 1;
+  private static final int TOASTED = 1 << 1;
+  private static final int INTERNAL = 1 << 2;
+  private static final int REPLICATED = 1 << 3;
+
+  private static final int CSV_COLUMNS = SchemaExporter.CSV_HEADER.length;
+
+  /** Precision of date-time fields whose properties do not carry one. */
+  private static final int DEFAULT_DATE_TIME_PRECISION = 9;
+
+  private SchemaSnapshot() {}
+
+  /**
+   * Loads the object schemas of a snapshot, in the order they were written.
+   *
+   * @throws IOException If the file cannot be read, is not a snapshot, or holds fields of a type
+   *     that cannot be rebuilt.
+   */
+  public static List<ObjectSchema> load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Schema snapshot " + path + " is too large to map: " + size);
+      }
+      if (size < HEADER_BYTES + TRAILER_BYTES) {
+        throw new IOException("Not a schema snapshot: " + path);
+      }
+      MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (file.getInt(0) != MAGIC || file.getInt((int) size - 4) != MAGIC) {
+        throw new IOException("Not a schema snapshot: " + path);
+      }
+      if (file.getInt(4) != VERSION) {
+        throw new IOException(
+            "Unsupported schema snapshot version " + file.getInt(4) + " of " + path);
+      }
+      long indexOffset = file.getLong((int) size - TRAILER_BYTES);
+      int objectCount = file.getInt((int) size - 8);
+      if (indexOffset < HEADER_BYTES
+          || objectCount < 0
+          || indexOffset + 8L * objectCount != size - TRAILER_BYTES) {
+        throw new IOException("Corrupt schema snapshot index in " + path);
+      }
+      long[] blockOffsets = new long[objectCount + 1];
+      for (int i = 0; i < objectCount; i++) {
+        blockOffsets[i] = file.getLong((int) indexOffset + 8 * i);
+      }
+      blockOffsets[objectCount] = indexOffset;
+
+      ObjectSchema[] objectSchemas = new ObjectSchema[objectCount];
+      try {
+        IntStream.range(0, objectCount)
+            .parallel()
+            .forEach(
+                i ->
+                    objectSchemas[i] =
+                        decodeObject(
+                            file.slice(
+                                (int) blockOffsets[i],
+                                (int) (blockOffsets[i + 1] - blockOffsets[i]))));
+      } catch (UncheckedIOException e) {
+        throw new IOException("Failed to load schema snapshot " + path, e.getCause());
+      } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+        throw new IOException("Corrupt schema snapshot " + path, e);
+      }
+      return Arrays.asList(objectSchemas);
+    }
+  }
+
+  /** Writes the header of a snapshot. */
+  static void writeHeader(OutputStream out) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+    out.write(header.array());
+  }
+
+  /**
+   * Writes the index and trailer of a snapshot.
+   *
+   * @param blockOffsets Offsets of the blocks, from the start of the file.
+   * @param indexOffset Offset the index is written at, right after the last block.
+   */
+  static void writeIndex(OutputStream out, long[] blockOffsets, long indexOffset)
+      throws IOException {
+    ByteBuffer index = ByteBuffer.allocate(8 * blockOffsets.length + TRAILER_BYTES);
+    for (long blockOffset : blockOffsets) {
+      index.putLong(blockOffset);
+    }
+    index.putLong(indexOffset).putInt(blockOffsets.length).putInt(MAGIC);
+    out.write(index.array());
+  }
+
+  /** Encodes the block of an object. */
+  static void encodeObject(ObjectSchema objectSchema, Bytes out) {
+    Map<String, Integer> strings = new HashMap<>();
+    ObjectDetails objectDetail = objectSchema.objectDetail();
+    writeString(out, strings, objectDetail.catalogName());
+    writeString(out, strings, objectDetail.schemaName());
+    writeString(out, strings, objectDetail.tableName());
+    writeString(out, strings, objectDetail.type());
+    writeString(out, strings, objectDetail.delimiter());
+    SourceObjectStatus status = objectDetail.sourceObjectStatus();
+    writeString(out, strings, status != null ? status.name() : null);
+
+    Set<Field> fields = objectSchema.fields();
+    out.writeVarLong(fields.size());
+    for (Field field : fields) {
+      String sourceFieldName = null;
+      String sourceDataType = null;
+      if (field instanceof HField hField) {
+        sourceFieldName = hField.sourceFieldName();
+        sourceDataType = hField.sourceDataType();
+      }
+      out.write(kindOf(field));
+      writeString(out, strings, sourceFieldName);
+      writeString(out, strings, sourceDataType);
+      writeString(out, strings, field.logicalType());
+
+      FieldProperties properties = field.properties();
+      out.writeVarLong(zigZag(properties.position()));
+      writeString(out, strings, properties.defaultValue().orElse(null));
+      writeInteger(out, properties.pkPos());
+      writeInteger(out, properties.customPkPos());
+      writeInteger(out, properties.ckOrdinal());
+      int flags =
+          (properties.isNullable() ? NULLABLE : 0)
+              | (properties.isToasted() ? TOASTED : 0)
+              | (properties.isInternal() ? INTERNAL : 0)
+              | (properties.shouldReplicateToDestination() ? REPLICATED : 0);
+      out.write(flags);
+      Object fieldProvider = properties.fieldProvider();
+      writeString(out, strings, fieldProvider != null ? fieldProvider.toString() : null);
+      writeInteger(out, properties.length());
+      writeInteger(out, properties.precision());
+      writeInteger(out, properties.scale());
+    }
+  }
+
+  private static ObjectSchema decodeObject(ByteBuffer block) {
+    List<String> strings = new ArrayList<>();
+    ObjectDetails.Builder objectDetail =
+        ObjectDetails.builder()
+            .catalog(readString(block, strings))
+            .schema(readString(block, strings))
+            .table(readString(block, strings))
+            .type(readString(block, strings))
+            .delimiter(readString(block, strings));
+    String status = readString(block, strings);
+    if (status != null) {
+      objectDetail.sourceObjectStatus(SourceObjectStatus.valueOf(status));
+    }
+
+    int fieldCount = Math.toIntExact(readVarLong(block));
+    Set<Field> fields = new LinkedHashSet<>(fieldCount * 4 / 3 + 1);
+    for (int i = 0; i < fieldCount; i++) {
+      byte kind = block.get();
+      String sourceFieldName = readString(block, strings);
+      String sourceDataType = readString(block, strings);
+      String logicalType = readString(block, strings);
+      int position = (int) unZigZag(readVarLong(block));
+      readString(block, strings); // defaultValue
+      Integer pkPos = readInteger(block);
+      readInteger(block); // customPkPos
+      Integer ckOrdinal = readInteger(block);
+      int flags = block.get();
+      readString(block, strings); // fieldProvider
+      readInteger(block); // length
+      Integer precision = readInteger(block);
+      readInteger(block); // scale
+
+      Field field =
+          rebuild(
+              kind,
+              sourceFieldName,
+              sourceDataType,
+              position,
+              pkPos,
+              ckOrdinal,
+              (flags & NULLABLE) != 0,
+              precision);
+      if (field == null) {
+        throw new UncheckedIOException(
+            new IOException(
+                "Field '"
+                    + sourceFieldName
+                    + "' of logical type "
+                    + logicalType
+                    + " cannot be rebuilt from a snapshot"));
+      }
+      fields.add(field);
+    }
+    return new ObjectSchema(objectDetail.build(), fields);
+  }
+
+  /**
+   * Tells what a snapshot would lose of a field, by rebuilding it the way {@link #load} does and
+   * comparing the properties of the schema CSV.
+   *
+   * @return What is lost, or {@code null} if the field is rebuilt with every property.
+   */
+  static String lossOf(Field field) {
+    FieldProperties properties = field.properties();
+    Field rebuilt =
+        field instanceof HField hField
+            ? rebuild(
+                kindOf(field),
+                hField.sourceFieldName(),
+                hField.sourceDataType(),
+                properties.position(),
+                properties.pkPos().orElse(null),
+                properties.ckOrdinal().orElse(null),
+                properties.isNullable(),
+                properties.precision().orElse(null))
+            : null;
+    if (rebuilt == null) {
+      return "its logical type " + field.logicalType() + " cannot be rebuilt";
+    }
+    String[] exported = SchemaExporter.csvValues("", field, new String[CSV_COLUMNS]);
+    String[] loaded = SchemaExporter.csvValues("", rebuilt, new String[CSV_COLUMNS]);
+    for (int i = 0; i < CSV_COLUMNS; i++) {
+      if (!Objects.equals(exported[i], loaded[i])) {
+        return "its " + SchemaExporter.CSV_HEADER[i] + " cannot be rebuilt";
+      }
+    }
+    return null;
+  }
+
+  private static byte kindOf(Field field) {
+    return field instanceof HIntegerField
+        ? KIND_INTEGER
+        : field instanceof HDateTimeField ? KIND_DATE_TIME : KIND_OTHER;
+  }
+
+  /**
+   * Rebuilds a field with the SDK builder of its kind.
+   *
+   * @return The field, or {@code null} for {@link #KIND_OTHER}.
+   */
+  private static Field rebuild(
+      byte kind,
+      String sourceFieldName,
+      String sourceDataType,
+      int position,
+      Integer pkPos,
+      Integer ckOrdinal,
+      boolean nullable,
+      Integer precision) {
+    if (kind == KIND_INTEGER) {
+      HIntegerField.Builder builder =
+          new HIntegerField.Builder(sourceFieldName, sourceDataType, position, FieldState.ACTIVE)
+              .isNullable(nullable);
+      if (pkPos != null) {
+        builder.pkPos(pkPos);
+      }
+      if (ckOrdinal != null) {
+        builder.ckOrdinal(ckOrdinal);
+      }
+      return builder.build();
+    }
+    if (kind == KIND_DATE_TIME) {
+      HDateTimeField.Builder builder =
+          new HDateTimeField.Builder(
+                  sourceFieldName,
+                  sourceDataType,
+                  position,
+                  FieldState.ACTIVE,
+                  precision != null ? precision : DEFAULT_DATE_TIME_PRECISION)
+              .isNullable(nullable);
+      if (pkPos != null) {
+        builder.pkPos(pkPos);
+      }
+      if (ckOrdinal != null) {
+        builder.ckOrdinal(ckOrdinal);
+      }
+      return builder.build();
+    }
+    return null;
+  }
+
+  /**
+   * Writes a string: {@code 0} for {@code null}, {@code 2k + 1} followed by the {@code k} bytes of
+   * a string seen for the first time in the block, or {@code 2k + 2} for the {@code k}-th string of
+   * the block.
+   */
+  private static void writeString(Bytes out, Map<String, Integer> strings, String value) {
+    if (value == null) {
+      out.write(0);
+      return;
+    }
+    Integer reference = strings.get(value);
+    if (reference != null) {
+      out.writeVarLong(2L * reference + 2);
+      return;
+    }
+    strings.put(value, strings.size());
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeVarLong(2L * bytes.length + 1);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static String readString(ByteBuffer in, List<String> strings) {
+    long tag = readVarLong(in);
+    if (tag == 0) {
+      return null;
+    }
+    if ((tag & 1) == 0) {
+      return strings.get(Math.toIntExact(tag / 2 - 1));
+    }
+    byte[] bytes = new byte[Math.toIntExact(tag / 2)];
+    in.get(bytes);
+    String value = new String(bytes, StandardCharsets.UTF_8);
+    strings.add(value);
+    return value;
+  }
+
+  /** Writes an optional integer as {@code 0} if absent, otherwise its zigzag encoding plus one. */
+  private static void writeInteger(Bytes out, Optional<Integer> value) {
+    out.writeVarLong(value.isPresent() ? zigZag(value.get()) + 1 : 0);
+  }
+
+  private static Integer readInteger(ByteBuffer in) {
+    long encoded = readVarLong(in);
+    return encoded == 0 ? null : (int) unZigZag(encoded - 1);
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long encoded) {
+    return (encoded >>> 1) ^ -(encoded & 1);
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  /** Growable byte array an object is encoded into before it is written out. */
+  static final class Bytes {
+
+    private byte[] array = new byte[1024];
+    private int length;
+
+    int length() {
+      return length;
+    }
+
+    void write(int b) {
+      ensureCapacity(1);
+      array[length++] = (byte) b;
+    }
+
+    void write(byte[] bytes, int offset, int count) {
+      ensureCapacity(count);
+      System.arraycopy(bytes, offset, array, length, count);
+      length += count;
+    }
+
+    void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        array[length++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      array[length++] = (byte) value;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+      out.write(array, 0, length);
+    }
+
+    private void ensureCapacity(int extra) {
+      if (length + extra > array.length) {
+        array = Arrays.copyOf(array, Math.max(length + extra, array.length * 2));
+      }
+    }
+  }
+}
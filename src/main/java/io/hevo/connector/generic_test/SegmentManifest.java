@@ -0,0 +1,87 @@
+package io.hevo.connector.generic_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Manifest of the completed segments of a rotating {@link FileConnectorProcessor}, stored next to
+ * the output as {@code <file>.manifest.json}. A segment is only listed once it is complete and will
+ * never be written again, so loaders can pick up listed segments while the fetch is still running.
+ * The manifest is replaced atomically whenever a segment completes.
+ */
+public final class SegmentManifest {
+
+  static final String SUFFIX = ".manifest.json";
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * A completed segment.
+   *
+   * @param file Name of the segment file, in the directory of the manifest.
+   * @param records Number of records in the segment.
+   * @param bytes Length of the segment file.
+   * @param firstRecord Number of the first record of the segment in the output as a whole.
+   * @param lastRecord Number of the last record of the segment in the output as a whole.
+   * @param crc32c CRC32C of the segment file, as 8 hex digits.
+   */
+  public record Segment(
+      String file, long records, long bytes, long firstRecord, long lastRecord, String crc32c) {}
+
+  private final Path manifestPath;
+
+  private final List<Segment> segments;
+
+  private SegmentManifest(Path manifestPath, List<Segment> segments) {
+    this.manifestPath = manifestPath;
+    this.segments = segments;
+  }
+
+  /** Path of the manifest of an output file. */
+  public static Path manifestPathOf(Path file) {
+    return file.resolveSibling(file.getFileName() + SUFFIX);
+  }
+
+  /**
+   * Reads the manifest of an output file. A missing manifest reads as empty.
+   *
+   * @throws IOException If the manifest cannot be read.
+   */
+  public static SegmentManifest read(Path file) throws IOException {
+    Path manifestPath = manifestPathOf(file);
+    List<Segment> segments = new ArrayList<>();
+    if (Files.exists(manifestPath)) {
+      Segment[] listed = objectMapper.readValue(manifestPath.toFile(), Segment[].class);
+      segments.addAll(Arrays.asList(listed));
+    }
+    return new SegmentManifest(manifestPath, segments);
+  }
+
+  public List<Segment> segments() {
+    return Collections.unmodifiableList(segments);
+  }
+
+  /** Number of records in the listed segments. */
+  public long recordCount() {
+    return segments.isEmpty() ? 0 : segments.get(segments.size() - 1).lastRecord() + 1;
+  }
+
+  /** Adds a completed segment and replaces the manifest on disk. */
+  void add(Segment segment) throws IOException {
+    segments.add(segment);
+    Path temporary = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(temporary.toFile(), segments);
+    Files.move(
+        temporary,
+        manifestPath,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -0,0 +1,184 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import io.hevo.connector.model.field.schema.base.Field;
+import io.hevo.connector.spi.RecordRetainingProcessor;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Spreads published records over a fixed number of independent {@link FileConnectorProcessor}
+ * shards, each with its own file and lock, so that concurrent producers mostly write to different
+ * shards instead of queueing on one.
+ *
+ * <p>A record is routed by a hash of its primary key columns, so every version of a key lands in
+ * the same shard and the order of the versions of a key is kept. Records of an object without a
+ * primary key are routed by a hash of all of their values.
+ *
+ * <p>Shard files are named after the output file with {@code .shard-N} inserted before the
+ * extension: {@code historical_o1.csv} becomes {@code historical_o1.shard-0.csv}, {@code
+ * historical_o1.shard-1.csv} and so on.
+ *
+ * <p>Shards are always {@link FileConnectorProcessor}s, written to synchronously: {@link #publish}
+ * copies the values of a record and encodes them into its shard before it returns. The processor
+ * therefore keeps no record and, having no retaining sink inside it to hide, is not a {@link
+ * RecordRetainingProcessor}.
+ */
+public class ShardedConnectorProcessor implements CheckpointingProcessor {
+
+  private static final Comparator<Field> BY_POSITION =
+      Comparator.comparingInt(field -> field.properties().position());
+
+  private static final String[] NO_VALUES = new String[0];
+
+  /** Indexes of the primary key columns in a record, in key order. */
+  private final int[] keyColumns;
+
+  private final FileConnectorProcessor[] shards;
+
+  /**
+   * Constructs a ShardedConnectorProcessor.
+   *
+   * @param outputFilePath The path the shard file names are derived from.
+   * @param schema The schema of the records, which determines the primary key columns.
+   * @param shardCount The number of shards.
+   * @param options Options of every shard.
+   * @throws ConnectorException If a shard file cannot be opened.
+   */
+  public ShardedConnectorProcessor(
+      String outputFilePath, ObjectSchema schema, int shardCount, FileSinkOptions options)
+      throws ConnectorException {
+    this(outputFilePath, keyColumnsOf(schema), shardCount, options);
+  }
+
+  ShardedConnectorProcessor(
+      String outputFilePath, int[] keyColumns, int shardCount, FileSinkOptions options)
+      throws ConnectorException {
+    this.keyColumns = keyColumns.clone();
+    this.shards = new FileConnectorProcessor[Math.max(1, shardCount)];
+    try {
+      for (int i = 0; i < shards.length; i++) {
+        shards[i] = new FileConnectorProcessor(shardPathOf(outputFilePath, i), options);
+      }
+    } catch (ConnectorException e) {
+      for (FileConnectorProcessor shard : shards) {
+        if (shard != null) {
+          try {
+            shard.close();
+          } catch (ConnectorException closeFailure) {
+            e.addSuppressed(closeFailure);
+          }
+        }
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Indexes of the primary key columns of an object schema in its records, ordered by their
+   * position in the key. Record values are in field position order.
+   */
+  static int[] keyColumnsOf(ObjectSchema schema) {
+    Field[] fields = schema.fields().toArray(new Field[0]);
+    Arrays.sort(fields, BY_POSITION);
+    List<int[]> keyColumns = new ArrayList<>();
+    for (int i = 0; i < fields.length; i++) {
+      Integer pkPos = fields[i].properties().pkPos().orElse(null);
+      if (pkPos != null) {
+        keyColumns.add(new int[] {pkPos, i});
+      }
+    }
+    keyColumns.sort(Comparator.comparingInt(keyColumn -> keyColumn[0]));
+    return keyColumns.stream().mapToInt(keyColumn -> keyColumn[1]).toArray();
+  }
+
+  /**
+   * Path of a shard: the output file name with the shard number inserted before its extension, not
+   * counting a trailing {@code .gz}.
+   */
+  static String shardPathOf(String outputFilePath, int shard) {
+    return OutputFileNames.withSuffix(Paths.get(outputFilePath), ".shard-" + shard).toString();
+  }
+
+  @Override
+  public void publish(HStruct hStruct, ConnectorMeta connectorMeta) throws ConnectorException {
+    if (hStruct == null) {
+      throw new ConnectorException("HStruct is null. Cannot write to file.");
+    }
+    String[] values = hStruct.asArrayOfString().orElse(NO_VALUES);
+    shards[shardOf(values)].write(values);
+  }
+
+  /** Shard a record is routed to. */
+  int shardOf(String[] values) {
+    int hash = 1;
+    if (keyColumns.length == 0) {
+      for (String value : values) {
+        hash = 31 * hash + (value == null ? 0 : value.hashCode());
+      }
+    } else {
+      for (int keyColumn : keyColumns) {
+        String value = keyColumn < values.length ? values[keyColumn] : null;
+        hash = 31 * hash + (value == null ? 0 : value.hashCode());
+      }
+    }
+    // Spread the bits, as the string hashes of sequential keys differ only in their low bits
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    hash ^= hash >>> 16;
+    return Math.floorMod(hash, shards.length);
+  }
+
+  /** Number of shards. */
+  public int shardCount() {
+    return shards.length;
+  }
+
+  /**
+   * Checkpoints every shard.
+   *
+   * @return The number of records that have been flushed across all shards.
+   * @throws ConnectorException If flushing a shard fails.
+   */
+  @Override
+  public long checkpoint() throws ConnectorException {
+    long flushedRecords = 0;
+    for (FileConnectorProcessor shard : shards) {
+      flushedRecords += shard.checkpoint();
+    }
+    return flushedRecords;
+  }
+
+  /**
+   * Closes every shard, even if closing an earlier one fails.
+   *
+   * @throws ConnectorException If closing any shard fails.
+   */
+  @Override
+  public void close() throws ConnectorException {
+    ConnectorException failure = null;
+    for (FileConnectorProcessor shard : shards) {
+      try {
+        shard.close();
+      } catch (ConnectorException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package io.hevo.connector.generic_test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Throughput and latency of one sink, as recorded by {@link InstrumentedConnectorProcessor}.
+ * Recording is lock-free, so publishing threads never wait on each other or on a JMX client reading
+ * the attributes.
+ */
+public class SinkMetrics implements SinkMetricsMBean {
+
+  private final String sink;
+
+  private final LongSupplier bytesWritten;
+
+  private final long baselineBytes;
+
+  private final long startNanos = System.nanoTime();
+
+  /** Time the sink was closed, or {@code 0} while it is open. */
+  private volatile long stopNanos;
+
+  private final LongAdder records = new LongAdder();
+
+  private final LongAdder publishFailures = new LongAdder();
+
+  private final LatencyHistogram publishLatency = new LatencyHistogram();
+
+  private final LatencyHistogram checkpointLatency = new LatencyHistogram();
+
+  /**
+   * @param sink Name of the sink, usually its output file.
+   * @param bytesWritten Reports the bytes the sink has written so far, or {@code null} if unknown.
+   *     Only bytes written after this constructor are counted.
+   */
+  SinkMetrics(String sink, LongSupplier bytesWritten) {
+    this.sink = sink;
+    this.bytesWritten = bytesWritten;
+    this.baselineBytes = bytesWritten != null ? bytesWritten.getAsLong() : 0;
+  }
+
+  void recordPublish(long nanos) {
+    records.increment();
+    publishLatency.record(nanos);
+  }
+
+  void recordPublishFailure() {
+    publishFailures.increment();
+  }
+
+  void recordCheckpoint(long nanos) {
+    checkpointLatency.record(nanos);
+  }
+
+  /** Stops the clock that rates are averaged over. */
+  void stop() {
+    if (stopNanos == 0) {
+      stopNanos = System.nanoTime();
+    }
+  }
+
+  @Override
+  public String getSink() {
+    return sink;
+  }
+
+  @Override
+  public double getElapsedSeconds() {
+    long endNanos = stopNanos != 0 ? stopNanos : System.nanoTime();
+    return (endNanos - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+
+  @Override
+  public long getRecords() {
+    return records.sum();
+  }
+
+  @Override
+  public long getBytes() {
+    return bytesWritten != null ? bytesWritten.getAsLong() - baselineBytes : 0;
+  }
+
+  @Override
+  public double getRecordsPerSecond() {
+    return rate(getRecords());
+  }
+
+  @Override
+  public double getBytesPerSecond() {
+    return rate(getBytes());
+  }
+
+  @Override
+  public long getPublishFailures() {
+    return publishFailures.sum();
+  }
+
+  @Override
+  public double getPublishLatencyP50Micros() {
+    return micros(publishLatency.percentile(0.5));
+  }
+
+  @Override
+  public double getPublishLatencyP99Micros() {
+    return micros(publishLatency.percentile(0.99));
+  }
+
+  @Override
+  public double getPublishLatencyP999Micros() {
+    return micros(publishLatency.percentile(0.999));
+  }
+
+  @Override
+  public double getPublishLatencyMaxMicros() {
+    return micros(publishLatency.max());
+  }
+
+  @Override
+  public long getCheckpoints() {
+    return checkpointLatency.count();
+  }
+
+  @Override
+  public double getCheckpointLatencyP99Micros() {
+    return micros(checkpointLatency.percentile(0.99));
+  }
+
+  @Override
+  public double getCheckpointLatencyMaxMicros() {
+    return micros(checkpointLatency.max());
+  }
+
+  /** Snapshot of every metric, in the shape of the JSON summary written when the sink closes. */
+  public Summary summary() {
+    return new Summary(
+        sink,
+        getElapsedSeconds(),
+        getRecords(),
+        getBytes(),
+        getRecordsPerSecond(),
+        getBytesPerSecond(),
+        getPublishFailures(),
+        Latency.of(publishLatency),
+        Latency.of(checkpointLatency));
+  }
+
+  private double rate(long count) {
+    double elapsedSeconds = getElapsedSeconds();
+    return elapsedSeconds > 0 ? count / elapsedSeconds : 0;
+  }
+
+  private static double micros(long nanos) {
+    return nanos / 1_000.0;
+  }
+
+  /** Snapshot of the metrics of a sink. */
+  public record Summary(
+      String sink,
+      double elapsedSeconds,
+      long records,
+      long bytes,
+      double recordsPerSecond,
+      double bytesPerSecond,
+      long publishFailures,
+      Latency publish,
+      Latency checkpoint) {}
+
+  /** Distribution of the durations of one operation, in microseconds. */
+  public record Latency(
+      long count,
+      double meanMicros,
+      double p50Micros,
+      double p99Micros,
+      double p999Micros,
+      double maxMicros) {
+
+    static Latency of(LatencyHistogram histogram) {
+      return new Latency(
+          histogram.count(),
+          micros(Math.round(histogram.mean())),
+          micros(histogram.percentile(0.5)),
+          micros(histogram.percentile(0.99)),
+          micros(histogram.percentile(0.999)),
+          micros(histogram.max()));
+    }
+  }
+}
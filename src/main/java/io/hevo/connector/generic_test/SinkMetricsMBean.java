@@ -0,0 +1,36 @@
+package io.hevo.connector.generic_test;
+
+/**
+ * Management interface of {@link SinkMetrics}, exposing the throughput and latency of one sink as
+ * JMX attributes. Rates are averaged since the sink was opened; latencies are in microseconds.
+ */
+public interface SinkMetricsMBean {
+
+  String getSink();
+
+  double getElapsedSeconds();
+
+  long getRecords();
+
+  long getBytes();
+
+  double getRecordsPerSecond();
+
+  double getBytesPerSecond();
+
+  long getPublishFailures();
+
+  double getPublishLatencyP50Micros();
+
+  double getPublishLatencyP99Micros();
+
+  double getPublishLatencyP999Micros();
+
+  double getPublishLatencyMaxMicros();
+
+  long getCheckpoints();
+
+  double getCheckpointLatencyP99Micros();
+
+  double getCheckpointLatencyMaxMicros();
+}
@@ -0,0 +1,92 @@
+package io.hevo.connector.generic_test;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Where the time to get a connector ready goes: each startup phase of {@link
+ * GenericConnectorTester}, from locating and loading the connector class to binding its
+ * configuration and initializing its connection, with the number of classes the JVM loaded during
+ * the phase. Phases that only run once per JVM, such as resolving the connector provider, show up
+ * in the profile of the first tester only.
+ */
+public final class StartupProfile {
+
+  /**
+   * A timed phase.
+   *
+   * @param name Name of the phase.
+   * @param millis Wall-clock duration of the phase.
+   * @param loadedClasses Classes the JVM loaded while the phase ran, on any thread.
+   */
+  public record Phase(String name, double millis, long loadedClasses) {}
+
+  /**
+   * A phase to time.
+   *
+   * @param <V> The type of the result of the phase.
+   * @param <E> The type of exception the phase throws.
+   */
+  @FunctionalInterface
+  interface Step<V, E extends Exception> {
+    V run() throws E;
+  }
+
+  private static final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+
+  private final long jvmUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+  private final List<Phase> phases = new ArrayList<>();
+
+  /** Time from the start of the JVM to the creation of this profile. */
+  public long jvmUptimeMillis() {
+    return jvmUptimeMillis;
+  }
+
+  public synchronized List<Phase> phases() {
+    return Collections.unmodifiableList(new ArrayList<>(phases));
+  }
+
+  /** Total duration of the recorded phases. */
+  public synchronized double totalMillis() {
+    return phases.stream().mapToDouble(Phase::millis).sum();
+  }
+
+  /** Runs a phase and records how long it took, whether or not it fails. */
+  <V, E extends Exception> V time(String name, Step<V, E> step) throws E {
+    long loadedClasses = classLoading.getTotalLoadedClassCount();
+    long startNanos = System.nanoTime();
+    try {
+      return step.run();
+    } finally {
+      record(
+          new Phase(
+              name,
+              (System.nanoTime() - startNanos) / 1e6,
+              classLoading.getTotalLoadedClassCount() - loadedClasses));
+    }
+  }
+
+  private synchronized void record(Phase phase) {
+    phases.add(phase);
+  }
+
+  /** The profile as a table, one phase per line. */
+  public String report() {
+    StringBuilder report = new StringBuilder();
+    report.append(String.format("%-22s %10d ms%n", "JVM start to tester", jvmUptimeMillis));
+    for (Phase phase : phases()) {
+      report.append(
+          String.format(
+              "%-22s %10.2f ms %8d classes%n",
+              phase.name(),
+              phase.millis(),
+              phase.loadedClasses()));
+    }
+    report.append(String.format("%-22s %10.2f ms%n", "total", totalMillis()));
+    return report.toString();
+  }
+}
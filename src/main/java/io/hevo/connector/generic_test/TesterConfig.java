@@ -0,0 +1,466 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.spi.RangePartitionedConnector;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Settings of {@link GenericConnectorTester} itself, read from the {@code tester} section of the
+ * configuration file. Connector properties live at the top level of the same file.
+ */
+public class TesterConfig {
+
+  /**
+   * Number of objects fetched concurrently, each running its historical and then its incremental
+   * fetch.
+   */
+  private int objectConcurrency = 1;
+
+  /**
+   * Number of key ranges a historical load of one object is split into and fetched concurrently.
+   * Only applies to connectors implementing {@link RangePartitionedConnector}.
+   */
+  private int historicalPartitions = 1;
+
+  /** When output files are flushed. See {@link FlushMode}. */
+  private FlushMode flushMode = FlushMode.EVERY_RECORD;
+
+  /** Buffered records that trigger a flush in {@link FlushMode#RECORD_COUNT}. */
+  private int flushRecords = 10_000;
+
+  /** Buffered bytes that trigger a flush in {@link FlushMode#BYTE_SIZE}. */
+  private long flushBytes = 1 << 20;
+
+  /** Time since the previous flush that triggers a flush in {@link FlushMode#ELAPSED_TIME}. */
+  private long flushIntervalMillis = 1_000L;
+
+  /** Whether flushes force output files to disk. */
+  private boolean fsync = false;
+
+  /** File format of the output. See {@link OutputFormat}. */
+  private OutputFormat outputFormat = OutputFormat.CSV;
+
+  /** Rows per row group of {@link OutputFormat#COLUMNAR} output. */
+  private int rowGroupRows = 100_000;
+
+  /** How CSV output files are encoded. See {@link OutputMode}. */
+  private OutputMode outputMode = OutputMode.WRITER;
+
+  /** Compression of CSV output files. See {@link Compression}. */
+  private Compression compression = Compression.NONE;
+
+  /** Uncompressed size of each independently compressed block of gzip output. */
+  private int compressionBlockBytes = 1 << 20;
+
+  /** Number of threads compressing gzip output, or {@code 0} for one per processor. */
+  private int compressionThreads = 0;
+
+  /** Deflate level of gzip output, from 1 (fastest) to 9 (smallest). */
+  private int compressionLevel = 6;
+
+  /** Records after which a CSV output segment is completed, or {@code 0} for no limit. */
+  private long segmentRecords = 0;
+
+  /** Uncompressed bytes after which a CSV output segment is completed, or {@code 0}. */
+  private long segmentBytes = 0;
+
+  /**
+   * Number of files CSV output is sharded over by primary key, or {@code 1} for a single file. See
+   * {@link ShardedConnectorProcessor}.
+   */
+  private int shards = 1;
+
+  /**
+   * Whether sinks record throughput and latency metrics, published over JMX and summarized in a
+   * {@code .metrics.json} file next to the output. See {@link InstrumentedConnectorProcessor}.
+   */
+  private boolean metrics = false;
+
+  /**
+   * Whether records are written by a dedicated writer thread instead of the fetching thread. See
+   * {@link AsyncConnectorProcessor}.
+   */
+  private boolean asyncWriter = false;
+
+  /** Number of records queued for the writer thread before backpressure applies. */
+  private int asyncQueueCapacity = 65_536;
+
+  /** What publishing does when the writer queue is full. */
+  private Backpressure asyncBackpressure = Backpressure.BLOCK;
+
+  /** Maximum number of records the writer thread writes per batch. */
+  private int asyncBatchSize = 1_024;
+
+  /**
+   * Whether the time spent getting the connector ready is printed once its connection is
+   * initialized. See {@link StartupProfile}.
+   */
+  private boolean startupReport = false;
+
+  /**
+   * File offsets are committed to per object, or empty to keep them in memory only. Objects with a
+   * committed offset skip their historical fetch and resume incrementally. See {@link OffsetStore}.
+   */
+  private String offsetStoreFile = "";
+
+  /**
+   * Fully qualified names of the objects polling mode polls, or empty for every object. See {@link
+   * GenericConnectorTester#runPolling()}.
+   */
+  private List<String> pollObjects = List.of();
+
+  /** Maximum number of objects polled at the same time. */
+  private int pollThreads = 4;
+
+  /** Shortest interval between two polls of an object, and the interval objects start with. */
+  private long pollMinIntervalMillis = 1_000L;
+
+  /** Longest interval between two polls of an object. */
+  private long pollMaxIntervalMillis = 300_000L;
+
+  /**
+   * Records a poll should fetch. Objects whose polls fetch more are polled more often, and objects
+   * whose polls fetch fewer less often. See {@link PollingScheduler.Policy}.
+   */
+  private long pollTargetRecords = 1_000L;
+
+  /** How long polling mode runs, or {@code 0} to run until the process is stopped. */
+  private long pollDurationSeconds = 0;
+
+  /**
+   * Whether the object schemas are also exported as a binary snapshot, which {@link
+   * SchemaSnapshot#load} reads back without fetching them from the source again. The snapshot is
+   * skipped, with a warning, if some field could not be rebuilt from it.
+   */
+  private boolean schemaSnapshot = false;
+
+  /** Number of threads encoding exported object schemas, or {@code 0} for one per processor. */
+  private int schemaExportThreads = 0;
+
+  /**
+   * Fully qualified names of the objects a benchmark run fetches, or empty for every object. See
+   * {@link GenericConnectorTester#runBenchmark()}.
+   */
+  private List<String> benchmarkObjects = List.of();
+
+  /** Benchmark iterations run before measuring, to warm up the JVM and the source. */
+  private int warmupIterations = 1;
+
+  /** Benchmark iterations that are measured and reported. */
+  private int measuredIterations = 5;
+
+  /** File the benchmark report is written to, or empty for the output directory. */
+  private String benchmarkReportFile = "";
+
+  /**
+   * Options of the output file sinks described by these settings.
+   *
+   * @param compressionExecutor Executor compressing gzip output, shared by every sink, or {@code
+   *     null} for the pool shared by the whole process.
+   */
+  public FileSinkOptions fileSinkOptions(ExecutorService compressionExecutor) {
+    return FileSinkOptions.builder()
+        .flushMode(flushMode)
+        .flushRecords(flushRecords)
+        .flushBytes(flushBytes)
+        .flushIntervalMillis(flushIntervalMillis)
+        .fsync(fsync)
+        .outputMode(outputMode)
+        .compression(compression)
+        .compressionBlockBytes(compressionBlockBytes)
+        .compressionThreads(compressionThreads)
+        .compressionExecutor(compressionExecutor)
+        .compressionLevel(compressionLevel)
+        .segmentRecords(segmentRecords)
+        .segmentBytes(segmentBytes)
+        .build();
+  }
+
+  public int getObjectConcurrency() {
+    return objectConcurrency;
+  }
+
+  public void setObjectConcurrency(int objectConcurrency) {
+    this.objectConcurrency = objectConcurrency;
+  }
+
+  public int getHistoricalPartitions() {
+    return historicalPartitions;
+  }
+
+  public void setHistoricalPartitions(int historicalPartitions) {
+    this.historicalPartitions = historicalPartitions;
+  }
+
+  public FlushMode getFlushMode() {
+    return flushMode;
+  }
+
+  public void setFlushMode(FlushMode flushMode) {
+    this.flushMode = flushMode;
+  }
+
+  public int getFlushRecords() {
+    return flushRecords;
+  }
+
+  public void setFlushRecords(int flushRecords) {
+    this.flushRecords = flushRecords;
+  }
+
+  public long getFlushBytes() {
+    return flushBytes;
+  }
+
+  public void setFlushBytes(long flushBytes) {
+    this.flushBytes = flushBytes;
+  }
+
+  public long getFlushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
+  public void setFlushIntervalMillis(long flushIntervalMillis) {
+    this.flushIntervalMillis = flushIntervalMillis;
+  }
+
+  public boolean isFsync() {
+    return fsync;
+  }
+
+  public void setFsync(boolean fsync) {
+    this.fsync = fsync;
+  }
+
+  public OutputFormat getOutputFormat() {
+    return outputFormat;
+  }
+
+  public void setOutputFormat(OutputFormat outputFormat) {
+    this.outputFormat = outputFormat;
+  }
+
+  public int getRowGroupRows() {
+    return rowGroupRows;
+  }
+
+  public void setRowGroupRows(int rowGroupRows) {
+    this.rowGroupRows = rowGroupRows;
+  }
+
+  public OutputMode getOutputMode() {
+    return outputMode;
+  }
+
+  public void setOutputMode(OutputMode outputMode) {
+    this.outputMode = outputMode;
+  }
+
+  public Compression getCompression() {
+    return compression;
+  }
+
+  public void setCompression(Compression compression) {
+    this.compression = compression;
+  }
+
+  public int getCompressionBlockBytes() {
+    return compressionBlockBytes;
+  }
+
+  public void setCompressionBlockBytes(int compressionBlockBytes) {
+    this.compressionBlockBytes = compressionBlockBytes;
+  }
+
+  public int getCompressionThreads() {
+    return compressionThreads;
+  }
+
+  public void setCompressionThreads(int compressionThreads) {
+    this.compressionThreads = compressionThreads;
+  }
+
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+  public void setCompressionLevel(int compressionLevel) {
+    this.compressionLevel = compressionLevel;
+  }
+
+  public long getSegmentRecords() {
+    return segmentRecords;
+  }
+
+  public void setSegmentRecords(long segmentRecords) {
+    this.segmentRecords = segmentRecords;
+  }
+
+  public long getSegmentBytes() {
+    return segmentBytes;
+  }
+
+  public void setSegmentBytes(long segmentBytes) {
+    this.segmentBytes = segmentBytes;
+  }
+
+  public int getShards() {
+    return shards;
+  }
+
+  public void setShards(int shards) {
+    this.shards = shards;
+  }
+
+  public boolean isMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(boolean metrics) {
+    this.metrics = metrics;
+  }
+
+  public boolean isAsyncWriter() {
+    return asyncWriter;
+  }
+
+  public void setAsyncWriter(boolean asyncWriter) {
+    this.asyncWriter = asyncWriter;
+  }
+
+  public int getAsyncQueueCapacity() {
+    return asyncQueueCapacity;
+  }
+
+  public void setAsyncQueueCapacity(int asyncQueueCapacity) {
+    this.asyncQueueCapacity = asyncQueueCapacity;
+  }
+
+  public Backpressure getAsyncBackpressure() {
+    return asyncBackpressure;
+  }
+
+  public void setAsyncBackpressure(Backpressure asyncBackpressure) {
+    this.asyncBackpressure = asyncBackpressure;
+  }
+
+  public int getAsyncBatchSize() {
+    return asyncBatchSize;
+  }
+
+  public void setAsyncBatchSize(int asyncBatchSize) {
+    this.asyncBatchSize = asyncBatchSize;
+  }
+
+  public boolean isStartupReport() {
+    return startupReport;
+  }
+
+  public void setStartupReport(boolean startupReport) {
+    this.startupReport = startupReport;
+  }
+
+  public String getOffsetStoreFile() {
+    return offsetStoreFile;
+  }
+
+  public void setOffsetStoreFile(String offsetStoreFile) {
+    this.offsetStoreFile = offsetStoreFile;
+  }
+
+  public List<String> getPollObjects() {
+    return pollObjects;
+  }
+
+  public void setPollObjects(List<String> pollObjects) {
+    this.pollObjects = pollObjects;
+  }
+
+  public int getPollThreads() {
+    return pollThreads;
+  }
+
+  public void setPollThreads(int pollThreads) {
+    this.pollThreads = pollThreads;
+  }
+
+  public long getPollMinIntervalMillis() {
+    return pollMinIntervalMillis;
+  }
+
+  public void setPollMinIntervalMillis(long pollMinIntervalMillis) {
+    this.pollMinIntervalMillis = pollMinIntervalMillis;
+  }
+
+  public long getPollMaxIntervalMillis() {
+    return pollMaxIntervalMillis;
+  }
+
+  public void setPollMaxIntervalMillis(long pollMaxIntervalMillis) {
+    this.pollMaxIntervalMillis = pollMaxIntervalMillis;
+  }
+
+  public long getPollTargetRecords() {
+    return pollTargetRecords;
+  }
+
+  public void setPollTargetRecords(long pollTargetRecords) {
+    this.pollTargetRecords = pollTargetRecords;
+  }
+
+  public long getPollDurationSeconds() {
+    return pollDurationSeconds;
+  }
+
+  public void setPollDurationSeconds(long pollDurationSeconds) {
+    this.pollDurationSeconds = pollDurationSeconds;
+  }
+
+  public boolean isSchemaSnapshot() {
+    return schemaSnapshot;
+  }
+
+  public void setSchemaSnapshot(boolean schemaSnapshot) {
+    this.schemaSnapshot = schemaSnapshot;
+  }
+
+  public int getSchemaExportThreads() {
+    return schemaExportThreads;
+  }
+
+  public void setSchemaExportThreads(int schemaExportThreads) {
+    this.schemaExportThreads = schemaExportThreads;
+  }
+
+  public List<String> getBenchmarkObjects() {
+    return benchmarkObjects;
+  }
+
+  public void setBenchmarkObjects(List<String> benchmarkObjects) {
+    this.benchmarkObjects = benchmarkObjects;
+  }
+
+  public int getWarmupIterations() {
+    return warmupIterations;
+  }
+
+  public void setWarmupIterations(int warmupIterations) {
+    this.warmupIterations = warmupIterations;
+  }
+
+  public int getMeasuredIterations() {
+    return measuredIterations;
+  }
+
+  public void setMeasuredIterations(int measuredIterations) {
+    this.measuredIterations = measuredIterations;
+  }
+
+  public String getBenchmarkReportFile() {
+    return benchmarkReportFile;
+  }
+
+  public void setBenchmarkReportFile(String benchmarkReportFile) {
+    this.benchmarkReportFile = benchmarkReportFile;
+  }
+}
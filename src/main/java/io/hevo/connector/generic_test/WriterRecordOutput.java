@@ -0,0 +1,42 @@
+package io.hevo.connector.generic_test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link OutputMode#WRITER} output: one string per record, built by {@link
+ * CsvRecordEncoder#appendTo}, through a buffered writer.
+ */
+final class WriterRecordOutput implements RecordOutput {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final BufferedWriter writer;
+
+  WriterRecordOutput(GatheringByteChannel channel) {
+    this.writer =
+        new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+  }
+
+  @Override
+  public long write(String[] values) throws IOException {
+    StringBuilder record = new StringBuilder();
+    CsvRecordEncoder.appendTo(record, values);
+    writer.append(record);
+    // Counts characters, which matches bytes for the ASCII output of most records
+    return record.length();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.flush();
+  }
+}
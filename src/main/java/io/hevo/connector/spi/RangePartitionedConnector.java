@@ -0,0 +1,32 @@
+package io.hevo.connector.spi;
+
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.offset.Offset;
+import java.util.List;
+
+/**
+ * Optional capability of a connector whose historical load can be split into independent primary
+ * key ranges. The tester fetches the ranges concurrently, each into its own sink, and merges the
+ * per-range offsets into the offset of the object.
+ */
+public interface RangePartitionedConnector {
+
+  /**
+   * Splits the primary key space of an object into ranges.
+   *
+   * @param objectSchema The object to split.
+   * @param partitions The desired number of ranges. Fewer may be returned for small objects.
+   * @return The starting offset of each range, to be passed to {@code fetchDataFromSource}.
+   */
+  List<Offset> partitionOffsets(ObjectSchema objectSchema, int partitions);
+
+  /**
+   * Merges the offsets returned by the fetches of every range into a single offset that an
+   * incremental fetch of the whole object can resume from without skipping rows.
+   *
+   * @param objectSchema The partitioned object.
+   * @param lastReadOffsets The last read offset of each range, in any order.
+   * @return The offset of the object.
+   */
+  Offset mergePartitionOffsets(ObjectSchema objectSchema, List<Offset> lastReadOffsets);
+}
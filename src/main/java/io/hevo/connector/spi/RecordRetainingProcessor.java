@@ -0,0 +1,10 @@
+package io.hevo.connector.spi;
+
+import io.hevo.connector.processor.ConnectorProcessor;
+
+/**
+ * Marks a {@link ConnectorProcessor} that keeps references to published records after {@code
+ * publish} returns. Connectors must not recycle the containers of records they publish to such a
+ * processor.
+ */
+public interface RecordRetainingProcessor {}
@@ -0,0 +1,24 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.enums.OpType;
+import java.util.EnumMap;
+import java.util.Map;
+
+/** One shared {@link ConnectorMeta} per {@link OpType}, so publishing a row never builds one. */
+final class ConnectorMetas {
+
+  private static final Map<OpType, ConnectorMeta> BY_OP_TYPE = new EnumMap<>(OpType.class);
+
+  static {
+    for (OpType opType : OpType.values()) {
+      BY_OP_TYPE.put(opType, ConnectorMeta.builder().opType(opType).build());
+    }
+  }
+
+  private ConnectorMetas() {}
+
+  static ConnectorMeta of(OpType opType) {
+    return BY_OP_TYPE.get(opType);
+  }
+}
@@ -0,0 +1,54 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.offset.Offset;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * High-water mark of an incremental fetch: the cursor column value of the last row read, with the
+ * primary key as a tiebreaker for rows that share a cursor value.
+ *
+ * @param cursor Value of the cursor column ({@code ckOrdinal}) of the last row read.
+ * @param primaryKey Value of the primary key column ({@code pkPos}) of the last row read.
+ */
+record CursorOffset(LocalDateTime cursor, long primaryKey) implements Comparable<CursorOffset> {
+
+  private static final Comparator<CursorOffset> ORDER =
+      Comparator.comparing(CursorOffset::cursor).thenComparingLong(CursorOffset::primaryKey);
+
+  static final String CURSOR_KEY = "cursor";
+  static final String PRIMARY_KEY_KEY = "primary_key";
+
+  /**
+   * Reads the high-water mark recorded in an offset.
+   *
+   * @return The recorded position, or {@code null} if the offset does not carry one, in which case
+   *     the fetch starts from the beginning of the object.
+   */
+  static CursorOffset from(Offset offset) {
+    if (offset == null) {
+      return null;
+    }
+    Object cursor = offset.get(CURSOR_KEY);
+    Object primaryKey = offset.get(PRIMARY_KEY_KEY);
+    if (cursor == null || primaryKey == null) {
+      return null;
+    }
+    return new CursorOffset(
+        LocalDateTime.parse(cursor.toString()), Long.parseLong(primaryKey.toString()));
+  }
+
+  Offset toOffset() {
+    return writeTo(Offset.builder()).build();
+  }
+
+  Offset.Builder writeTo(Offset.Builder builder) {
+    return builder.put(CURSOR_KEY, cursor.toString()).put(PRIMARY_KEY_KEY, primaryKey);
+  }
+
+  /** Orders positions the way rows are read: by cursor, then by primary key. */
+  @Override
+  public int compareTo(CursorOffset other) {
+    return ORDER.compare(this, other);
+  }
+}
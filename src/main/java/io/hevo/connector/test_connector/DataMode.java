@@ -0,0 +1,13 @@
+package io.hevo.connector.test_connector;
+
+/** Controls what {@link TestConnector#fetchDataFromSource} emits for an object. */
+public enum DataMode {
+  /** Publishes a single row per fetch. Useful as a smoke test of the connector wiring. */
+  SINGLE_ROW,
+
+  /**
+   * Streams a deterministic, seeded data set whose size and pace are driven by the connector's
+   * generator properties. Meant for load testing sinks and the pipeline.
+   */
+  SYNTHETIC
+}
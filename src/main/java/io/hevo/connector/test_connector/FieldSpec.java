@@ -0,0 +1,87 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.model.field.schema.base.Field;
+import io.hevo.connector.model.field.schema.enumeration.FieldState;
+import io.hevo.connector.model.field.schema.hudt.HDataType;
+import io.hevo.connector.model.field.schema.hudt.HDateTimeField;
+import io.hevo.connector.model.field.schema.hudt.HIntegerField;
+import java.util.List;
+
+/**
+ * Source description of a column: everything needed to build its {@link Field}, in a form that is
+ * cheap to compare, fingerprint and persist.
+ *
+ * @param name Source name of the column.
+ * @param sourceDataType Source data type of the column.
+ * @param type Logical type of the column.
+ * @param position Position of the column.
+ * @param pkPos Position within the primary key, or {@code null} for non-key columns.
+ * @param ckOrdinal Ordinal within the cursor key, or {@code null} for non-cursor columns.
+ * @param nullable Whether the column accepts nulls.
+ */
+record FieldSpec(
+    String name,
+    String sourceDataType,
+    HDataType type,
+    int position,
+    Integer pkPos,
+    Integer ckOrdinal,
+    boolean nullable) {
+
+  private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+  private static final long FNV_PRIME = 0x100000001B3L;
+
+  /** Builds the field described by this spec. */
+  Field toField() {
+    if (type == HDataType.INTEGER) {
+      HIntegerField.Builder builder =
+          new HIntegerField.Builder(name, sourceDataType, position, FieldState.ACTIVE)
+              .isNullable(nullable);
+      if (pkPos != null) {
+        builder.pkPos(pkPos);
+      }
+      if (ckOrdinal != null) {
+        builder.ckOrdinal(ckOrdinal);
+      }
+      return builder.build();
+    } else if (type == HDataType.DATE_TIME) {
+      HDateTimeField.Builder builder =
+          new HDateTimeField.Builder(name, sourceDataType, position, FieldState.ACTIVE, 9)
+              .isNullable(nullable);
+      if (pkPos != null) {
+        builder.pkPos(pkPos);
+      }
+      if (ckOrdinal != null) {
+        builder.ckOrdinal(ckOrdinal);
+      }
+      return builder.build();
+    }
+    throw new IllegalArgumentException("Unsupported type " + type + " of column " + name);
+  }
+
+  /**
+   * 64-bit FNV-1a fingerprint of a column list, covering name, logical type, position, key roles
+   * and nullability of every column. Equal column lists always have equal fingerprints, across runs
+   * and JVMs.
+   */
+  static long fingerprint(List<FieldSpec> columns) {
+    long hash = FNV_OFFSET_BASIS;
+    for (FieldSpec column : columns) {
+      hash = fnv(hash, column.name());
+      hash = fnv(hash, column.type().name());
+      hash = fnv(hash, Integer.toString(column.position()));
+      hash = fnv(hash, String.valueOf(column.pkPos()));
+      hash = fnv(hash, String.valueOf(column.ckOrdinal()));
+      hash = fnv(hash, Boolean.toString(column.nullable()));
+    }
+    return hash;
+  }
+
+  private static long fnv(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+    }
+    // Separator, so that adjacent values cannot run into each other
+    return (hash ^ 0xFF) * FNV_PRIME;
+  }
+}
@@ -0,0 +1,15 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.model.field.data.datum.hudt.HDatum;
+
+/** Produces the value of one column of a row. Writers are resolved once per schema. */
+@FunctionalInterface
+interface FieldWriter {
+
+  /**
+   * @param generator Source of synthetic values.
+   * @param ordinal Ordinal of the row being written.
+   * @return The value of the column for that row.
+   */
+  HDatum write(SyntheticDataGenerator generator, long ordinal);
+}
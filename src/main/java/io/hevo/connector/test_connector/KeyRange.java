@@ -0,0 +1,37 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.offset.Offset;
+
+/**
+ * Inclusive range of primary key values read by one partition of a partitioned historical fetch.
+ * The range travels in the partition's offset, alongside the partition's high-water mark.
+ *
+ * @param firstKey Lowest primary key in the range.
+ * @param lastKey Highest primary key in the range.
+ */
+record KeyRange(long firstKey, long lastKey) {
+
+  static final String FIRST_KEY_KEY = "partition_first_key";
+  static final String LAST_KEY_KEY = "partition_last_key";
+
+  /**
+   * Reads the key range recorded in an offset.
+   *
+   * @return The recorded range, or {@code null} if the offset belongs to an unpartitioned fetch.
+   */
+  static KeyRange from(Offset offset) {
+    if (offset == null) {
+      return null;
+    }
+    Object firstKey = offset.get(FIRST_KEY_KEY);
+    Object lastKey = offset.get(LAST_KEY_KEY);
+    if (firstKey == null || lastKey == null) {
+      return null;
+    }
+    return new KeyRange(Long.parseLong(firstKey.toString()), Long.parseLong(lastKey.toString()));
+  }
+
+  Offset.Builder writeTo(Offset.Builder builder) {
+    return builder.put(FIRST_KEY_KEY, firstKey).put(LAST_KEY_KEY, lastKey);
+  }
+}
@@ -0,0 +1,50 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces row emission to a target rate and enforces an optional run duration. Rows are scheduled
+ * against the start time rather than the previous row, so short stalls are caught up instead of
+ * accumulating as drift.
+ */
+final class RatePacer {
+
+  private final double nanosPerRow;
+  private final long startNanos;
+  private final long deadlineNanos;
+
+  /**
+   * @param rowsPerSecond Target rate, or {@code 0} for no limit.
+   * @param durationSeconds Maximum run time, or {@code 0} for no limit.
+   */
+  RatePacer(double rowsPerSecond, long durationSeconds) {
+    this.nanosPerRow = rowsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / rowsPerSecond : 0;
+    this.startNanos = System.nanoTime();
+    this.deadlineNanos =
+        durationSeconds > 0 ? startNanos + TimeUnit.SECONDS.toNanos(durationSeconds) : 0;
+  }
+
+  /**
+   * Waits until the given row is due.
+   *
+   * @param emitted Number of rows emitted so far.
+   * @return {@code false} if the run duration has elapsed and no more rows should be emitted.
+   * @throws ConnectorException If the fetching thread is interrupted while waiting.
+   */
+  boolean awaitNextRow(long emitted) throws ConnectorException {
+    if (nanosPerRow > 0) {
+      long dueNanos = startNanos + (long) (emitted * nanosPerRow);
+      long waitNanos;
+      while ((waitNanos = dueNanos - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(waitNanos);
+        if (Thread.interrupted()) {
+          Thread.currentThread().interrupt();
+          throw new ConnectorException("Interrupted while pacing synthetic rows.");
+        }
+      }
+    }
+    return deadlineNanos == 0 || System.nanoTime() - deadlineNanos < 0;
+  }
+}
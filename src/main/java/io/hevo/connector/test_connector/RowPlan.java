@@ -0,0 +1,158 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.field.data.datum.hudt.HDateTime;
+import io.hevo.connector.model.field.data.datum.hudt.HDatum;
+import io.hevo.connector.model.field.data.datum.hudt.HInteger;
+import io.hevo.connector.model.field.schema.base.Field;
+import io.hevo.connector.model.field.schema.hudt.HDataType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An object schema compiled into an ordered array of {@link FieldWriter}s. Type resolution and key
+ * detection happen once, when the plan is compiled, so producing a row only runs the writers.
+ *
+ * <p>Columns are ordered by position, giving downstream consumers a stable column order regardless
+ * of the iteration order of {@link ObjectSchema#fields()}. Columns of types the connector does not
+ * generate are left out of the plan.
+ *
+ * <p>A {@link #recycling} plan additionally serves non-key columns from precomputed, immutable
+ * datums and writes rows into a caller-owned list through {@link #fill}. The only values it
+ * allocates per row are those of the key and cursor columns: they differ in every row, and datums
+ * are immutable and may be kept by a processor after the row is overwritten, so they cannot be
+ * recycled. Compiling a recycling plan allocates every datum of every non-key column, so callers
+ * should compile it once per schema rather than once per fetch.
+ */
+final class RowPlan {
+
+  private static final Comparator<Field> BY_POSITION =
+      Comparator.comparingInt(field -> field.properties().position());
+
+  private final List<Field> fields;
+  private final FieldWriter[] writers;
+
+  private RowPlan(List<Field> fields, FieldWriter[] writers) {
+    this.fields = fields;
+    this.writers = writers;
+  }
+
+  /** Compiles a plan producing seeded synthetic values. */
+  static RowPlan synthetic(ObjectSchema schema) {
+    return compile(schema, RowPlan::syntheticWriter);
+  }
+
+  /** Compiles a plan producing the fixed smoke-test row. */
+  static RowPlan singleRow(ObjectSchema schema) {
+    return compile(schema, RowPlan::singleRowWriter);
+  }
+
+  /**
+   * Binds this plan to a generator, replacing the writers of non-key columns with lookups into the
+   * {@link SyntheticDataGenerator#DISTINCT_VALUES} datums each column can take.
+   */
+  RowPlan recycling(SyntheticDataGenerator generator) {
+    return compile(fields, field -> recyclingWriter(field, generator));
+  }
+
+  private static RowPlan compile(ObjectSchema schema, Function<Field, FieldWriter> writerFor) {
+    Field[] sorted = schema.fields().toArray(new Field[0]);
+    Arrays.sort(sorted, BY_POSITION);
+    return compile(Arrays.asList(sorted), writerFor);
+  }
+
+  private static RowPlan compile(List<Field> sorted, Function<Field, FieldWriter> writerFor) {
+    List<Field> fields = new ArrayList<>(sorted.size());
+    List<FieldWriter> writers = new ArrayList<>(sorted.size());
+    for (Field field : sorted) {
+      FieldWriter writer = writerFor.apply(field);
+      if (writer != null) {
+        fields.add(field);
+        writers.add(writer);
+      }
+    }
+    return new RowPlan(List.copyOf(fields), writers.toArray(new FieldWriter[0]));
+  }
+
+  private static FieldWriter syntheticWriter(Field field) {
+    HDataType hDataType = HDataType.fromLogicalType(field.logicalType());
+    int position = field.properties().position();
+    if (hDataType.equals(HDataType.INTEGER)) {
+      if (field.properties().pkPos().isPresent()) {
+        return (generator, ordinal) -> new HInteger(generator.primaryKey(ordinal));
+      }
+      return (generator, ordinal) -> new HInteger(generator.randomInteger(ordinal, position));
+    } else if (hDataType.equals(HDataType.DATE_TIME)) {
+      if (field.properties().ckOrdinal().isPresent()) {
+        return (generator, ordinal) -> new HDateTime(generator.cursor(ordinal));
+      }
+      return (generator, ordinal) -> new HDateTime(generator.randomDateTime(ordinal, position));
+    }
+    return null;
+  }
+
+  private static FieldWriter recyclingWriter(Field field, SyntheticDataGenerator generator) {
+    HDataType hDataType = HDataType.fromLogicalType(field.logicalType());
+    int position = field.properties().position();
+    if (hDataType.equals(HDataType.INTEGER) && field.properties().pkPos().isEmpty()) {
+      HDatum[] values = new HDatum[SyntheticDataGenerator.DISTINCT_VALUES];
+      for (int slot = 0; slot < values.length; slot++) {
+        values[slot] = new HInteger(generator.integerValue(slot, position));
+      }
+      return (g, ordinal) -> values[g.slot(ordinal, position)];
+    } else if (hDataType.equals(HDataType.DATE_TIME) && field.properties().ckOrdinal().isEmpty()) {
+      HDatum[] values = new HDatum[SyntheticDataGenerator.DISTINCT_VALUES];
+      for (int slot = 0; slot < values.length; slot++) {
+        values[slot] = new HDateTime(generator.dateTimeValue(slot, position));
+      }
+      return (g, ordinal) -> values[g.slot(ordinal, position)];
+    }
+    return syntheticWriter(field);
+  }
+
+  private static FieldWriter singleRowWriter(Field field) {
+    HDataType hDataType = HDataType.fromLogicalType(field.logicalType());
+    if (hDataType.equals(HDataType.INTEGER)) {
+      return (generator, ordinal) -> new HInteger(1);
+    } else if (hDataType.equals(HDataType.DATE_TIME)) {
+      return (generator, ordinal) -> new HDateTime(LocalDateTime.now());
+    }
+    return null;
+  }
+
+  /** Columns of the plan, in the order their values appear in a row. */
+  List<Field> fields() {
+    return fields;
+  }
+
+  /** Allocates a row list that {@link #fill} can overwrite for every row. */
+  List<HDatum> newRow() {
+    return new ArrayList<>(Collections.nCopies(writers.length, null));
+  }
+
+  /**
+   * Overwrites a list obtained from {@link #newRow} with the row with the given ordinal.
+   *
+   * @return The same list.
+   */
+  List<HDatum> fill(SyntheticDataGenerator generator, long ordinal, List<HDatum> row) {
+    for (int i = 0; i < writers.length; i++) {
+      row.set(i, writers[i].write(generator, ordinal));
+    }
+    return row;
+  }
+
+  /** Produces the row with the given ordinal in a new list. */
+  List<HDatum> row(SyntheticDataGenerator generator, long ordinal) {
+    List<HDatum> row = new ArrayList<>(writers.length);
+    for (FieldWriter writer : writers) {
+      row.add(writer.write(generator, ordinal));
+    }
+    return row;
+  }
+}
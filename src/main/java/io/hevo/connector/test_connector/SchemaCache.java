@@ -0,0 +1,192 @@
+package io.hevo.connector.test_connector;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hevo.connector.model.ObjectDetails;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.field.schema.base.Field;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of object schemas keyed by fully qualified name and by a {@link FieldSpec#fingerprint} of
+ * their columns.
+ *
+ * <p>An object whose fingerprint is unchanged is served as the cached {@link ObjectSchema}. For an
+ * object whose fingerprint changed, the cache only builds fields for added and changed columns,
+ * reusing the {@link Field} instances of every other column, and records the {@link SchemaDiff} of
+ * the refresh, available from {@link #lastDiff}.
+ *
+ * <p>Schemas and fields are only cached in memory. The file a cache may be backed by keeps the
+ * fingerprint and columns of every object, not its schema, so that the first refresh of a new run
+ * still reports what changed since the previous run; the fields of every object are built again on
+ * that refresh. The file is replaced atomically by {@link #persist()}.
+ */
+final class SchemaCache {
+
+  private static final Logger log = LoggerFactory.getLogger(SchemaCache.class);
+
+  private final Path file;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+
+  /**
+   * @param file File the cache is loaded from and persisted to, or {@code null} to keep the cache
+   *     in memory only.
+   */
+  SchemaCache(Path file) {
+    this.file = file;
+    if (file != null && Files.exists(file)) {
+      load();
+    }
+  }
+
+  /**
+   * Returns the schema of an object with the given columns, from the cache where possible.
+   *
+   * @param objectDetails The object.
+   * @param columns The current columns of the object, as described by the source.
+   */
+  ObjectSchema resolve(ObjectDetails objectDetails, List<FieldSpec> columns) {
+    String fullyQualifiedName = objectDetails.getTableFullyQualifiedName();
+    long fingerprint = FieldSpec.fingerprint(columns);
+    return entries
+        .compute(
+            fullyQualifiedName,
+            (name, cached) -> refresh(name, cached, objectDetails, fingerprint, columns))
+        .schema();
+  }
+
+  /**
+   * Column-level difference the last refresh of an object found with the version before it.
+   *
+   * @return The difference, empty if the columns were unchanged, or {@code null} if the object has
+   *     not been resolved or had no earlier version, in memory or in the file.
+   */
+  SchemaDiff lastDiff(String fullyQualifiedName) {
+    Entry entry = entries.get(fullyQualifiedName);
+    return entry == null ? null : entry.diff();
+  }
+
+  private Entry refresh(
+      String name,
+      Entry cached,
+      ObjectDetails objectDetails,
+      long fingerprint,
+      List<FieldSpec> columns) {
+    SchemaDiff diff = null;
+    if (cached != null && cached.fingerprint() == fingerprint) {
+      diff = SchemaDiff.NONE;
+    } else if (cached != null) {
+      diff = SchemaDiff.between(cached.columns(), columns);
+      log.info(
+          "Schema of {} changed: {} added, {} dropped, {} changed columns",
+          name,
+          diff.added().size(),
+          diff.dropped().size(),
+          diff.changed().size());
+    }
+    if (diff == SchemaDiff.NONE && cached.schema() != null) {
+      ObjectSchema schema =
+          cached.schema().objectDetail().equals(objectDetails)
+              ? cached.schema()
+              : new ObjectSchema(objectDetails, cached.schema().fields());
+      return new Entry(fingerprint, cached.columns(), cached.fields(), schema, diff);
+    }
+    if (diff != SchemaDiff.NONE) {
+      dirty.set(true);
+    }
+    return build(objectDetails, fingerprint, columns, cached, diff);
+  }
+
+  /** Writes the cache to its file, if it has one and anything changed since it was loaded. */
+  void persist() {
+    if (file == null || !dirty.getAndSet(false)) {
+      return;
+    }
+    Map<String, PersistedEntry> snapshot = new HashMap<>(entries.size() * 4 / 3 + 1);
+    entries.forEach(
+        (name, entry) ->
+            snapshot.put(name, new PersistedEntry(entry.fingerprint(), entry.columns())));
+    try {
+      Path directory = file.toAbsolutePath().getParent();
+      if (directory != null) {
+        Files.createDirectories(directory);
+      }
+      Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+      objectMapper.writeValue(temporary.toFile(), snapshot);
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      dirty.set(true);
+      log.warn("Failed to persist schema cache to {}", file, e);
+    }
+  }
+
+  private void load() {
+    try {
+      Map<String, PersistedEntry> persisted =
+          objectMapper.readValue(
+              file.toFile(), new TypeReference<Map<String, PersistedEntry>>() {});
+      persisted.forEach(
+          (name, entry) ->
+              entries.put(name, new Entry(entry.fingerprint(), entry.columns(), null, null, null)));
+      log.info("Loaded {} cached schemas from {}", entries.size(), file);
+    } catch (IOException e) {
+      log.warn("Ignoring unreadable schema cache {}", file, e);
+    }
+  }
+
+  /**
+   * Builds the schema of an object, taking the field of every column that is unchanged since the
+   * previous version from that version.
+   */
+  private static Entry build(
+      ObjectDetails objectDetails,
+      long fingerprint,
+      List<FieldSpec> columns,
+      Entry previous,
+      SchemaDiff diff) {
+    Map<FieldSpec, Field> previousFields =
+        previous != null && previous.fields() != null ? previous.fields() : Map.of();
+    Map<FieldSpec, Field> fields = new HashMap<>(columns.size() * 4 / 3 + 1);
+    Set<Field> fieldSet = new HashSet<>(columns.size() * 4 / 3 + 1);
+    for (FieldSpec column : columns) {
+      Field field = previousFields.get(column);
+      if (field == null) {
+        field = column.toField();
+      }
+      fields.put(column, field);
+      fieldSet.add(field);
+    }
+    return new Entry(
+        fingerprint, List.copyOf(columns), fields, new ObjectSchema(objectDetails, fieldSet), diff);
+  }
+
+  /**
+   * @param fields Field of every column, or {@code null} if the entry was loaded from disk.
+   * @param schema The cached schema, or {@code null} if the entry was loaded from disk.
+   * @param diff Difference found by the refresh that made the entry, or {@code null} if there was
+   *     no earlier version or the entry was loaded from disk.
+   */
+  private record Entry(
+      long fingerprint,
+      List<FieldSpec> columns,
+      Map<FieldSpec, Field> fields,
+      ObjectSchema schema,
+      SchemaDiff diff) {}
+
+  private record PersistedEntry(long fingerprint, List<FieldSpec> columns) {}
+}
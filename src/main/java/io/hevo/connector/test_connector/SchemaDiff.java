@@ -0,0 +1,42 @@
+package io.hevo.connector.test_connector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-level difference between two versions of an object's schema, matched by column name.
+ *
+ * @param added Columns only present in the new version.
+ * @param dropped Columns only present in the old version.
+ * @param changed New version of columns present in both versions whose description differs, for
+ *     example because they were retyped or moved.
+ */
+record SchemaDiff(List<FieldSpec> added, List<FieldSpec> dropped, List<FieldSpec> changed) {
+
+  /** No difference. */
+  static final SchemaDiff NONE = new SchemaDiff(List.of(), List.of(), List.of());
+
+  static SchemaDiff between(List<FieldSpec> before, List<FieldSpec> after) {
+    Map<String, FieldSpec> remaining = new HashMap<>(before.size() * 4 / 3 + 1);
+    for (FieldSpec column : before) {
+      remaining.put(column.name(), column);
+    }
+    List<FieldSpec> added = new ArrayList<>();
+    List<FieldSpec> changed = new ArrayList<>();
+    for (FieldSpec column : after) {
+      FieldSpec previous = remaining.remove(column.name());
+      if (previous == null) {
+        added.add(column);
+      } else if (!previous.equals(column)) {
+        changed.add(column);
+      }
+    }
+    return new SchemaDiff(added, new ArrayList<>(remaining.values()), changed);
+  }
+
+  boolean isEmpty() {
+    return added.isEmpty() && dropped.isEmpty() && changed.isEmpty();
+  }
+}
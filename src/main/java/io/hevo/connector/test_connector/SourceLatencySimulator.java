@@ -0,0 +1,100 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.exceptions.ConnectorRuntimeException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes calls to the synthetic source behave like calls to a remote API. Every request pays a
+ * round-trip latency with uniform jitter and an occasional spike, and requests are admitted by a
+ * token bucket shared by all threads of the connector. Page deliveries can additionally be made
+ * bursty: after every {@code burstPages} pages, the source pauses for {@code burstPauseMillis}.
+ */
+final class SourceLatencySimulator {
+
+  private final long latencyNanos;
+  private final long jitterNanos;
+  private final double spikeProbability;
+  private final long spikeNanos;
+  private final double requestsPerNano;
+  private final double burstCapacity;
+  private final int burstPages;
+  private final long burstPauseNanos;
+
+  private double tokens;
+  private long lastRefillNanos;
+
+  SourceLatencySimulator(
+      long latencyMillis,
+      long jitterMillis,
+      double spikeProbability,
+      long spikeMillis,
+      double requestsPerSecond,
+      int burstRequests,
+      int burstPages,
+      long burstPauseMillis) {
+    this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+    this.jitterNanos = TimeUnit.MILLISECONDS.toNanos(jitterMillis);
+    this.spikeProbability = spikeProbability;
+    this.spikeNanos = TimeUnit.MILLISECONDS.toNanos(spikeMillis);
+    this.requestsPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.burstCapacity = Math.max(1, burstRequests);
+    this.burstPages = burstPages;
+    this.burstPauseNanos = TimeUnit.MILLISECONDS.toNanos(burstPauseMillis);
+    this.tokens = burstCapacity;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /** Blocks for the duration of one request to the source, including any rate limiting. */
+  void request() {
+    long waitNanos = reserveToken() + latencyNanos;
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (jitterNanos > 0) {
+      waitNanos += random.nextLong(jitterNanos + 1);
+    }
+    if (spikeProbability > 0 && random.nextDouble() < spikeProbability) {
+      waitNanos += spikeNanos;
+    }
+    sleep(waitNanos);
+  }
+
+  /**
+   * Blocks for the delivery of a page of a fetch.
+   *
+   * @param page Zero-based index of the page within the fetch.
+   */
+  void requestPage(int page) {
+    if (burstPages > 0 && page > 0 && page % burstPages == 0) {
+      sleep(burstPauseNanos);
+    }
+    request();
+  }
+
+  /**
+   * Takes a token from the bucket, going into debt if none is left.
+   *
+   * @return How long the caller has to wait before its request is admitted.
+   */
+  private synchronized long reserveToken() {
+    if (requestsPerNano <= 0) {
+      return 0;
+    }
+    long now = System.nanoTime();
+    tokens = Math.min(burstCapacity, tokens + (now - lastRefillNanos) * requestsPerNano);
+    lastRefillNanos = now;
+    tokens -= 1;
+    return tokens >= 0 ? 0 : (long) (-tokens / requestsPerNano);
+  }
+
+  private static void sleep(long nanos) {
+    if (nanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectorRuntimeException("Interrupted while waiting for the source.");
+    }
+  }
+}
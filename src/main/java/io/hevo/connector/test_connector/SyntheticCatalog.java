@@ -0,0 +1,96 @@
+package io.hevo.connector.test_connector;
+
+import io.hevo.connector.model.ObjectDetails;
+import io.hevo.connector.model.enums.SourceObjectStatus;
+import io.hevo.connector.model.field.schema.hudt.HDataType;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A generated catalog of {@code objectCount} tables, grouped into schemas of {@code
+ * objectsPerSchema} tables, each with {@code columnCount} columns. Nothing is materialized up
+ * front: object details are built when the list is read and schemas only for the objects asked for.
+ *
+ * <p>Every table has an {@code id} primary key and an {@code updated_ts} cursor in positions 1 and
+ * 2, followed by nullable integer and timestamp columns in alternating positions. Columns are
+ * described as {@link FieldSpec}s; building the fields is left to the {@link SchemaCache}.
+ */
+final class SyntheticCatalog {
+
+  static final String CATALOG_NAME = "synthetic";
+
+  private final int objectCount;
+  private final int columnCount;
+  private final int objectsPerSchema;
+  private final int schemaVersion;
+
+  SyntheticCatalog(int objectCount, int columnCount, int objectsPerSchema, int schemaVersion) {
+    this.objectCount = objectCount;
+    this.columnCount = Math.max(2, columnCount);
+    this.objectsPerSchema = Math.max(1, objectsPerSchema);
+    this.schemaVersion = Math.max(0, schemaVersion);
+  }
+
+  /** All objects of the catalog, as a list that builds each element when it is read. */
+  List<ObjectDetails> objects() {
+    return new LazyObjectList();
+  }
+
+  /**
+   * Describes the columns of an object of this catalog. Each schema version appends one nullable
+   * integer column, {@code added_col_<version>}, to every object.
+   */
+  List<FieldSpec> columnsOf(ObjectDetails objectDetails) {
+    List<FieldSpec> columns = new ArrayList<>(columnCount + schemaVersion);
+    columns.add(new FieldSpec("id", "INTEGER", HDataType.INTEGER, 1, 1, null, false));
+    columns.add(new FieldSpec("updated_ts", "TIMESTAMP", HDataType.DATE_TIME, 2, null, 1, false));
+    for (int position = 3; position <= columnCount; position++) {
+      String name = "col_" + position;
+      columns.add(
+          position % 2 == 1
+              ? new FieldSpec(name, "INTEGER", HDataType.INTEGER, position, null, null, true)
+              : new FieldSpec(name, "TIMESTAMP", HDataType.DATE_TIME, position, null, null, true));
+    }
+    for (int version = 1; version <= schemaVersion; version++) {
+      columns.add(
+          new FieldSpec(
+              "added_col_" + version,
+              "INTEGER",
+              HDataType.INTEGER,
+              columnCount + version,
+              null,
+              null,
+              true));
+    }
+    return columns;
+  }
+
+  private ObjectDetails objectAt(int index) {
+    return ObjectDetails.builder()
+        .catalog(CATALOG_NAME)
+        .schema(String.format("schema_%04d", index / objectsPerSchema))
+        .table(String.format("table_%06d", index))
+        .type("TABLE")
+        .delimiter(".")
+        .sourceObjectStatus(SourceObjectStatus.ACTIVE)
+        .build();
+  }
+
+  private final class LazyObjectList extends AbstractList<ObjectDetails> implements RandomAccess {
+
+    @Override
+    public ObjectDetails get(int index) {
+      if (index < 0 || index >= objectCount) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + objectCount);
+      }
+      return objectAt(index);
+    }
+
+    @Override
+    public int size() {
+      return objectCount;
+    }
+  }
+}
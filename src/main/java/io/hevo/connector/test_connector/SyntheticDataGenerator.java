@@ -0,0 +1,108 @@
+package io.hevo.connector.test_connector;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Produces deterministic column values for synthetic rows.
+ *
+ * <p>Every value is a pure function of the seed, the row ordinal and the column position, so any
+ * row can be regenerated without generating the rows before it and two runs with the same seed
+ * produce identical data.
+ *
+ * <p>Non-key columns draw from {@link #DISTINCT_VALUES} values per column, chosen per row by {@link
+ * #slot}. The bounded domain mirrors the cardinality of typical attribute columns and lets callers
+ * precompute every value a column can take.
+ */
+final class SyntheticDataGenerator {
+
+  /** Timestamp of the first synthetic row; cursor values advance from here. */
+  static final LocalDateTime BASE_TIMESTAMP = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  /** Number of distinct values of each non-key column. A power of two. */
+  static final int DISTINCT_VALUES = 1024;
+
+  private static final long SECONDS_PER_YEAR = 365L * 24 * 60 * 60;
+
+  private final long seed;
+
+  SyntheticDataGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Value of a primary key column. Keys are dense and ascending so that every ordinal maps to
+   * exactly one key.
+   */
+  int primaryKey(long ordinal) {
+    return Math.toIntExact(ordinal + 1);
+  }
+
+  /** Ordinal of the row holding the given primary key. */
+  long ordinalOfKey(long primaryKey) {
+    return primaryKey - 1;
+  }
+
+  /**
+   * Value of a cursor column. One second elapses between consecutive rows, which keeps the cursor
+   * strictly increasing in row order.
+   */
+  LocalDateTime cursor(long ordinal) {
+    return BASE_TIMESTAMP.plusSeconds(ordinal);
+  }
+
+  /**
+   * Seeks to the first row that sorts after the given cursor and primary key, the same way an index
+   * seek on {@code (cursor, primary key)} would. Rows are ordered by cursor first and key second,
+   * so rows before the returned ordinal have already been read.
+   */
+  long ordinalAfter(CursorOffset position) {
+    Duration sinceBase = Duration.between(BASE_TIMESTAMP, position.cursor());
+    if (sinceBase.isNegative()) {
+      return 0;
+    }
+    long ordinal = sinceBase.getSeconds() + (sinceBase.getNano() > 0 ? 1 : 0);
+    if (cursor(ordinal).equals(position.cursor()) && primaryKey(ordinal) <= position.primaryKey()) {
+      ordinal++;
+    }
+    return ordinal;
+  }
+
+  /** Position of the given row, to be recorded as the high-water mark once it has been read. */
+  CursorOffset positionOf(long ordinal) {
+    return new CursorOffset(cursor(ordinal), primaryKey(ordinal));
+  }
+
+  /** Pseudo-random integer for a non-key column. */
+  int randomInteger(long ordinal, int position) {
+    return integerValue(slot(ordinal, position), position);
+  }
+
+  /** Pseudo-random timestamp within a year of {@link #BASE_TIMESTAMP} for a non-cursor column. */
+  LocalDateTime randomDateTime(long ordinal, int position) {
+    return dateTimeValue(slot(ordinal, position), position);
+  }
+
+  /** Index, below {@link #DISTINCT_VALUES}, of the value a non-key column takes in a row. */
+  int slot(long ordinal, int position) {
+    return (int) (mix(ordinal, position) & (DISTINCT_VALUES - 1));
+  }
+
+  /** Integer a non-key column holds in the given slot. */
+  int integerValue(int slot, int position) {
+    return (int) mix(~(long) slot, position);
+  }
+
+  /** Timestamp a non-cursor column holds in the given slot. */
+  LocalDateTime dateTimeValue(int slot, int position) {
+    return BASE_TIMESTAMP.plusSeconds(Math.floorMod(mix(~(long) slot, position), SECONDS_PER_YEAR));
+  }
+
+  /** SplitMix64 finalizer over the seed, ordinal and column position. */
+  private long mix(long ordinal, int position) {
+    long z = seed + ordinal * 0x9E3779B97F4A7C15L + position * 0xC2B2AE3D27D4EB4FL;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
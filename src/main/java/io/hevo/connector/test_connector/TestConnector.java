@@ -2,6 +2,7 @@ package io.hevo.connector.test_connector;
 
 import io.hevo.connector.GenericConnector;
 import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.exceptions.ConnectorRuntimeException;
 import io.hevo.connector.model.ConnectorContext;
 import io.hevo.connector.model.ConnectorMeta;
 import io.hevo.connector.model.ExecutionResult;
@@ -9,44 +10,155 @@ import io.hevo.connector.model.ObjectDetails;
 import io.hevo.connector.model.ObjectSchema;
 import io.hevo.connector.model.enums.OpType;
 import io.hevo.connector.model.enums.SourceObjectStatus;
-import io.hevo.connector.model.field.data.datum.hudt.HDateTime;
 import io.hevo.connector.model.field.data.datum.hudt.HDatum;
-import io.hevo.connector.model.field.data.datum.hudt.HInteger;
 import io.hevo.connector.model.field.data.datum.hudt.HStruct;
-import io.hevo.connector.model.field.schema.base.Field;
-import io.hevo.connector.model.field.schema.enumeration.FieldState;
 import io.hevo.connector.model.field.schema.hudt.HDataType;
-import io.hevo.connector.model.field.schema.hudt.HDateTimeField;
-import io.hevo.connector.model.field.schema.hudt.HIntegerField;
 import io.hevo.connector.offset.Offset;
 import io.hevo.connector.processor.ConnectorProcessor;
-import java.time.LocalDateTime;
+import io.hevo.connector.spi.RangePartitionedConnector;
+import io.hevo.connector.spi.RecordRetainingProcessor;
+import io.hevo.connector.ui.Property;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class TestConnector implements GenericConnector {
+public class TestConnector implements GenericConnector, RangePartitionedConnector {
 
   private static final Logger log = LoggerFactory.getLogger(TestConnector.class);
 
+  static final long MAX_ROW_COUNT = Integer.MAX_VALUE;
+
+  /** Selects between the single-row smoke test and the synthetic data generator. */
+  @Property private DataMode dataMode = DataMode.SINGLE_ROW;
+
+  /**
+   * Number of rows in each synthetic object, at most {@link #MAX_ROW_COUNT}: primary keys and the
+   * records counted by an {@link ExecutionResult} are {@code int}s.
+   */
+  @Property private long rowCount = 1_000_000L;
+
+  /** Seed of the synthetic generator. The same seed always produces the same rows. */
+  @Property private long seed = 42L;
+
+  /**
+   * Upper bound on emitted rows per second of an object, or {@code 0} to emit as fast as the sink
+   * accepts. The key ranges of a partitioned historical load share it in proportion to their size.
+   */
+  @Property private long targetRowsPerSecond = 0L;
+
+  /** Stops a synthetic fetch after this many seconds, or {@code 0} to run until rowCount. */
+  @Property private long durationSeconds = 0L;
+
+  /** Number of rows read from the source per page. */
+  @Property private int pageSize = 10_000;
+
+  /**
+   * Maximum number of pages a single fetch reads before returning its offset, or {@code 0} to read
+   * until the object is exhausted. The next fetch resumes from the returned offset.
+   */
+  @Property private int maxPagesPerFetch = 0;
+
+  /**
+   * Recycles row containers while streaming synthetic rows. The same {@code HStruct} is published
+   * for every row of a fetch, its values overwritten with the next row once {@code publish}
+   * returns, so a {@code ConnectorProcessor} may only keep a reference to the struct while {@code
+   * publish} runs; a processor that needs the row later must copy its values, for example through
+   * {@code asArrayOfString()}, before returning. Datums are immutable and may be kept. Ignored for
+   * processors marked as {@link RecordRetainingProcessor}.
+   */
+  @Property private boolean reuseRowBuffers = false;
+
+  /**
+   * Number of objects {@link #getObjects()} presents, or {@code 0} for the two built-in objects
+   * {@code o1} and {@code o2}.
+   */
+  @Property private int catalogObjectCount = 0;
+
+  /** Number of columns of each catalog object, including the key and cursor columns. */
+  @Property private int catalogColumnCount = 2;
+
+  /** Number of catalog objects grouped under each schema. */
+  @Property private int catalogObjectsPerSchema = 1_000;
+
+  /**
+   * Number of requests {@link #fetchSchemaFromSource} makes to the source at the same time to
+   * describe catalog objects.
+   */
+  @Property private int schemaRequestConcurrency = 8;
+
+  /**
+   * Schema version of the catalog objects. Every version adds a column to each object, to exercise
+   * schema refreshes.
+   */
+  @Property private int schemaVersion = 0;
+
+  /**
+   * File keeping the columns of every object across runs, so that schema changes between runs are
+   * reported, or an empty string to only keep them in memory. See {@link SchemaCache}.
+   */
+  @Property private String schemaCacheFile = "";
+
+  /** Round-trip latency of every request to the source, in milliseconds. */
+  @Property private long sourceLatencyMillis = 0L;
+
+  /** Uniform random jitter added to the round-trip latency, in milliseconds. */
+  @Property private long sourceLatencyJitterMillis = 0L;
+
+  /** Probability that a request suffers an additional latency spike. */
+  @Property private double sourceLatencySpikeProbability = 0.0;
+
+  /** Duration of a latency spike, in milliseconds. */
+  @Property private long sourceLatencySpikeMillis = 0L;
+
+  /** Requests per second the source admits, or {@code 0} for no rate limit. */
+  @Property private double sourceRequestsPerSecond = 0.0;
+
+  /** Number of requests the source admits in a burst before its rate limit applies. */
+  @Property private int sourceBurstRequests = 1;
+
+  /** Number of pages the source delivers in a burst, or {@code 0} to deliver pages evenly. */
+  @Property private int sourceBurstPages = 0;
+
+  /** Pause of the source between bursts of pages, in milliseconds. */
+  @Property private long sourceBurstPauseMillis = 0L;
+
+  private SchemaCache schemaCache;
+  private SourceLatencySimulator sourceLatency;
+
+  /** Compiled row plans of the synthetic objects fetched so far. */
+  private final Map<ObjectSchema, RowPlan> rowPlans = new ConcurrentHashMap<>();
+
+  /** Recycling row plans, bound to the generator of {@link #seed}, for {@link #reuseRowBuffers}. */
+  private final Map<ObjectSchema, RowPlan> recyclingRowPlans = new ConcurrentHashMap<>();
+
   @Override
   public void initializeConnection() {
+    sourceLatency().request();
     log.info("Initialized connection");
   }
 
   /**
    * Retrieves a list of object details matching the specified criteria.
    *
-   * @return A linked list of {@code ObjectDetails} representing the objects matching the criteria,
-   *     excluding any unsupported tables defined in {@code BULK_MODE_UNSUPPORTED_TABLES}.
+   * @return The two built-in objects, or a lazily built list of {@code catalogObjectCount} objects
+   *     when a catalog size is configured.
    * @throws ConnectorException If an error occurs while fetching object details.
    */
   @Override
   public List<ObjectDetails> getObjects() {
+    sourceLatency().request();
+    if (catalogObjectCount > 0) {
+      return catalog().objects();
+    }
     ObjectDetails o1 =
         ObjectDetails.builder()
             .table("o1")
@@ -66,59 +178,286 @@ public class TestConnector implements GenericConnector {
   }
 
   /**
-   * Fetches the schema details from the data source based on the specified criteria.
+   * Fetches the schema details from the data source based on the specified criteria. Only the
+   * requested objects are described, with one request to the source per object; catalog objects are
+   * described {@link #schemaRequestConcurrency} at a time, on threads of their own since requests
+   * block for the latency of the source.
    *
-   * @return A linked hash map containing object details mapped to their corresponding object
-   *     configurations
+   * @return The schemas of the requested objects, in the order they were requested. Unknown objects
+   *     are skipped.
    */
   @Override
   public List<ObjectSchema> fetchSchemaFromSource(List<ObjectDetails> objectDetails) {
-    Set<Field> fields1 = new HashSet<>();
-    HIntegerField.Builder id1 =
-        new HIntegerField.Builder("id", "INTEGER", 1, FieldState.ACTIVE).isNullable(false);
-    id1.pkPos(1);
-    HDateTimeField.Builder ts1 =
-        new HDateTimeField.Builder("updated_ts", "TIMESTAMP", 2, FieldState.ACTIVE, 9)
-            .isNullable(false);
-    ts1.ckOrdinal(1);
-    fields1.add(id1.build());
-    fields1.add(ts1.build());
-
-    Set<Field> fields2 = new HashSet<>();
-    HIntegerField.Builder id2 =
-        new HIntegerField.Builder("id", "INTEGER", 1, FieldState.ACTIVE).isNullable(false);
-    //    id2.pkPos(2);
-    HDateTimeField.Builder ts2 =
-        new HDateTimeField.Builder("updated_ts", "TIMESTAMP", 2, FieldState.ACTIVE, 9)
-            .isNullable(false);
-    ts2.ckOrdinal(2);
-    fields2.add(id2.build());
-    fields2.add(ts2.build());
-
-    ObjectSchema os1 = new ObjectSchema(objectDetails.get(0), fields1);
-    ObjectSchema os2 = new ObjectSchema(objectDetails.get(1), fields2);
-    return Arrays.asList(os1, os2);
+    SchemaCache cache = schemaCache();
+    SourceLatencySimulator latency = sourceLatency();
+    List<ObjectSchema> objectSchemas;
+    if (catalogObjectCount > 0) {
+      SyntheticCatalog catalog = catalog();
+      objectSchemas = new ArrayList<>(objectDetails.size());
+      ExecutorService requests =
+          Executors.newFixedThreadPool(
+              Math.max(1, Math.min(schemaRequestConcurrency, objectDetails.size())));
+      try {
+        List<Future<ObjectSchema>> described = new ArrayList<>(objectDetails.size());
+        for (ObjectDetails objectDetail : objectDetails) {
+          described.add(
+              requests.submit(
+                  () -> {
+                    latency.request();
+                    return cache.resolve(objectDetail, catalog.columnsOf(objectDetail));
+                  }));
+        }
+        for (Future<ObjectSchema> objectSchema : described) {
+          objectSchemas.add(await(objectSchema));
+        }
+      } finally {
+        requests.shutdownNow();
+      }
+    } else {
+      objectSchemas = new ArrayList<>(objectDetails.size());
+      for (ObjectDetails objectDetail : objectDetails) {
+        latency.request();
+        if ("o1".equals(objectDetail.tableName())) {
+          objectSchemas.add(cache.resolve(objectDetail, builtInColumns(true)));
+        } else if ("o2".equals(objectDetail.tableName())) {
+          objectSchemas.add(cache.resolve(objectDetail, builtInColumns(false)));
+        } else {
+          log.warn("Skipping unknown object {}", objectDetail.getTableFullyQualifiedName());
+        }
+      }
+    }
+    cache.persist();
+    return objectSchemas;
+  }
+
+  private static ObjectSchema await(Future<ObjectSchema> objectSchema) {
+    try {
+      return objectSchema.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new ConnectorRuntimeException("Failed to describe object: " + e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectorRuntimeException("Interrupted while describing objects.");
+    }
+  }
+
+  /** Columns of the built-in objects. Only {@code o1} declares its primary key. */
+  private static List<FieldSpec> builtInColumns(boolean withPrimaryKey) {
+    return List.of(
+        new FieldSpec(
+            "id", "INTEGER", HDataType.INTEGER, 1, withPrimaryKey ? 1 : null, null, false),
+        new FieldSpec(
+            "updated_ts",
+            "TIMESTAMP",
+            HDataType.DATE_TIME,
+            2,
+            null,
+            withPrimaryKey ? 1 : 2,
+            false));
+  }
+
+  private SyntheticCatalog catalog() {
+    return new SyntheticCatalog(
+        catalogObjectCount, catalogColumnCount, catalogObjectsPerSchema, schemaVersion);
+  }
+
+  private synchronized SchemaCache schemaCache() {
+    if (schemaCache == null) {
+      schemaCache = new SchemaCache(schemaCacheFile.isEmpty() ? null : Paths.get(schemaCacheFile));
+    }
+    return schemaCache;
+  }
+
+  private synchronized SourceLatencySimulator sourceLatency() {
+    if (sourceLatency == null) {
+      sourceLatency =
+          new SourceLatencySimulator(
+              sourceLatencyMillis,
+              sourceLatencyJitterMillis,
+              sourceLatencySpikeProbability,
+              sourceLatencySpikeMillis,
+              sourceRequestsPerSecond,
+              sourceBurstRequests,
+              sourceBurstPages,
+              sourceBurstPauseMillis);
+    }
+    return sourceLatency;
   }
 
   @Override
   public ExecutionResult fetchDataFromSource(
       ConnectorContext connectorContext, ConnectorProcessor connectorProcessor)
       throws ConnectorException {
-    List<HDatum> row = new ArrayList<>(connectorContext.schema().fields().size());
-
+    if (dataMode == DataMode.SYNTHETIC) {
+      return fetchSyntheticData(connectorContext, connectorProcessor);
+    }
     Offset.Builder currentRecordOffset = Offset.builder();
 
-    for (Field col : connectorContext.schema().fields()) {
-      HDataType hDataType = HDataType.fromLogicalType(col.logicalType());
-      if (hDataType.equals(HDataType.INTEGER)) {
-        row.add(new HInteger(1));
-      } else if (hDataType.equals(HDataType.DATE_TIME)) {
-        row.add(new HDateTime(LocalDateTime.now()));
+    sourceLatency().request();
+    RowPlan rowPlan = RowPlan.singleRow(connectorContext.schema());
+    connectorProcessor.publish(new HStruct(rowPlan.row(null, 0)), ConnectorMetas.of(OpType.READ));
+    return new ExecutionResult(1, currentRecordOffset.build());
+  }
+
+  /**
+   * Streams generated rows into the processor, one row at a time, honouring the configured rate and
+   * duration. Rows are never buffered, so memory use is independent of the row count.
+   *
+   * <p>Rows are read in pages of {@code pageSize} in {@code (updated_ts, id)} order. A fetch that
+   * carries an offset seeks directly past the recorded high-water mark, so an incremental fetch
+   * only reads rows it has not seen. The returned offset records the last row published.
+   *
+   * <p>An offset produced by {@link #partitionOffsets} also limits the fetch to its key range.
+   *
+   * @throws ConnectorException If {@code pageSize} is not positive, since no page would ever make
+   *     progress, or {@code rowCount} is negative or above {@link #MAX_ROW_COUNT}, since rows past
+   *     it would fail mid-fetch and lose the offset.
+   */
+  private ExecutionResult fetchSyntheticData(
+      ConnectorContext connectorContext, ConnectorProcessor connectorProcessor)
+      throws ConnectorException {
+    if (pageSize < 1) {
+      throw new ConnectorException("pageSize must be at least 1, got " + pageSize + ".");
+    }
+    if (rowCount < 0 || rowCount > MAX_ROW_COUNT) {
+      throw new ConnectorException(
+          "rowCount must be between 0 and " + MAX_ROW_COUNT + ", got " + rowCount + ".");
+    }
+    RowPlan rowPlan = rowPlans.computeIfAbsent(connectorContext.schema(), RowPlan::synthetic);
+    SyntheticDataGenerator generator = new SyntheticDataGenerator(seed);
+    SourceLatencySimulator latency = sourceLatency();
+    ConnectorMeta connectorMeta = ConnectorMetas.of(OpType.READ);
+    List<HDatum> reusableRow = null;
+    HStruct reusableStruct = null;
+    if (reuseRowBuffers && !(connectorProcessor instanceof RecordRetainingProcessor)) {
+      RowPlan syntheticPlan = rowPlan;
+      rowPlan =
+          recyclingRowPlans.computeIfAbsent(
+              connectorContext.schema(), schema -> syntheticPlan.recycling(generator));
+      reusableRow = rowPlan.newRow();
+      reusableStruct = new HStruct(reusableRow);
+    }
+
+    KeyRange range = KeyRange.from(connectorContext.offset());
+    CursorOffset resumeFrom = CursorOffset.from(connectorContext.offset());
+    long ordinal = resumeFrom == null ? 0 : generator.ordinalAfter(resumeFrom);
+    long endOrdinal = rowCount;
+    double rowsPerSecond = targetRowsPerSecond;
+    if (range != null) {
+      long firstOrdinal = generator.ordinalOfKey(range.firstKey());
+      ordinal = Math.max(ordinal, firstOrdinal);
+      endOrdinal = Math.min(endOrdinal, generator.ordinalOfKey(range.lastKey()) + 1);
+      if (rowCount > 0) {
+        // Ranges are fetched concurrently, so together they must not exceed the rate of the object
+        rowsPerSecond = targetRowsPerSecond * (double) (endOrdinal - firstOrdinal) / rowCount;
       }
     }
-    connectorProcessor.publish(
-        new HStruct(row), ConnectorMeta.builder().opType(OpType.READ).build());
-    return new ExecutionResult(1, currentRecordOffset.build());
+    RatePacer pacer = new RatePacer(rowsPerSecond, durationSeconds);
+
+    long emitted = 0;
+    int pages = 0;
+    boolean running = true;
+    while (running && ordinal < endOrdinal && (maxPagesPerFetch <= 0 || pages < maxPagesPerFetch)) {
+      latency.requestPage(pages);
+      long pageEnd = Math.min(endOrdinal, ordinal + pageSize);
+      for (; ordinal < pageEnd; ordinal++) {
+        if (!pacer.awaitNextRow(emitted)) {
+          running = false;
+          break;
+        }
+        HStruct row;
+        if (reusableStruct != null) {
+          rowPlan.fill(generator, ordinal, reusableRow);
+          row = reusableStruct;
+        } else {
+          row = new HStruct(rowPlan.row(generator, ordinal));
+        }
+        connectorProcessor.publish(row, connectorMeta);
+        emitted++;
+      }
+      pages++;
+    }
+    log.info(
+        "Read {} synthetic rows in {} pages for {}",
+        emitted,
+        pages,
+        connectorContext.schema().objectDetail().getTableFullyQualifiedName());
+
+    CursorOffset highWaterMark = emitted > 0 ? generator.positionOf(ordinal - 1) : resumeFrom;
+    Offset.Builder lastReadOffset = Offset.builder();
+    if (range != null) {
+      range.writeTo(lastReadOffset);
+    }
+    if (highWaterMark != null) {
+      highWaterMark.writeTo(lastReadOffset);
+    }
+    return new ExecutionResult(Math.toIntExact(emitted), lastReadOffset.build());
+  }
+
+  /**
+   * Splits the synthetic key space into contiguous, equally sized key ranges. Objects that are not
+   * generated synthetically are returned as a single unbounded range.
+   */
+  @Override
+  public List<Offset> partitionOffsets(ObjectSchema objectSchema, int partitions) {
+    if (dataMode != DataMode.SYNTHETIC || partitions <= 1 || rowCount <= 1) {
+      return List.of(Offset.empty());
+    }
+    SyntheticDataGenerator generator = new SyntheticDataGenerator(seed);
+    long rangeSize = (rowCount + partitions - 1) / partitions;
+    List<Offset> offsets = new ArrayList<>(partitions);
+    for (long first = 0; first < rowCount; first += rangeSize) {
+      long last = Math.min(rowCount, first + rangeSize) - 1;
+      KeyRange range = new KeyRange(generator.primaryKey(first), generator.primaryKey(last));
+      offsets.add(range.writeTo(Offset.builder()).build());
+    }
+    return offsets;
+  }
+
+  /**
+   * When every range has been read to its end, the object resumes after the highest high-water
+   * mark. Otherwise it resumes from the lowest point any unfinished range reached, which may
+   * re-read rows of later ranges but never skips one.
+   */
+  @Override
+  public Offset mergePartitionOffsets(ObjectSchema objectSchema, List<Offset> lastReadOffsets) {
+    SyntheticDataGenerator generator = new SyntheticDataGenerator(seed);
+    CursorOffset highest = null;
+    CursorOffset lowestUnfinished = null;
+    boolean restartFromBeginning = false;
+    for (Offset offset : lastReadOffsets) {
+      KeyRange range = KeyRange.from(offset);
+      CursorOffset position = CursorOffset.from(offset);
+      boolean finished =
+          range == null || (position != null && position.primaryKey() >= range.lastKey());
+      if (finished) {
+        if (position != null && (highest == null || position.compareTo(highest) > 0)) {
+          highest = position;
+        }
+        continue;
+      }
+      CursorOffset restart = position;
+      if (restart == null) {
+        long firstOrdinal = generator.ordinalOfKey(range.firstKey());
+        if (firstOrdinal == 0) {
+          restartFromBeginning = true;
+          continue;
+        }
+        restart = generator.positionOf(firstOrdinal - 1);
+      }
+      if (lowestUnfinished == null || restart.compareTo(lowestUnfinished) < 0) {
+        lowestUnfinished = restart;
+      }
+    }
+
+    if (restartFromBeginning) {
+      return Offset.empty();
+    }
+    CursorOffset merged = lowestUnfinished != null ? lowestUnfinished : highest;
+    return merged != null ? merged.toOffset() : Offset.empty();
   }
 
   @Override
@@ -0,0 +1,23 @@
+package io.hevo.connector.generic_test;
+
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import java.util.Optional;
+import org.mockito.Mockito;
+
+/** Records published to the sinks under test. */
+final class SinkFixtures {
+
+  private SinkFixtures() {}
+
+  /** A row whose values are read through {@code asArrayOfString()}, as the sinks read them. */
+  static HStruct row(String... values) {
+    HStruct hStruct = Mockito.mock(HStruct.class);
+    Mockito.when(hStruct.asArrayOfString()).thenReturn(Optional.of(values));
+    return hStruct;
+  }
+
+  static ConnectorMeta meta() {
+    return Mockito.mock(ConnectorMeta.class);
+  }
+}
@@ -0,0 +1,106 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ConnectorMeta;
+import io.hevo.connector.model.field.data.datum.hudt.HStruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class TestAsyncConnectorProcessor {
+
+  @Test
+  void testCheckpointWaitsForQueuedRecords() throws Exception {
+    RecordingProcessor delegate = new RecordingProcessor();
+    HStruct first = Mockito.mock(HStruct.class);
+    HStruct other = Mockito.mock(HStruct.class);
+    ConnectorMeta meta = Mockito.mock(ConnectorMeta.class);
+    try (AsyncConnectorProcessor processor =
+        new AsyncConnectorProcessor(delegate, 8, Backpressure.BLOCK, 3)) {
+      processor.publish(first, meta);
+      for (int i = 1; i < 10_000; i++) {
+        processor.publish(other, meta);
+      }
+      assertEquals(10_000, processor.checkpoint());
+      assertSame(first, delegate.records.get(0));
+    }
+    assertTrue(delegate.closed);
+  }
+
+  @Test
+  void testFailFastWhenQueueIsFull() throws Exception {
+    RecordingProcessor delegate = new RecordingProcessor();
+    delegate.proceed = new CountDownLatch(1);
+    HStruct hStruct = Mockito.mock(HStruct.class);
+    ConnectorMeta meta = Mockito.mock(ConnectorMeta.class);
+    AsyncConnectorProcessor processor =
+        new AsyncConnectorProcessor(delegate, 2, Backpressure.FAIL_FAST, 1);
+    // The writer takes the first record and blocks on it, then two more fill the queue
+    processor.publish(hStruct, meta);
+    delegate.writing.await();
+    processor.publish(hStruct, meta);
+    processor.publish(hStruct, meta);
+    assertThrows(ConnectorException.class, () -> processor.publish(hStruct, meta));
+    delegate.proceed.countDown();
+    processor.close();
+    assertEquals(3, delegate.records.size());
+  }
+
+  @Test
+  void testWriterFailureReachesPublisher() throws Exception {
+    RecordingProcessor delegate = new RecordingProcessor();
+    delegate.failure = new ConnectorException("disk full");
+    HStruct hStruct = Mockito.mock(HStruct.class);
+    ConnectorMeta meta = Mockito.mock(ConnectorMeta.class);
+    AsyncConnectorProcessor processor =
+        new AsyncConnectorProcessor(delegate, 16, Backpressure.BLOCK, 4);
+    processor.publish(hStruct, meta);
+    ConnectorException e = assertThrows(ConnectorException.class, processor::checkpoint);
+    assertSame(delegate.failure, e.getCause());
+    assertThrows(ConnectorException.class, () -> processor.publish(hStruct, meta));
+    assertThrows(ConnectorException.class, processor::close);
+    assertTrue(delegate.closed);
+  }
+
+  /** Records what the writer publishes; can hold the writer on its first record. */
+  private static class RecordingProcessor implements CheckpointingProcessor {
+
+    final List<HStruct> records = new ArrayList<>();
+    final CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch proceed = new CountDownLatch(0);
+    ConnectorException failure;
+    volatile boolean closed;
+
+    @Override
+    public synchronized void publish(HStruct hStruct, ConnectorMeta connectorMeta)
+        throws ConnectorException {
+      writing.countDown();
+      try {
+        proceed.await();
+      } catch (InterruptedException e) {
+        throw new ConnectorException("interrupted", e);
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      records.add(hStruct);
+    }
+
+    @Override
+    public synchronized long checkpoint() {
+      return records.size();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
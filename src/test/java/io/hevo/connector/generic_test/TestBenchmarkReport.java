@@ -0,0 +1,42 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TestBenchmarkReport {
+
+  @Test
+  void testPhaseThroughput() {
+    BenchmarkReport.Phase phase = BenchmarkReport.Phase.of(250_000_000L, 1_000);
+    assertEquals(250.0, phase.millis(), 1e-9);
+    assertEquals(4_000.0, phase.perSecond(), 1e-9);
+    assertEquals(0.0, BenchmarkReport.Phase.of(0, 1_000).perSecond(), 1e-9);
+  }
+
+  @Test
+  void testSummaryAcrossIterations() {
+    List<BenchmarkReport.Iteration> iterations = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      Map<String, BenchmarkReport.Phase> phases = new LinkedHashMap<>();
+      phases.put("getObjects", BenchmarkReport.Phase.of(1_000_000L * i, 10));
+      phases.put("historical", BenchmarkReport.Phase.of(100_000_000L * i, 1_000));
+      iterations.add(new BenchmarkReport.Iteration(i, 0, phases));
+    }
+
+    BenchmarkReport report =
+        BenchmarkReport.of("connector", List.of("o1"), new TesterConfig(), 1, iterations);
+
+    assertEquals(List.of("getObjects", "historical"), List.copyOf(report.summary().keySet()));
+    BenchmarkReport.PhaseSummary historical = report.summary().get("historical");
+    assertEquals(200.0, historical.meanMillis(), 1e-9);
+    assertEquals(100.0, historical.stdevMillis(), 1e-9);
+    assertEquals(100.0, historical.minMillis(), 1e-9);
+    assertEquals(300.0, historical.maxMillis(), 1e-9);
+    assertEquals((10_000.0 + 5_000.0 + 10_000.0 / 3) / 3, historical.meanPerSecond(), 1e-6);
+  }
+}
@@ -0,0 +1,186 @@
+package io.hevo.connector.generic_test;
+
+import static io.hevo.connector.generic_test.SinkFixtures.meta;
+import static io.hevo.connector.generic_test.SinkFixtures.row;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.generic_test.ColumnarFileReader.Column;
+import io.hevo.connector.generic_test.ColumnarFileReader.ColumnChunk;
+import io.hevo.connector.generic_test.ColumnarFileReader.ColumnType;
+import io.hevo.connector.generic_test.ColumnarFileReader.Encoding;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestColumnarConnectorProcessor {
+
+  private static final List<Column> COLUMNS =
+      List.of(
+          new Column("id", ColumnType.INTEGER),
+          new Column("updated_ts", ColumnType.TIMESTAMP),
+          new Column("status", ColumnType.STRING),
+          new Column("note", ColumnType.STRING));
+
+  @TempDir Path outputDir;
+
+  @Test
+  void testRoundTrip() throws Exception {
+    Path file = outputDir.resolve("round_trip.hcol");
+    List<String[]> rows = new ArrayList<>();
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (int i = 0; i < 2_500; i++) {
+      rows.add(
+          new String[] {
+            Integer.toString(i + 1),
+            base.plusSeconds(i).plusNanos(i % 3 == 0 ? 0 : 1_000).toString(),
+            i % 7 == 0 ? null : "status_" + (i % 5),
+            "note, \"" + i + "\""
+          });
+    }
+    try (ColumnarConnectorProcessor processor =
+        new ColumnarConnectorProcessor(file.toString(), COLUMNS, 1_000, false)) {
+      for (String[] row : rows) {
+        processor.publish(row(row), meta());
+      }
+      assertEquals(2_500, processor.checkpoint());
+    }
+
+    try (ColumnarFileReader reader = ColumnarFileReader.open(file)) {
+      assertEquals(COLUMNS, reader.columns());
+      assertEquals(3, reader.rowGroups().size());
+      assertEquals(2_500, reader.rowCount());
+      for (int column = 0; column < COLUMNS.size(); column++) {
+        List<String> expected = new ArrayList<>();
+        for (String[] row : rows) {
+          expected.add(row[column]);
+        }
+        assertEquals(expected, reader.readColumn(COLUMNS.get(column).name()));
+      }
+
+      List<ColumnChunk> first = reader.rowGroups().get(0).columns();
+      assertEquals(Encoding.DELTA, first.get(0).encoding());
+      assertEquals("1", first.get(0).min());
+      assertEquals("1000", first.get(0).max());
+      assertEquals(Encoding.DELTA, first.get(1).encoding());
+      assertEquals(base.toString(), first.get(1).min());
+      assertEquals(Encoding.DICTIONARY, first.get(2).encoding());
+      assertEquals(143, first.get(2).nullCount());
+      assertEquals("status_0", first.get(2).min());
+      assertEquals("status_4", first.get(2).max());
+      assertEquals(Encoding.PLAIN, first.get(3).encoding());
+    }
+    // Sequential keys and cursors take a fraction of their text size
+    assertTrue(Files.size(file) < 2_500 * 40);
+  }
+
+  @Test
+  void testBuffersGrowToLargeRowGroups() throws Exception {
+    Path file = outputDir.resolve("large_row_group.hcol");
+    List<String> ids = new ArrayList<>();
+    try (ColumnarConnectorProcessor processor =
+        new ColumnarConnectorProcessor(file.toString(), COLUMNS, 5_000, false)) {
+      for (int i = 0; i < 4_500; i++) {
+        ids.add(Integer.toString(i));
+        processor.publish(row(Integer.toString(i), null, "s", null), meta());
+      }
+    }
+    try (ColumnarFileReader reader = ColumnarFileReader.open(file)) {
+      assertEquals(1, reader.rowGroups().size());
+      assertEquals(ids, reader.readColumn("id"));
+    }
+  }
+
+  @Test
+  void testNonCanonicalValuesFallBackToText() throws Exception {
+    Path file = outputDir.resolve("fallback.hcol");
+    String[][] rows = {
+      {"007", "2024-01-01T00:00", "a", null}, {"8", "not a timestamp", "b", null}, {}
+    };
+    try (ColumnarConnectorProcessor processor =
+        new ColumnarConnectorProcessor(file.toString(), COLUMNS, 10, false)) {
+      for (String[] row : rows) {
+        processor.publish(row(row), meta());
+      }
+    }
+    try (ColumnarFileReader reader = ColumnarFileReader.open(file)) {
+      ColumnChunk id = reader.rowGroups().get(0).columns().get(0);
+      assertEquals(Encoding.PLAIN, id.encoding());
+      assertFalse(id.hasStatistics());
+      assertEquals(Arrays.asList("007", "8", null), reader.readColumn("id"));
+      assertEquals(
+          Arrays.asList("2024-01-01T00:00", "not a timestamp", null),
+          reader.readColumn("updated_ts"));
+      assertEquals(Arrays.asList(null, null, null), reader.readColumn("note"));
+    }
+  }
+
+  @Test
+  void testTruncatedRowGroupIsIgnored() throws Exception {
+    Path file = outputDir.resolve("truncated.hcol");
+    try (ColumnarConnectorProcessor processor =
+        new ColumnarConnectorProcessor(file.toString(), COLUMNS, 2, false)) {
+      for (int i = 0; i < 4; i++) {
+        processor.publish(row(Integer.toString(i), null, "s", "n"), meta());
+      }
+    }
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+    try (ColumnarFileReader reader = ColumnarFileReader.open(file)) {
+      assertEquals(Arrays.asList("0", "1"), reader.readColumn("id"));
+    }
+  }
+
+  @Test
+  void testReopeningAppendsRowGroups() throws Exception {
+    Path file = outputDir.resolve("reopened.hcol");
+    try (ColumnarConnectorProcessor processor =
+        new ColumnarConnectorProcessor(file.toString(), COLUMNS, 2, false)) {
+      for (int i = 0; i < 3; i++) {
+        processor.publish(row(Integer.toString(i), null, "s", "n"), meta());
+      }
+    }
+    // A run that stopped while writing a row group leaves part of it behind
+    long complete = Files.size(file);
+    Files.write(file, new byte[] {0x52, 0x47}, StandardOpenOption.APPEND);
+
+    try (ColumnarConnectorProcessor processor =
+        new ColumnarConnectorProcessor(file.toString(), COLUMNS, 2, false)) {
+      processor.publish(row("3", null, "s", "n"), meta());
+      assertEquals(1, processor.checkpoint());
+    }
+
+    try (ColumnarFileReader reader = ColumnarFileReader.open(file)) {
+      assertEquals(3, reader.rowGroups().size());
+      assertEquals(Arrays.asList("0", "1", "2", "3"), reader.readColumn("id"));
+      assertEquals(Files.size(file), reader.length());
+      assertTrue(reader.length() > complete);
+    }
+  }
+
+  @Test
+  void testReopeningWithOtherColumnsFails() throws Exception {
+    Path file = outputDir.resolve("other_columns.hcol");
+    try (ColumnarConnectorProcessor processor =
+        new ColumnarConnectorProcessor(file.toString(), COLUMNS, 2, false)) {
+      processor.publish(row("1", null, "s", "n"), meta());
+    }
+
+    List<Column> otherColumns = COLUMNS.subList(0, 2);
+    assertThrows(
+        ConnectorException.class,
+        () -> new ColumnarConnectorProcessor(file.toString(), otherColumns, 2, false));
+    try (ColumnarFileReader reader = ColumnarFileReader.open(file)) {
+      assertEquals(List.of("1"), reader.readColumn("id"));
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.ui.Property;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TestConnectorBinder {
+
+  static class BaseConnector {
+    @Property private String region = "";
+  }
+
+  static class SampleConnector extends BaseConnector {
+    @Property private long rowCount;
+    @Property private boolean enabled;
+    @Property private static int ignoredStatic;
+    @Property private final int ignoredFinal = 0;
+    private int notAProperty;
+  }
+
+  @Test
+  void testBindingsCoverAnnotatedFieldsUpTheHierarchy() {
+    List<ConnectorBinder.Binding> bindings = ConnectorBinder.of(SampleConnector.class).bindings();
+
+    assertEquals(
+        List.of("rowCount", "enabled", "region"),
+        bindings.stream().map(ConnectorBinder.Binding::name).toList());
+    assertEquals(long.class, bindings.get(0).type());
+    assertSame(
+        ConnectorBinder.of(SampleConnector.class), ConnectorBinder.of(SampleConnector.class));
+  }
+
+  @Test
+  void testSetWritesPrivateFields() throws Exception {
+    SampleConnector connector = new SampleConnector();
+    List<ConnectorBinder.Binding> bindings = ConnectorBinder.of(SampleConnector.class).bindings();
+
+    bindings.get(0).set(connector, 42L);
+    bindings.get(1).set(connector, true);
+    bindings.get(2).set(connector, "eu-west-1");
+
+    assertEquals(42L, connector.rowCount);
+    assertEquals(true, connector.enabled);
+    assertEquals("eu-west-1", ((BaseConnector) connector).region);
+  }
+
+  @Test
+  void testSetRejectsValuesOfTheWrongType() {
+    ConnectorBinder.Binding rowCount = ConnectorBinder.of(SampleConnector.class).bindings().get(0);
+
+    assertThrows(ConnectorException.class, () -> rowCount.set(new SampleConnector(), "42"));
+    assertThrows(ConnectorException.class, () -> rowCount.set(new SampleConnector(), null));
+  }
+}
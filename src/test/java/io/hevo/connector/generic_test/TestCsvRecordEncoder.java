@@ -0,0 +1,90 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TestCsvRecordEncoder {
+
+  @Test
+  void testQuotesOnlyWhenNeeded() {
+    assertEquals("1,plain,2024-01-01T00:00:01\r\n", encode("1", "plain", "2024-01-01T00:00:01"));
+    assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"x\ny\"\r\n", encode("a,b", "say \"hi\"", "x\ny"));
+    assertEquals(",\"\",\"\r\"\r\n", encode(null, "", "\r"));
+    assertEquals("\r\n", encode());
+  }
+
+  @Test
+  void testEncodesUtf8() {
+    String value = "caf\u00e9,\u20ac\ud83d\ude00";
+    assertArrayEquals(
+        ("\"" + value + "\"\r\n").getBytes(StandardCharsets.UTF_8), encodeBytes(value));
+  }
+
+  @Test
+  void testMatchesCharacterEncoding() {
+    String[][] records = {
+      {"1", "a"}, {"x".repeat(5_000), "\"".repeat(3_000)}, {null, "", "\u00e9\n"}, {}
+    };
+    CsvRecordEncoder encoder = new CsvRecordEncoder();
+    for (String[] values : records) {
+      StringBuilder sb = new StringBuilder();
+      CsvRecordEncoder.appendTo(sb, values);
+      int length = encoder.encode(values);
+      assertArrayEquals(
+          sb.toString().getBytes(StandardCharsets.UTF_8),
+          Arrays.copyOf(encoder.bytes(), length));
+    }
+  }
+
+  @Test
+  void testRoundTrip() {
+    String[] values = {"1", "a,b", "say \"hi\"", "two\r\nlines", "", "caf\u00e9"};
+    assertArrayEquals(values, parse(encode(values)));
+  }
+
+  private static String encode(String... values) {
+    return new String(encodeBytes(values), StandardCharsets.UTF_8);
+  }
+
+  private static byte[] encodeBytes(String... values) {
+    CsvRecordEncoder encoder = new CsvRecordEncoder();
+    return Arrays.copyOf(encoder.bytes(), encoder.encode(values));
+  }
+
+  /** Minimal RFC 4180 parser for a single record. */
+  private static String[] parse(String record) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < record.length(); i++) {
+      char c = record.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\r' && record.startsWith("\r\n", i)) {
+        break;
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields.toArray(new String[0]);
+  }
+}
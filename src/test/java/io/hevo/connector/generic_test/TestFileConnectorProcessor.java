@@ -0,0 +1,315 @@
+package io.hevo.connector.generic_test;
+
+import static io.hevo.connector.generic_test.SinkFixtures.meta;
+import static io.hevo.connector.generic_test.SinkFixtures.row;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestFileConnectorProcessor {
+
+  @TempDir Path outputDir;
+
+  @Test
+  void testEveryRecordFlushesImmediately() throws Exception {
+    Path file = outputDir.resolve("every_record.csv");
+    try (FileConnectorProcessor processor = new FileConnectorProcessor(file.toString())) {
+      processor.publish(row("1", "a"), meta());
+      assertEquals(1, lines(file));
+      assertEquals(1, processor.flushedRecords());
+    }
+  }
+
+  @Test
+  void testCheckpointModeOnlyFlushesOnCheckpoint() throws Exception {
+    Path file = outputDir.resolve("checkpoint.csv");
+    FileSinkOptions options =
+        FileSinkOptions.builder().flushMode(FlushMode.CHECKPOINT).fsync(true).build();
+    try (FileConnectorProcessor processor =
+        new FileConnectorProcessor(file.toString(), options)) {
+      for (int i = 0; i < 100; i++) {
+        processor.publish(row(Integer.toString(i), "a"), meta());
+      }
+      assertEquals(0, lines(file));
+      assertEquals(0, processor.flushedRecords());
+
+      assertEquals(100, processor.checkpoint());
+      assertEquals(100, lines(file));
+    }
+  }
+
+  @Test
+  void testRecordCountMode() throws Exception {
+    Path file = outputDir.resolve("record_count.csv");
+    FileSinkOptions options =
+        FileSinkOptions.builder().flushMode(FlushMode.RECORD_COUNT).flushRecords(10).build();
+    try (FileConnectorProcessor processor =
+        new FileConnectorProcessor(file.toString(), options)) {
+      for (int i = 0; i < 25; i++) {
+        processor.publish(row(Integer.toString(i), "a"), meta());
+      }
+      assertEquals(20, processor.flushedRecords());
+      assertEquals(20, lines(file));
+    }
+    assertEquals(25, lines(file));
+  }
+
+  @Test
+  void testChannelModeMatchesWriterMode() throws Exception {
+    String large = "x".repeat(ChannelRecordOutput.CHUNK_SIZE);
+    String[][] rows = {
+      {"1", "plain"},
+      {"2", "caf\u00e9 \u20ac \ud83d\ude00"},
+      {"3", large},
+      {},
+      {"4", "", null},
+      {"5", "a,b", "say \"hi\"", "two\r\nlines"}
+    };
+    Path writerFile = outputDir.resolve("writer.csv");
+    Path channelFile = outputDir.resolve("channel.csv");
+    try (FileConnectorProcessor writer =
+            new FileConnectorProcessor(writerFile.toString(), FileSinkOptions.defaults());
+        FileConnectorProcessor channel =
+            new FileConnectorProcessor(
+                channelFile.toString(),
+                FileSinkOptions.builder()
+                    .flushMode(FlushMode.CHECKPOINT)
+                    .outputMode(OutputMode.CHANNEL)
+                    .build())) {
+      // Enough rows to fill every chunk more than once
+      for (int i = 0; i < 2 * ChannelRecordOutput.CHUNK_COUNT; i++) {
+        for (String[] values : rows) {
+          writer.publish(row(values), meta());
+          channel.publish(row(values), meta());
+        }
+      }
+    }
+    assertArrayEquals(Files.readAllBytes(writerFile), Files.readAllBytes(channelFile));
+  }
+
+  @Test
+  void testGzipOutputIsIndexedMultiMemberGzip() throws Exception {
+    Path plainFile = outputDir.resolve("plain.csv");
+    Path gzipFile = outputDir.resolve("gzip.csv.gz");
+    FileSinkOptions gzip =
+        FileSinkOptions.builder()
+            .flushMode(FlushMode.CHECKPOINT)
+            .compression(Compression.GZIP)
+            .compressionBlockBytes(4 * 1024)
+            .compressionThreads(3)
+            .build();
+    try (FileConnectorProcessor plain = new FileConnectorProcessor(plainFile.toString());
+        FileConnectorProcessor compressed =
+            new FileConnectorProcessor(gzipFile.toString(), gzip)) {
+      for (int i = 0; i < 5_000; i++) {
+        String[] values = {Integer.toString(i), "value " + (i % 10)};
+        plain.publish(row(values), meta());
+        compressed.publish(row(values), meta());
+      }
+      assertEquals(5_000, compressed.checkpoint());
+    }
+    byte[] expected = Files.readAllBytes(plainFile);
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(gzipFile))) {
+      assertArrayEquals(expected, in.readAllBytes());
+    }
+
+    GzipBlockIndex index = GzipBlockIndex.read(gzipFile);
+    assertTrue(index.blocks().size() > 1);
+    assertEquals(5_000, index.recordCount());
+    assertEquals(Files.size(gzipFile), index.compressedSize());
+    try (FileChannel channel = FileChannel.open(gzipFile)) {
+      for (GzipBlockIndex.Block block : index.blocks()) {
+        byte[] data = GzipBlockIndex.decompress(channel, block);
+        int offset = Math.toIntExact(block.uncompressedOffset());
+        assertArrayEquals(Arrays.copyOfRange(expected, offset, offset + data.length), data);
+        assertEquals('\n', data[data.length - 1]);
+      }
+    }
+  }
+
+  @Test
+  void testGzipOutputsShareCompressionExecutor() throws Exception {
+    ThreadPoolExecutor workers = (ThreadPoolExecutor) GzipRecordOutput.newWorkers(2);
+    try {
+      FileSinkOptions gzip =
+          FileSinkOptions.builder()
+              .flushMode(FlushMode.CHECKPOINT)
+              .compression(Compression.GZIP)
+              .compressionBlockBytes(1024)
+              .compressionExecutor(workers)
+              .build();
+      Path first = outputDir.resolve("first.csv.gz");
+      Path second = outputDir.resolve("second.csv.gz");
+      try (FileConnectorProcessor secondProcessor =
+          new FileConnectorProcessor(second.toString(), gzip)) {
+        try (FileConnectorProcessor firstProcessor =
+            new FileConnectorProcessor(first.toString(), gzip)) {
+          for (int i = 0; i < 1_000; i++) {
+            firstProcessor.publish(row(Integer.toString(i)), meta());
+          }
+        }
+        // Closing an output leaves the shared workers to the others
+        assertFalse(workers.isShutdown());
+        for (int i = 0; i < 1_000; i++) {
+          secondProcessor.publish(row(Integer.toString(i)), meta());
+        }
+        assertEquals(1_000, secondProcessor.checkpoint());
+      }
+
+      assertTrue(workers.getCompletedTaskCount() > 2);
+      for (Path file : List.of(first, second)) {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+          String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+          assertEquals(1_000, csv.lines().count());
+        }
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  @Test
+  void testReopeningGzipOutputKeepsOnlyIndexedBlocks() throws Exception {
+    Path file = outputDir.resolve("reopened.csv.gz");
+    FileSinkOptions gzip =
+        FileSinkOptions.builder()
+            .flushMode(FlushMode.CHECKPOINT)
+            .compression(Compression.GZIP)
+            .compressionBlockBytes(64)
+            .build();
+    try (FileConnectorProcessor processor = new FileConnectorProcessor(file.toString(), gzip)) {
+      for (int i = 0; i < 50; i++) {
+        processor.publish(row(Integer.toString(i)), meta());
+      }
+    }
+    long indexedSize = Files.size(file);
+    // A member written by a run that stopped before indexing it
+    ByteArrayOutputStream unindexed = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(unindexed)) {
+      out.write("unacknowledged\n".getBytes(StandardCharsets.UTF_8));
+    }
+    Files.write(file, unindexed.toByteArray(), StandardOpenOption.APPEND);
+    // A block indexed but lost from the file
+    GzipBlockIndex.Block lost = new GzipBlockIndex.Block(indexedSize + 1_000, 10, 0, 10, 50, 1);
+    Files.write(
+        GzipBlockIndex.indexPathOf(file),
+        lost.toLine().getBytes(StandardCharsets.US_ASCII),
+        StandardOpenOption.APPEND);
+
+    try (FileConnectorProcessor processor = new FileConnectorProcessor(file.toString(), gzip)) {
+      for (int i = 50; i < 100; i++) {
+        processor.publish(row(Integer.toString(i)), meta());
+      }
+    }
+
+    byte[] expected;
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      expected = in.readAllBytes();
+    }
+    List<String> lines = new String(expected, StandardCharsets.UTF_8).lines().toList();
+    assertEquals(100, lines.size());
+    assertEquals("99", lines.get(99));
+    GzipBlockIndex index = GzipBlockIndex.read(file);
+    assertEquals(Files.size(file), index.compressedSize());
+    assertEquals(100, index.recordCount());
+    assertEquals(expected.length, index.uncompressedSize());
+    try (FileChannel channel = FileChannel.open(file)) {
+      for (GzipBlockIndex.Block block : index.blocks()) {
+        byte[] data = GzipBlockIndex.decompress(channel, block);
+        int offset = Math.toIntExact(block.uncompressedOffset());
+        assertArrayEquals(Arrays.copyOfRange(expected, offset, offset + data.length), data);
+      }
+    }
+  }
+
+  @Test
+  void testSegmentsRotateAndAreListedInManifest() throws Exception {
+    Path file = outputDir.resolve("segmented.csv");
+    FileSinkOptions options =
+        FileSinkOptions.builder().flushMode(FlushMode.CHECKPOINT).segmentRecords(10).build();
+    try (FileConnectorProcessor processor =
+        new FileConnectorProcessor(file.toString(), options)) {
+      for (int i = 0; i < 25; i++) {
+        processor.publish(row(Integer.toString(i)), meta());
+      }
+      // Completed segments are listed while the sink is still open
+      assertEquals(2, SegmentManifest.read(file).segments().size());
+    }
+    // Reopening continues with the next segment and record number
+    try (FileConnectorProcessor processor =
+        new FileConnectorProcessor(file.toString(), options)) {
+      processor.publish(row("25"), meta());
+    }
+
+    List<SegmentManifest.Segment> segments = SegmentManifest.read(file).segments();
+    assertEquals(4, segments.size());
+    long expectedFirst = 0;
+    for (int i = 0; i < segments.size(); i++) {
+      SegmentManifest.Segment segment = segments.get(i);
+      Path segmentFile = outputDir.resolve(segment.file());
+      assertEquals(String.format("segmented.%05d.csv", i), segment.file());
+      assertEquals(expectedFirst, segment.firstRecord());
+      assertEquals(segment.firstRecord() + segment.records() - 1, segment.lastRecord());
+      assertEquals(segment.records(), lines(segmentFile));
+      assertEquals(Files.size(segmentFile), segment.bytes());
+      CRC32C crc = new CRC32C();
+      crc.update(Files.readAllBytes(segmentFile));
+      assertEquals(String.format("%08x", crc.getValue()), segment.crc32c());
+      expectedFirst = segment.lastRecord() + 1;
+    }
+    assertEquals(26, expectedFirst);
+    assertEquals(List.of(10L, 10L, 5L, 1L), segments.stream().map(s -> s.records()).toList());
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  void testCheckpointCompletesSegment() throws Exception {
+    Path file = outputDir.resolve("checkpointed.csv");
+    FileSinkOptions options =
+        FileSinkOptions.builder().flushMode(FlushMode.CHECKPOINT).segmentRecords(10).build();
+    // Stops without closing, as if the process had died after acknowledging three records
+    FileConnectorProcessor stopped = new FileConnectorProcessor(file.toString(), options);
+    for (int i = 0; i < 3; i++) {
+      stopped.publish(row(Integer.toString(i)), meta());
+    }
+    assertEquals(3, stopped.checkpoint());
+    stopped.publish(row("unacknowledged"), meta());
+
+    try (FileConnectorProcessor processor =
+        new FileConnectorProcessor(file.toString(), options)) {
+      processor.publish(row("3"), meta());
+    }
+
+    List<SegmentManifest.Segment> segments = SegmentManifest.read(file).segments();
+    assertEquals(List.of(3L, 1L), segments.stream().map(s -> s.records()).toList());
+    assertEquals(
+        List.of("0", "1", "2"), Files.readAllLines(outputDir.resolve(segments.get(0).file())));
+    assertEquals(List.of("3"), Files.readAllLines(outputDir.resolve(segments.get(1).file())));
+  }
+
+  private static long lines(Path file) throws IOException {
+    try (Stream<String> lines = Files.lines(file)) {
+      return lines.count();
+    }
+  }
+}
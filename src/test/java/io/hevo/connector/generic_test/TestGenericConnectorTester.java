@@ -0,0 +1,200 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.hevo.connector.GenericConnector;
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ConnectorContext;
+import io.hevo.connector.model.ExecutionResult;
+import io.hevo.connector.model.ObjectDetails;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.offset.Offset;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+class TestGenericConnectorTester {
+
+  @TempDir Path outputDir;
+
+  @Test
+  void testFailedObjectLeavesOthersUntouched() throws ConnectorException {
+    List<ObjectSchema> objectSchemas = schemas(5);
+    Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+    GenericConnector connector =
+        connector(
+            context -> {
+              String objectName = nameOf(context.schema());
+              int fetch =
+                  fetches.computeIfAbsent(objectName, n -> new AtomicInteger()).incrementAndGet();
+              if (objectName.endsWith("orders_1")) {
+                throw new ConnectorException("source unavailable");
+              }
+              if (objectName.endsWith("orders_2")) {
+                throw new IllegalStateException("connector bug");
+              }
+              if (objectName.endsWith("orders_3") && fetch == 2) {
+                throw new ConnectorException("incremental fetch failed");
+              }
+              return new ExecutionResult(fetch, Offset.empty());
+            });
+
+    Map<ObjectSchema, ExecutionResult> results = tester(connector, 2).fetchObjects(objectSchemas);
+
+    // Objects whose historical fetch failed have no result and no incremental fetch
+    assertFalse(results.containsKey(objectSchemas.get(1)));
+    assertFalse(results.containsKey(objectSchemas.get(2)));
+    assertEquals(1, fetches.get(nameOf(objectSchemas.get(1))).get());
+    assertEquals(1, fetches.get(nameOf(objectSchemas.get(2))).get());
+    // An object whose incremental fetch failed keeps its historical result
+    assertEquals(1, results.get(objectSchemas.get(3)).fetchedRecords());
+    // The other objects run both fetches
+    for (int i : new int[] {0, 4}) {
+      assertEquals(2, results.get(objectSchemas.get(i)).fetchedRecords());
+      assertEquals(2, fetches.get(nameOf(objectSchemas.get(i))).get());
+    }
+  }
+
+  @Test
+  void testObjectConcurrencyBoundsObjectsInFlight() throws ConnectorException {
+    int objectConcurrency = 3;
+    AtomicInteger objectsInFlight = new AtomicInteger();
+    AtomicInteger maxObjectsInFlight = new AtomicInteger();
+    CountDownLatch allowedInFlight = new CountDownLatch(objectConcurrency);
+    GenericConnector connector =
+        connector(
+            context -> {
+              maxObjectsInFlight.accumulateAndGet(objectsInFlight.incrementAndGet(), Math::max);
+              try {
+                // Hold the first fetches until as many objects as allowed are in flight
+                allowedInFlight.countDown();
+                allowedInFlight.await(5, TimeUnit.SECONDS);
+                Thread.sleep(5);
+                return new ExecutionResult(1, Offset.empty());
+              } finally {
+                objectsInFlight.decrementAndGet();
+              }
+            });
+
+    Map<ObjectSchema, ExecutionResult> results =
+        tester(connector, objectConcurrency).fetchObjects(schemas(10));
+
+    assertEquals(10, results.size());
+    assertEquals(objectConcurrency, maxObjectsInFlight.get());
+  }
+
+  @Test
+  void testIncrementalFetchFollowsItsOwnHistoricalFetch() throws ConnectorException {
+    List<ObjectSchema> objectSchemas = schemas(8);
+    Map<String, Offset> historicalOffsets = new ConcurrentHashMap<>();
+    Map<String, Offset> incrementalFrom = new ConcurrentHashMap<>();
+    GenericConnector connector =
+        connector(
+            context -> {
+              String objectName = nameOf(context.schema());
+              Offset historicalOffset = historicalOffsets.get(objectName);
+              if (historicalOffset == null) {
+                Offset offset = Offset.builder().put("object", objectName).build();
+                historicalOffsets.put(objectName, offset);
+                // Let fetches of the other objects interleave with this one
+                Thread.sleep(objectName.hashCode() & 7);
+                return new ExecutionResult(1, offset);
+              }
+              incrementalFrom.put(objectName, context.offset());
+              return new ExecutionResult(0, historicalOffset);
+            });
+
+    tester(connector, 4).fetchObjects(objectSchemas);
+
+    assertEquals(objectSchemas.size(), incrementalFrom.size());
+    for (ObjectSchema objectSchema : objectSchemas) {
+      Offset offset = incrementalFrom.get(nameOf(objectSchema));
+      assertNotNull(offset);
+      assertSame(historicalOffsets.get(nameOf(objectSchema)), offset);
+    }
+  }
+
+  @Test
+  void testBenchmarkIterationsWriteIntoOutputsOfTheirOwn() throws ConnectorException, IOException {
+    List<ObjectSchema> objectSchemas = schemas(2);
+    Set<Path> historicalFiles = ConcurrentHashMap.newKeySet();
+    GenericConnector connector =
+        connector(
+            context -> {
+              try (Stream<Path> files = Files.walk(outputDir)) {
+                files
+                    .filter(file -> file.getFileName().toString().startsWith("historical_"))
+                    .forEach(historicalFiles::add);
+              }
+              return new ExecutionResult(0, Offset.empty());
+            });
+    Mockito.when(connector.getObjects())
+        .thenReturn(objectSchemas.stream().map(ObjectSchema::objectDetail).toList());
+    Mockito.when(connector.fetchSchemaFromSource(Mockito.any())).thenReturn(objectSchemas);
+    TesterConfig testerConfig = new TesterConfig();
+    testerConfig.setWarmupIterations(1);
+    testerConfig.setMeasuredIterations(2);
+
+    tester(connector, testerConfig).runBenchmark();
+
+    // Every iteration fetches into new files, which are deleted once it is over
+    assertEquals(3 * objectSchemas.size(), historicalFiles.size());
+    try (Stream<Path> files = Files.list(outputDir)) {
+      assertEquals(List.of(outputDir.resolve("benchmark_report.json")), files.toList());
+    }
+  }
+
+  /** A fetch of a mocked connector. */
+  @FunctionalInterface
+  private interface Fetch {
+    ExecutionResult fetch(ConnectorContext context) throws Exception;
+  }
+
+  private static GenericConnector connector(Fetch fetch) throws ConnectorException {
+    GenericConnector connector = Mockito.mock(GenericConnector.class);
+    Mockito.when(connector.fetchDataFromSource(Mockito.any(), Mockito.any()))
+        .thenAnswer(invocation -> fetch.fetch(invocation.getArgument(0)));
+    return connector;
+  }
+
+  private GenericConnectorTester<GenericConnector> tester(
+      GenericConnector connector, int objectConcurrency) {
+    TesterConfig testerConfig = new TesterConfig();
+    testerConfig.setObjectConcurrency(objectConcurrency);
+    return tester(connector, testerConfig);
+  }
+
+  private GenericConnectorTester<GenericConnector> tester(
+      GenericConnector connector, TesterConfig testerConfig) {
+    return new GenericConnectorTester<>(GenericConnector.class, connector, testerConfig, outputDir);
+  }
+
+  private static List<ObjectSchema> schemas(int count) {
+    List<ObjectSchema> objectSchemas = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      objectSchemas.add(
+          new ObjectSchema(
+              ObjectDetails.builder().schema("public").table("orders_" + i).build(), Set.of()));
+    }
+    return objectSchemas;
+  }
+
+  private static String nameOf(ObjectSchema objectSchema) {
+    return objectSchema.objectDetail().getTableFullyQualifiedName();
+  }
+}
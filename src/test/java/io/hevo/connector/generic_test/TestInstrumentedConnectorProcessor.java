@@ -0,0 +1,107 @@
+package io.hevo.connector.generic_test;
+
+import static io.hevo.connector.generic_test.SinkFixtures.meta;
+import static io.hevo.connector.generic_test.SinkFixtures.row;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hevo.connector.spi.RecordRetainingProcessor;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestInstrumentedConnectorProcessor {
+
+  @TempDir Path outputDir;
+
+  @Test
+  void testHistogramPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value);
+    }
+    assertEquals(100_000, histogram.count());
+    assertEquals(100_000, histogram.max());
+    for (double quantile : new double[] {0.5, 0.99, 0.999}) {
+      double expected = quantile * 100_000;
+      double error = Math.abs(histogram.percentile(quantile) - expected) / expected;
+      assertTrue(error < 0.07, "percentile " + quantile + " is off by " + error);
+    }
+  }
+
+  @Test
+  void testHistogramBucketsCoverEveryValue() {
+    long[] values = {0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456_789, Long.MAX_VALUE};
+    for (long value : values) {
+      int bucket = LatencyHistogram.bucketOf(value);
+      assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+      assertTrue(bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < value);
+    }
+  }
+
+  @Test
+  void testMetricsArePublishedAndSummarized() throws Exception {
+    Path file = outputDir.resolve("instrumented.csv");
+    Path summaryFile = outputDir.resolve("instrumented.metrics.json");
+    FileSinkOptions options = FileSinkOptions.builder().flushMode(FlushMode.CHECKPOINT).build();
+    InstrumentedConnectorProcessor processor =
+        InstrumentedConnectorProcessor.of(
+            new FileConnectorProcessor(file.toString(), options),
+            "instrumented.csv",
+            () -> file.toFile().length(),
+            summaryFile);
+    for (int i = 0; i < 1_000; i++) {
+      processor.publish(row(Integer.toString(i), "a"), meta());
+    }
+    processor.checkpoint();
+
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    ObjectName pattern =
+        new ObjectName(
+            "io.hevo.connector.generic_test:type=SinkMetrics,sink=\"instrumented.csv\",*");
+    ObjectName name = mBeanServer.queryNames(pattern, null).iterator().next();
+    assertEquals(1_000L, mBeanServer.getAttribute(name, "Records"));
+    assertEquals(Files.size(file), mBeanServer.getAttribute(name, "Bytes"));
+    assertEquals(1L, mBeanServer.getAttribute(name, "Checkpoints"));
+
+    processor.close();
+    assertTrue(mBeanServer.queryNames(pattern, null).isEmpty());
+    SinkMetrics.Summary summary =
+        new ObjectMapper().readValue(summaryFile.toFile(), SinkMetrics.Summary.class);
+    assertEquals(1_000, summary.records());
+    assertEquals(Files.size(file), summary.bytes());
+    assertEquals(1_000, summary.publish().count());
+    assertEquals(1, summary.checkpoint().count());
+  }
+
+  @Test
+  void testRecordRetentionOfTheSinkIsKept() throws Exception {
+    FileSinkOptions options = FileSinkOptions.defaults();
+    try (InstrumentedConnectorProcessor plain =
+        InstrumentedConnectorProcessor.of(
+            new FileConnectorProcessor(outputDir.resolve("plain.csv").toString(), options),
+            "plain.csv",
+            null,
+            null)) {
+      assertFalse(plain instanceof RecordRetainingProcessor);
+    }
+    try (InstrumentedConnectorProcessor async =
+        InstrumentedConnectorProcessor.of(
+            new AsyncConnectorProcessor(
+                new FileConnectorProcessor(outputDir.resolve("async.csv").toString(), options),
+                1_024,
+                Backpressure.BLOCK,
+                64),
+            "async.csv",
+            null,
+            null)) {
+      assertTrue(async instanceof RecordRetainingProcessor);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.hevo.connector.model.ObjectDetails;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TestObjectCatalog {
+
+  private final ObjectCatalog catalog =
+      ObjectCatalog.of(
+          List.of(
+              object("sales", "orders"),
+              object("sales", "orders_2023"),
+              object("sales", "orders_2024"),
+              object("sales", "customers"),
+              object("hr", "employees"),
+              object("hr", "orders")));
+
+  @Test
+  void testSelectsExactNamesInCatalogOrder() {
+    ObjectCatalog.Selection selection =
+        catalog.select(List.of("hr.orders", "sales.customers", "missing.table", "hr.orders"));
+
+    assertEquals(List.of("sales.customers", "hr.orders"), names(selection));
+    assertEquals(List.of("missing.table"), selection.unmatched());
+  }
+
+  @Test
+  void testSelectsGlobs() {
+    assertEquals(
+        List.of("sales.orders_2023", "sales.orders_2024"),
+        names(catalog.select(List.of("sales.orders_*"))));
+    assertEquals(List.of("sales.orders", "hr.orders"), names(catalog.select(List.of("*.orders"))));
+    assertEquals(
+        List.of("sales.orders_2024"), names(catalog.select(List.of("sales.orders_202[!0-3]"))));
+    assertEquals(List.of("hr.orders"), names(catalog.select(List.of("h?.o*"))));
+  }
+
+  @Test
+  void testSelectsRegularExpressions() {
+    assertEquals(
+        List.of("sales.orders_2023", "sales.orders_2024"),
+        names(catalog.select(List.of("re:sales\\.orders_\\d{4}"))));
+    assertEquals(
+        List.of("sales.customers", "hr.employees"),
+        names(catalog.select(List.of("re:sales\\.c.*|hr\\.e.*"))));
+    assertEquals(List.of("hr.orders"), names(catalog.select(List.of("re:hrs?\\.orders"))));
+    assertEquals(List.of("re:sales"), catalog.select(List.of("re:sales")).unmatched());
+  }
+
+  @Test
+  void testExclusions() {
+    assertEquals(
+        List.of("sales.orders", "sales.customers"),
+        names(catalog.select(List.of("sales.*", "!sales.orders_*"))));
+    assertEquals(
+        List.of("sales.orders", "sales.customers", "hr.orders"),
+        names(catalog.select(List.of("!re:.*_\\d+", "!hr.employees"))));
+  }
+
+  @Test
+  void testRejectsInvalidPatterns() {
+    assertThrows(IllegalArgumentException.class, () -> catalog.select(List.of("re:sales(")));
+  }
+
+  @Test
+  void testRegexLiteralPrefix() {
+    assertEquals("sales.orders_", ObjectCatalog.regexLiteralPrefix("^sales\\.orders_\\d+"));
+    assertEquals("sales.order", ObjectCatalog.regexLiteralPrefix("sales\\.orders?"));
+    assertEquals("", ObjectCatalog.regexLiteralPrefix("sales|hr"));
+    assertEquals("", ObjectCatalog.regexLiteralPrefix("(?i)sales"));
+  }
+
+  @Test
+  void testSplitsNamesOnlyOnASharedDelimiter() {
+    List<ObjectDetails> objects = new ArrayList<>();
+    objects.add(ObjectDetails.builder().schema("a").table("b").delimiter(".").build());
+    objects.add(ObjectDetails.builder().schema("c").table("d").delimiter("/").build());
+    ObjectCatalog mixed = ObjectCatalog.of(objects);
+
+    assertEquals(2, mixed.select(List.of("*")).objects().size());
+    assertEquals(
+        List.of(objects.get(0).getTableFullyQualifiedName()),
+        names(mixed.select(List.of(objects.get(0).getTableFullyQualifiedName().charAt(0) + "*"))));
+  }
+
+  private static ObjectDetails object(String schema, String table) {
+    return ObjectDetails.builder().schema(schema).table(table).delimiter(".").build();
+  }
+
+  private static List<String> names(ObjectCatalog.Selection selection) {
+    return selection.objects().stream().map(ObjectDetails::getTableFullyQualifiedName).toList();
+  }
+}
@@ -0,0 +1,59 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hevo.connector.offset.Offset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestOffsetStore {
+
+  @TempDir Path outputDir;
+
+  @Test
+  void testMissingFileOpensEmpty() throws Exception {
+    OffsetStore store = OffsetStore.open(outputDir.resolve("offsets.json"));
+    assertEquals(0, store.size());
+    assertTrue(store.offset("schema.o1").isEmpty());
+    assertFalse(Files.exists(outputDir.resolve("offsets.json")));
+  }
+
+  @Test
+  void testCommittedOffsetSurvivesReopen() throws Exception {
+    Path file = outputDir.resolve("offsets.json");
+    OffsetStore store = OffsetStore.open(file);
+    store.commit("schema.o1", offset("2024-01-01T00:00", 100), "historical", 100);
+    store.commit("schema.o1", offset("2024-01-02T00:00", 250), "incremental", 150);
+    store.commit("schema.o2", offset("2024-01-01T00:00", 7), "historical", 7);
+
+    assertTrue(Files.exists(file));
+    assertFalse(Files.exists(outputDir.resolve("offsets.json.tmp")));
+
+    OffsetStore reopened = OffsetStore.open(file);
+    assertEquals(2, reopened.size());
+    Offset offset = reopened.offset("schema.o1").orElseThrow();
+    assertEquals("2024-01-02T00:00", String.valueOf(offset.get("cursor")));
+    assertEquals("250", String.valueOf(offset.get("primary_key")));
+    OffsetStore.Entry entry = reopened.entry("schema.o1").orElseThrow();
+    assertEquals("incremental", entry.phase());
+    assertEquals(150, entry.fetchedRecords());
+  }
+
+  @Test
+  void testRemoveForgetsObject() throws Exception {
+    Path file = outputDir.resolve("offsets.json");
+    OffsetStore store = OffsetStore.open(file);
+    store.commit("schema.o1", offset("2024-01-01T00:00", 1), "historical", 1);
+    store.remove("schema.o1");
+
+    assertTrue(OffsetStore.open(file).offset("schema.o1").isEmpty());
+  }
+
+  private static Offset offset(String cursor, long primaryKey) {
+    return Offset.builder().put("cursor", cursor).put("primary_key", primaryKey).build();
+  }
+}
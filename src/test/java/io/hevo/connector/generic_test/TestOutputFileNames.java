@@ -0,0 +1,28 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+class TestOutputFileNames {
+
+  @Test
+  void testWithSuffix() {
+    assertEquals(
+        Path.of("out.d", "historical_o1.00003.csv"),
+        OutputFileNames.withSuffix(Path.of("out.d", "historical_o1.csv"), ".00003"));
+    assertEquals(
+        Path.of("historical_o1.shard-0.csv.gz"),
+        OutputFileNames.withSuffix(Path.of("historical_o1.csv.gz"), ".shard-0"));
+    assertEquals(Path.of("output.1.gz"), OutputFileNames.withSuffix(Path.of("output.gz"), ".1"));
+    assertEquals(Path.of(".hidden.1"), OutputFileNames.withSuffix(Path.of(".hidden"), ".1"));
+  }
+
+  @Test
+  void testStemOf() {
+    assertEquals("historical_o1", OutputFileNames.stemOf(Path.of("out", "historical_o1.csv.gz")));
+    assertEquals("incremental_o2", OutputFileNames.stemOf(Path.of("incremental_o2.hcol")));
+    assertEquals("output", OutputFileNames.stemOf(Path.of("output")));
+  }
+}
@@ -0,0 +1,90 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hevo.connector.exceptions.ConnectorException;
+import io.hevo.connector.model.ExecutionResult;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TestPollingScheduler {
+
+  @Test
+  void testIntervalAdaptsToFetchedRecords() {
+    PollingScheduler.Policy policy = new PollingScheduler.Policy(100, 10_000, 1_000);
+
+    // Busy objects are polled up to twice as often, quiet ones up to half as often
+    assertEquals(500, policy.nextIntervalMillis(1_000, 10_000));
+    assertEquals(800, policy.nextIntervalMillis(1_000, 1_250));
+    assertEquals(1_000, policy.nextIntervalMillis(1_000, 1_000));
+    assertEquals(2_000, policy.nextIntervalMillis(1_000, 1));
+    assertEquals(2_000, policy.nextIntervalMillis(1_000, 0));
+    assertEquals(2_000, policy.failureIntervalMillis(1_000));
+
+    // Intervals stay within bounds
+    assertEquals(100, policy.nextIntervalMillis(150, 10_000));
+    assertEquals(10_000, policy.nextIntervalMillis(8_000, 0));
+
+    assertThrows(IllegalArgumentException.class, () -> new PollingScheduler.Policy(10, 5, 1));
+  }
+
+  @Test
+  void testHotObjectsDoNotStarveColdOnes() throws Exception {
+    PollingScheduler<String> scheduler =
+        new PollingScheduler<>(
+            new PollingScheduler.Policy(5, 100, 100),
+            1,
+            (object, lastResult) ->
+                new ExecutionResult(object.startsWith("hot") ? 1_000 : 0, null));
+    scheduler.add("hot", "hot", null);
+    for (int i = 0; i < 5; i++) {
+      scheduler.add("cold" + i, "cold" + i, null);
+    }
+
+    List<PollingScheduler.ObjectStats> stats = scheduler.run(Duration.ofMillis(1_000));
+
+    assertEquals(6, stats.size());
+    PollingScheduler.ObjectStats hot = stats.get(0);
+    assertEquals(5, hot.intervalMillis());
+    for (PollingScheduler.ObjectStats cold : stats.subList(1, stats.size())) {
+      assertEquals(100, cold.intervalMillis());
+      assertTrue(cold.polls() >= 5, cold.name() + " was polled " + cold.polls() + " times");
+      assertTrue(hot.polls() > 5 * cold.polls(), hot + " vs " + cold);
+    }
+  }
+
+  @Test
+  void testFailedPollRetriesFromLastResult() throws Exception {
+    ExecutionResult resumedFrom = new ExecutionResult(0, null);
+    AtomicInteger polls = new AtomicInteger();
+    Map<Integer, ExecutionResult> lastResults = new ConcurrentHashMap<>();
+    PollingScheduler<String> scheduler =
+        new PollingScheduler<>(
+            new PollingScheduler.Policy(1, 4, 1),
+            2,
+            (object, lastResult) -> {
+              int poll = polls.incrementAndGet();
+              lastResults.put(poll, lastResult);
+              if (poll == 1) {
+                throw new ConnectorException("source unavailable");
+              }
+              return new ExecutionResult(1, null);
+            });
+    scheduler.add("o1", "o1", resumedFrom);
+
+    List<PollingScheduler.ObjectStats> stats = scheduler.run(Duration.ofMillis(200));
+
+    assertEquals(1, stats.get(0).failures());
+    assertSame(resumedFrom, lastResults.get(1));
+    assertSame(resumedFrom, lastResults.get(2));
+    assertNotSame(resumedFrom, lastResults.get(3));
+  }
+}
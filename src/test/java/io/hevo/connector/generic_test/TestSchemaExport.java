@@ -0,0 +1,179 @@
+package io.hevo.connector.generic_test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.hevo.connector.model.ObjectDetails;
+import io.hevo.connector.model.ObjectSchema;
+import io.hevo.connector.model.field.schema.base.Field;
+import io.hevo.connector.model.field.schema.base.FieldProperties;
+import io.hevo.connector.model.field.schema.enumeration.FieldState;
+import io.hevo.connector.model.field.schema.hudt.HDateTimeField;
+import io.hevo.connector.model.field.schema.hudt.HField;
+import io.hevo.connector.model.field.schema.hudt.HIntegerField;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+class TestSchemaExport {
+
+  @TempDir Path outputDir;
+
+  @Test
+  void testQuotesValuesWithSeparators() throws IOException {
+    Field field = Mockito.mock(Field.class);
+    FieldProperties properties = Mockito.mock(FieldProperties.class);
+    Mockito.when(field.logicalType()).thenReturn("string");
+    Mockito.when(field.properties()).thenReturn(properties);
+    Mockito.when(properties.position()).thenReturn(3);
+    Mockito.when(properties.defaultValue()).thenReturn(Optional.of("a,\"b\""));
+    Mockito.when(properties.pkPos()).thenReturn(Optional.of(1));
+    Mockito.when(properties.customPkPos()).thenReturn(Optional.empty());
+    Mockito.when(properties.ckOrdinal()).thenReturn(Optional.empty());
+    Mockito.when(properties.length()).thenReturn(Optional.of(255));
+    Mockito.when(properties.precision()).thenReturn(Optional.empty());
+    Mockito.when(properties.scale()).thenReturn(Optional.empty());
+    Mockito.when(properties.isNullable()).thenReturn(true);
+    ObjectSchema objectSchema = new ObjectSchema(details("orders"), Set.of(field));
+
+    ByteArrayOutputStream csv = new ByteArrayOutputStream();
+    SchemaExporter.Summary summary = SchemaExporter.export(List.of(objectSchema), csv, null, 1);
+
+    String[] rows = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+    assertEquals(String.join(",", SchemaExporter.CSV_HEADER), rows[0]);
+    assertEquals(
+        objectSchema.objectDetail().getTableFullyQualifiedName()
+            + ",,,string,3,\"a,\"\"b\"\"\",1,,,true,false,false,,false,255,,",
+        rows[1]);
+    assertEquals(1L, summary.fields());
+    assertEquals(0L, summary.snapshotBytes());
+  }
+
+  @Test
+  void testParallelExportKeepsObjectOrder() throws IOException {
+    List<ObjectSchema> objectSchemas = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      objectSchemas.add(schema("o" + i, 1 + i % 7));
+    }
+
+    ByteArrayOutputStream serialCsv = new ByteArrayOutputStream();
+    ByteArrayOutputStream serialSnapshot = new ByteArrayOutputStream();
+    SchemaExporter.export(objectSchemas, serialCsv, serialSnapshot, 1);
+    ByteArrayOutputStream parallelCsv = new ByteArrayOutputStream();
+    ByteArrayOutputStream parallelSnapshot = new ByteArrayOutputStream();
+    SchemaExporter.Summary summary =
+        SchemaExporter.export(objectSchemas, parallelCsv, parallelSnapshot, 4);
+
+    assertArrayEquals(serialCsv.toByteArray(), parallelCsv.toByteArray());
+    assertArrayEquals(serialSnapshot.toByteArray(), parallelSnapshot.toByteArray());
+    assertEquals(200, summary.objects());
+    assertEquals((long) parallelCsv.size(), summary.csvBytes());
+    assertEquals((long) parallelSnapshot.size(), summary.snapshotBytes());
+  }
+
+  @Test
+  void testSnapshotRoundTrip() throws IOException {
+    List<ObjectSchema> objectSchemas = List.of(schema("orders", 3), schema("customers", 1));
+    Path file = outputDir.resolve("object_schemas.hsch");
+    try (OutputStream snapshot = Files.newOutputStream(file)) {
+      SchemaExporter.export(objectSchemas, OutputStream.nullOutputStream(), snapshot, 2);
+    }
+
+    List<ObjectSchema> loaded = SchemaSnapshot.load(file);
+
+    assertEquals(2, loaded.size());
+    for (int i = 0; i < objectSchemas.size(); i++) {
+      ObjectSchema expected = objectSchemas.get(i);
+      ObjectSchema actual = loaded.get(i);
+      assertEquals(
+          expected.objectDetail().getTableFullyQualifiedName(),
+          actual.objectDetail().getTableFullyQualifiedName());
+      assertEquals(describe(expected), describe(actual));
+    }
+  }
+
+  @Test
+  void testSkipsSnapshotThatCannotBeLoadedBack() throws IOException {
+    Field field = Mockito.mock(Field.class);
+    FieldProperties properties = Mockito.mock(FieldProperties.class);
+    Mockito.when(field.logicalType()).thenReturn("string");
+    Mockito.when(field.properties()).thenReturn(properties);
+    Mockito.when(properties.position()).thenReturn(1);
+    List<ObjectSchema> objectSchemas =
+        List.of(schema("orders", 3), new ObjectSchema(details("notes"), Set.of(field)));
+
+    ByteArrayOutputStream csv = new ByteArrayOutputStream();
+    SchemaExporter.Summary summary =
+        SchemaExporter.export(objectSchemas, csv, OutputStream.nullOutputStream(), 2);
+
+    // The CSV is still exported in full
+    assertEquals(4L, summary.fields());
+    assertEquals(5, csv.toString(StandardCharsets.UTF_8).split("\r\n").length);
+    assertEquals(0L, summary.snapshotBytes());
+  }
+
+  @Test
+  void testLoadRejectsCorruptSnapshots() throws IOException {
+    Path file = outputDir.resolve("corrupt.hsch");
+    Files.write(file, "not a snapshot at all, just some text".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(IOException.class, () -> SchemaSnapshot.load(file));
+  }
+
+  private static ObjectSchema schema(String table, int columns) {
+    Set<Field> fields = new LinkedHashSet<>();
+    fields.add(
+        new HIntegerField.Builder("id", "BIGINT", 1, FieldState.ACTIVE)
+            .isNullable(false)
+            .pkPos(1)
+            .build());
+    for (int i = 2; i <= columns; i++) {
+      fields.add(
+          new HDateTimeField.Builder("updated_at_" + i, "TIMESTAMP", i, FieldState.ACTIVE, 6)
+              .isNullable(true)
+              .ckOrdinal(i - 1)
+              .build());
+    }
+    return new ObjectSchema(details(table), fields);
+  }
+
+  private static ObjectDetails details(String table) {
+    return ObjectDetails.builder().schema("public").table(table).build();
+  }
+
+  /** The exported properties of every field, in order. */
+  private static List<String> describe(ObjectSchema objectSchema) {
+    List<String> fields = new ArrayList<>();
+    for (Field field : objectSchema.fields()) {
+      HField hField = (HField) field;
+      FieldProperties properties = field.properties();
+      fields.add(
+          hField.sourceFieldName()
+              + " "
+              + hField.sourceDataType()
+              + " "
+              + field.logicalType()
+              + " "
+              + properties.position()
+              + " "
+              + properties.pkPos()
+              + " "
+              + properties.ckOrdinal()
+              + " "
+              + properties.isNullable());
+    }
+    return fields;
+  }
+}
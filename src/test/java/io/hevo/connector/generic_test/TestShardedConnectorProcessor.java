@@ -0,0 +1,108 @@
+package io.hevo.connector.generic_test;
+
+import static io.hevo.connector.generic_test.SinkFixtures.meta;
+import static io.hevo.connector.generic_test.SinkFixtures.row;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TestShardedConnectorProcessor {
+
+  private static final int SHARDS = 4;
+
+  @TempDir Path outputDir;
+
+  @Test
+  void testShardPathOf() {
+    assertEquals(
+        Path.of("out", "historical_o1.shard-2.csv").toString(),
+        ShardedConnectorProcessor.shardPathOf(Path.of("out", "historical_o1.csv").toString(), 2));
+    assertEquals(
+        "historical_o1.shard-0.csv.gz",
+        ShardedConnectorProcessor.shardPathOf("historical_o1.csv.gz", 0));
+    assertEquals("output.shard-1", ShardedConnectorProcessor.shardPathOf("output", 1));
+  }
+
+  @Test
+  void testVersionsOfAKeyLandInOneShardInOrder() throws Exception {
+    Path file = outputDir.resolve("sharded.csv");
+    try (ShardedConnectorProcessor processor =
+        new ShardedConnectorProcessor(
+            file.toString(), new int[] {1}, SHARDS, FileSinkOptions.defaults())) {
+      for (int version = 0; version < 3; version++) {
+        for (int key = 0; key < 100; key++) {
+          processor.publish(row("v" + version, Integer.toString(key)), meta());
+        }
+      }
+      assertEquals(300, processor.checkpoint());
+    }
+
+    Map<String, Integer> shardOfKey = new HashMap<>();
+    Map<String, Integer> lastVersionOfKey = new HashMap<>();
+    int records = 0;
+    for (int shard = 0; shard < SHARDS; shard++) {
+      Path shardFile = Path.of(ShardedConnectorProcessor.shardPathOf(file.toString(), shard));
+      List<String> lines = Files.readAllLines(shardFile);
+      assertTrue(lines.size() > 0, "every shard receives keys");
+      for (String line : lines) {
+        String[] values = line.split(",");
+        int version = Integer.parseInt(values[0].substring(1));
+        assertEquals(shard, (int) shardOfKey.merge(values[1], shard, (first, next) -> first));
+        assertEquals(version, lastVersionOfKey.getOrDefault(values[1], -1) + 1);
+        lastVersionOfKey.put(values[1], version);
+        records++;
+      }
+    }
+    assertEquals(300, records);
+    assertEquals(100, shardOfKey.size());
+  }
+
+  @Test
+  void testConcurrentProducers() throws Exception {
+    Path file = outputDir.resolve("concurrent.csv");
+    int producers = 4;
+    int recordsPerProducer = 10_000;
+    FileSinkOptions options = FileSinkOptions.builder().flushMode(FlushMode.CHECKPOINT).build();
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    try (ShardedConnectorProcessor processor =
+        new ShardedConnectorProcessor(file.toString(), new int[] {0}, SHARDS, options)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int p = 0; p < producers; p++) {
+        int producer = p;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < recordsPerProducer; i++) {
+                    processor.publish(row(producer + "-" + i, "a"), meta());
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      assertEquals(producers * recordsPerProducer, processor.checkpoint());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    long lines = 0;
+    for (int shard = 0; shard < SHARDS; shard++) {
+      lines +=
+          Files.readAllLines(Path.of(ShardedConnectorProcessor.shardPathOf(file.toString(), shard)))
+              .size();
+    }
+    assertEquals(producers * recordsPerProducer, lines);
+  }
+}
@@ -1,8 +1,13 @@
 package io.hevo.connector.test_connector;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.hevo.connector.exceptions.ConnectorException;
 import io.hevo.connector.model.ConnectorContext;
@@ -14,20 +19,41 @@ import io.hevo.connector.model.enums.SourceObjectStatus;
 import io.hevo.connector.model.field.data.datum.hudt.HStruct;
 import io.hevo.connector.model.field.schema.base.Field;
 import io.hevo.connector.model.field.schema.enumeration.FieldState;
+import io.hevo.connector.model.field.schema.hudt.HDataType;
 import io.hevo.connector.model.field.schema.hudt.HDateTimeField;
 import io.hevo.connector.model.field.schema.hudt.HIntegerField;
+import io.hevo.connector.offset.Offset;
 import io.hevo.connector.processor.ConnectorProcessor;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 @SuppressWarnings("unchecked")
 class TestTestConnector {
+
+  /**
+   * Allocation budget of a row in reuse mode: an {@code HInteger} key, an {@code HDateTime} cursor
+   * and the {@code LocalDateTime} it wraps, with room for the SDK to hold them in a few more words.
+   */
+  private static final double MAX_REUSED_BYTES_PER_ROW = 160;
+
+  @TempDir Path cacheDir;
+
   private TestConnector testConnector;
 
   @BeforeEach
@@ -77,6 +103,114 @@ class TestTestConnector {
     assertEquals(SourceObjectStatus.ACTIVE, objectDetails2.sourceObjectStatus());
   }
 
+  @Test
+  void testCatalogMode() throws Exception {
+    setProperty("catalogObjectCount", 50_000);
+    setProperty("catalogColumnCount", 300);
+
+    List<ObjectDetails> objectDetails = testConnector.getObjects();
+    assertEquals(50_000, objectDetails.size());
+
+    List<ObjectDetails> requested = List.of(objectDetails.get(7), objectDetails.get(49_999));
+    List<ObjectSchema> objects = testConnector.fetchSchemaFromSource(requested);
+    assertEquals(2, objects.size());
+    assertEquals(requested.get(0), objects.get(0).objectDetail());
+    assertEquals(requested.get(1), objects.get(1).objectDetail());
+    assertEquals(300, objects.get(1).fields().size());
+  }
+
+  @Test
+  void testSchemaRequestConcurrency() throws Exception {
+    setProperty("catalogObjectCount", 100);
+    setProperty("sourceLatencyMillis", 50L);
+    setProperty("schemaRequestConcurrency", 4);
+    List<ObjectDetails> requested = List.copyOf(testConnector.getObjects().subList(0, 12));
+
+    long start = System.nanoTime();
+    List<ObjectSchema> objects = testConnector.fetchSchemaFromSource(requested);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(requested, objects.stream().map(ObjectSchema::objectDetail).toList());
+    // Twelve requests four at a time take three round trips, not one nor twelve
+    assertTrue(elapsedMillis >= 150, "Too many requests in flight, took " + elapsedMillis + "ms");
+    assertTrue(elapsedMillis < 600, "Requests not made concurrently, took " + elapsedMillis + "ms");
+  }
+
+  @Test
+  void testSchemaCacheServesUnchangedObjects() throws Exception {
+    setProperty("catalogObjectCount", 100);
+    setProperty("catalogColumnCount", 20);
+    List<ObjectDetails> requested = List.copyOf(testConnector.getObjects().subList(0, 2));
+
+    List<ObjectSchema> first = testConnector.fetchSchemaFromSource(requested);
+    List<ObjectSchema> second = testConnector.fetchSchemaFromSource(requested);
+    assertSame(first.get(0), second.get(0));
+    assertSame(first.get(1), second.get(1));
+
+    setProperty("schemaVersion", 1);
+    List<ObjectSchema> evolved = testConnector.fetchSchemaFromSource(requested);
+    assertNotSame(first.get(0), evolved.get(0));
+    assertEquals(21, evolved.get(0).fields().size());
+    // Columns that did not change keep their field instances
+    assertTrue(evolved.get(0).fields().containsAll(first.get(0).fields()));
+  }
+
+  @Test
+  void testSchemaCacheRecordsDiffOfEveryRefresh() {
+    Path file = cacheDir.resolve("schema_cache.json");
+    ObjectDetails orders = ObjectDetails.builder().schema("public").table("orders").build();
+    String name = orders.getTableFullyQualifiedName();
+    FieldSpec id = new FieldSpec("id", "INTEGER", HDataType.INTEGER, 1, 1, null, false);
+    FieldSpec amount = new FieldSpec("amount", "INTEGER", HDataType.INTEGER, 2, null, null, true);
+    FieldSpec note = new FieldSpec("note", "INTEGER", HDataType.INTEGER, 3, null, null, true);
+
+    SchemaCache cache = new SchemaCache(file);
+    cache.resolve(orders, List.of(id, amount));
+    assertNull(cache.lastDiff(name));
+    cache.resolve(orders, List.of(id, amount));
+    assertTrue(cache.lastDiff(name).isEmpty());
+    cache.persist();
+
+    // A new run reports the difference with the columns of the previous one
+    SchemaCache restarted = new SchemaCache(file);
+    ObjectSchema evolved = restarted.resolve(orders, List.of(id, note));
+    assertEquals(2, evolved.fields().size());
+    SchemaDiff diff = restarted.lastDiff(name);
+    assertEquals(List.of(note), diff.added());
+    assertEquals(List.of(amount), diff.dropped());
+    assertEquals(List.of(), diff.changed());
+  }
+
+  @Test
+  void testSchemaDiff() {
+    FieldSpec id = new FieldSpec("id", "INTEGER", HDataType.INTEGER, 1, 1, null, false);
+    FieldSpec amount = new FieldSpec("amount", "INTEGER", HDataType.INTEGER, 2, null, null, true);
+    FieldSpec retyped =
+        new FieldSpec("amount", "TIMESTAMP", HDataType.DATE_TIME, 2, null, null, true);
+    FieldSpec note = new FieldSpec("note", "INTEGER", HDataType.INTEGER, 3, null, null, true);
+
+    SchemaDiff diff = SchemaDiff.between(List.of(id, amount), List.of(id, retyped, note));
+    assertEquals(List.of(note), diff.added());
+    assertEquals(List.of(), diff.dropped());
+    assertEquals(List.of(retyped), diff.changed());
+    assertTrue(SchemaDiff.between(List.of(id, amount), List.of(id, amount)).isEmpty());
+    assertNotEquals(
+        FieldSpec.fingerprint(List.of(id, amount)), FieldSpec.fingerprint(List.of(id, retyped)));
+  }
+
+  @Test
+  void testSourceRateLimit() {
+    SourceLatencySimulator latency = new SourceLatencySimulator(0, 0, 0, 0, 100, 1, 0, 0);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 11; i++) {
+      latency.request();
+    }
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    // The first request uses the burst token, the other ten are admitted 10ms apart
+    assertTrue(elapsedMillis >= 90, "Rate limit not applied, took " + elapsedMillis + "ms");
+  }
+
   @Test
   void testFetchData() throws ConnectorException {
     // Mock ConnectorContext
@@ -106,4 +240,257 @@ class TestTestConnector {
     assertEquals(1, result.fetchedRecords());
     assertNotNull(result.lastReadOffset());
   }
+
+  @Test
+  void testFetchSyntheticData() throws Exception {
+    setProperty("dataMode", DataMode.SYNTHETIC);
+    setProperty("rowCount", 1_000L);
+    ObjectSchema schema = testSchema();
+
+    ConnectorProcessor firstRun = Mockito.mock(ConnectorProcessor.class);
+    ExecutionResult result =
+        testConnector.fetchDataFromSource(new ConnectorContext(schema, Offset.empty()), firstRun);
+    assertEquals(1_000, result.fetchedRecords());
+
+    ArgumentCaptor<HStruct> firstRows = ArgumentCaptor.forClass(HStruct.class);
+    Mockito.verify(firstRun, Mockito.times(1_000))
+        .publish(firstRows.capture(), Mockito.any(ConnectorMeta.class));
+
+    ConnectorProcessor secondRun = Mockito.mock(ConnectorProcessor.class);
+    testConnector.fetchDataFromSource(new ConnectorContext(schema, Offset.empty()), secondRun);
+    ArgumentCaptor<HStruct> secondRows = ArgumentCaptor.forClass(HStruct.class);
+    Mockito.verify(secondRun, Mockito.times(1_000))
+        .publish(secondRows.capture(), Mockito.any(ConnectorMeta.class));
+
+    // The same seed must reproduce the same data set
+    assertEquals(asStrings(firstRows.getAllValues()), asStrings(secondRows.getAllValues()));
+  }
+
+  @Test
+  void testIncrementalFetchResumesFromOffset() throws Exception {
+    setProperty("dataMode", DataMode.SYNTHETIC);
+    setProperty("rowCount", 250L);
+    setProperty("pageSize", 100);
+    setProperty("maxPagesPerFetch", 1);
+    ObjectSchema schema = testSchema();
+    ConnectorProcessor processor = Mockito.mock(ConnectorProcessor.class);
+
+    Offset offset = Offset.empty();
+    int[] expectedPages = {100, 100, 50, 0};
+    for (int expected : expectedPages) {
+      ExecutionResult result =
+          testConnector.fetchDataFromSource(new ConnectorContext(schema, offset), processor);
+      assertEquals(expected, result.fetchedRecords());
+      offset = result.lastReadOffset();
+    }
+    Mockito.verify(processor, Mockito.times(250))
+        .publish(Mockito.any(HStruct.class), Mockito.any(ConnectorMeta.class));
+
+    CursorOffset highWaterMark = CursorOffset.from(offset);
+    assertNotNull(highWaterMark);
+    assertEquals(250, highWaterMark.primaryKey());
+  }
+
+  @Test
+  void testRejectsNonPositivePageSize() throws Exception {
+    setProperty("dataMode", DataMode.SYNTHETIC);
+    setProperty("rowCount", 10L);
+    ObjectSchema schema = testSchema();
+    ConnectorProcessor processor = Mockito.mock(ConnectorProcessor.class);
+
+    for (int pageSize : new int[] {0, -1}) {
+      setProperty("pageSize", pageSize);
+      assertThrows(
+          ConnectorException.class,
+          () ->
+              testConnector.fetchDataFromSource(
+                  new ConnectorContext(schema, Offset.empty()), processor));
+    }
+    Mockito.verify(processor, Mockito.never())
+        .publish(Mockito.any(HStruct.class), Mockito.any(ConnectorMeta.class));
+  }
+
+  @Test
+  void testRejectsRowCountBeyondIntegerKeys() throws Exception {
+    setProperty("dataMode", DataMode.SYNTHETIC);
+    ObjectSchema schema = testSchema();
+    ConnectorProcessor processor = Mockito.mock(ConnectorProcessor.class);
+
+    for (long rowCount : new long[] {TestConnector.MAX_ROW_COUNT + 1, -1}) {
+      setProperty("rowCount", rowCount);
+      assertThrows(
+          ConnectorException.class,
+          () ->
+              testConnector.fetchDataFromSource(
+                  new ConnectorContext(schema, Offset.empty()), processor));
+    }
+    Mockito.verify(processor, Mockito.never())
+        .publish(Mockito.any(HStruct.class), Mockito.any(ConnectorMeta.class));
+  }
+
+  @Test
+  void testPartitionedFetchCoversEveryRow() throws Exception {
+    setProperty("dataMode", DataMode.SYNTHETIC);
+    setProperty("rowCount", 1_001L);
+    setProperty("pageSize", 64);
+    ObjectSchema schema = testSchema();
+    ConnectorProcessor processor = Mockito.mock(ConnectorProcessor.class);
+
+    List<Offset> partitions = testConnector.partitionOffsets(schema, 4);
+    assertEquals(4, partitions.size());
+
+    long fetched = 0;
+    List<Offset> lastReadOffsets = new ArrayList<>();
+    for (Offset partition : partitions) {
+      ExecutionResult result =
+          testConnector.fetchDataFromSource(new ConnectorContext(schema, partition), processor);
+      fetched += result.fetchedRecords();
+      lastReadOffsets.add(result.lastReadOffset());
+    }
+    assertEquals(1_001, fetched);
+
+    // All ranges finished, so the object resumes after its last row
+    CursorOffset merged =
+        CursorOffset.from(testConnector.mergePartitionOffsets(schema, lastReadOffsets));
+    assertNotNull(merged);
+    assertEquals(1_001, merged.primaryKey());
+  }
+
+  @Test
+  void testPartitionsShareTheTargetRate() throws Exception {
+    setProperty("dataMode", DataMode.SYNTHETIC);
+    setProperty("rowCount", 400L);
+    setProperty("targetRowsPerSecond", 2_000L);
+    ObjectSchema schema = testSchema();
+    ConnectorProcessor processor = (hStruct, connectorMeta) -> {};
+
+    List<Offset> partitions = testConnector.partitionOffsets(schema, 4);
+    ExecutorService pool = Executors.newFixedThreadPool(partitions.size());
+    long start = System.nanoTime();
+    try {
+      List<Future<ExecutionResult>> fetches = new ArrayList<>();
+      for (Offset partition : partitions) {
+        fetches.add(
+            pool.submit(
+                () ->
+                    testConnector.fetchDataFromSource(
+                        new ConnectorContext(schema, partition), processor)));
+      }
+      for (Future<ExecutionResult> fetch : fetches) {
+        fetch.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    // 400 rows at 2000 rows/s take 200ms whatever the number of ranges, not 200ms / 4
+    assertTrue(elapsedMillis >= 180, "Ranges exceeded the target rate, took " + elapsedMillis);
+  }
+
+  @Test
+  void testRowPlanOrdersColumnsByPosition() {
+    RowPlan rowPlan = RowPlan.synthetic(testSchema());
+
+    List<Field> fields = rowPlan.fields();
+    assertEquals(2, fields.size());
+    assertEquals(1, fields.get(0).properties().position());
+    assertEquals(2, fields.get(1).properties().position());
+
+    HStruct row = new HStruct(rowPlan.row(new SyntheticDataGenerator(42L), 0));
+    String[] values = row.asArrayOfString().orElseThrow();
+    assertEquals("1", values[0]);
+  }
+
+  @Test
+  void testReusedRowBuffersDoNotAllocatePerColumn() throws Exception {
+    setProperty("dataMode", DataMode.SYNTHETIC);
+    // Short fetches, so that compiling the recycling plan in every fetch would dominate
+    setProperty("rowCount", 2_000L);
+    setProperty("reuseRowBuffers", true);
+    ObjectSchema narrow = testSchema();
+    ObjectSchema wide = wideTestSchema(32);
+
+    // Warm up so that the measured runs execute compiled code
+    for (int i = 0; i < 50; i++) {
+      allocatedBytesPerRow(narrow);
+      allocatedBytesPerRow(wide);
+    }
+
+    double narrowBytesPerRow = allocatedBytesPerRow(narrow);
+    double wideBytesPerRow = allocatedBytesPerRow(wide);
+    // Only the key and cursor datums and the cursor timestamp are allocated per row, whatever the
+    // number of columns; the struct, the row list and every other datum are reused
+    assertTrue(wideBytesPerRow < MAX_REUSED_BYTES_PER_ROW, "wide: " + wideBytesPerRow + " B/row");
+    assertTrue(
+        wideBytesPerRow - narrowBytesPerRow < 16,
+        "narrow: " + narrowBytesPerRow + " B/row, wide: " + wideBytesPerRow + " B/row");
+
+    setProperty("reuseRowBuffers", false);
+    for (int i = 0; i < 50; i++) {
+      allocatedBytesPerRow(wide);
+    }
+    double allocatingBytesPerRow = allocatedBytesPerRow(wide);
+    assertTrue(
+        wideBytesPerRow * 2 < allocatingBytesPerRow,
+        "reused: " + wideBytesPerRow + " B/row, allocating: " + allocatingBytesPerRow + " B/row");
+  }
+
+  private double allocatedBytesPerRow(ObjectSchema schema) throws ConnectorException {
+    AtomicReference<HStruct> lastRow = new AtomicReference<>();
+    ConnectorProcessor processor = (hStruct, connectorMeta) -> lastRow.lazySet(hStruct);
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    long before = threads.getThreadAllocatedBytes(threadId);
+    ExecutionResult result =
+        testConnector.fetchDataFromSource(new ConnectorContext(schema, Offset.empty()), processor);
+    long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+    return (double) allocated / result.fetchedRecords();
+  }
+
+  private ObjectSchema wideTestSchema(int width) {
+    Set<Field> fields = new HashSet<>(testSchema().fields());
+    for (int position = 3; position <= width; position++) {
+      if (position % 2 == 0) {
+        fields.add(
+            new HIntegerField.Builder("int_" + position, "INTEGER", position, FieldState.ACTIVE)
+                .build());
+      } else {
+        fields.add(
+            new HDateTimeField.Builder(
+                    "ts_" + position, "TIMESTAMP", position, FieldState.ACTIVE, 9)
+                .build());
+      }
+    }
+    return new ObjectSchema(ObjectDetails.builder().table("wide").build(), fields);
+  }
+
+  private ObjectSchema testSchema() {
+    Set<Field> fields = new HashSet<>();
+    HIntegerField.Builder id =
+        new HIntegerField.Builder("id", "INTEGER", 1, FieldState.ACTIVE).isNullable(false);
+    id.pkPos(1);
+    HDateTimeField.Builder ts =
+        new HDateTimeField.Builder("updated_ts", "TIMESTAMP", 2, FieldState.ACTIVE, 9)
+            .isNullable(false);
+    ts.ckOrdinal(1);
+    fields.add(id.build());
+    fields.add(ts.build());
+    return new ObjectSchema(ObjectDetails.builder().table("o1").build(), fields);
+  }
+
+  private void setProperty(String name, Object value) throws ReflectiveOperationException {
+    java.lang.reflect.Field property = TestConnector.class.getDeclaredField(name);
+    property.setAccessible(true);
+    property.set(testConnector, value);
+  }
+
+  private static List<List<String>> asStrings(List<HStruct> rows) {
+    List<List<String>> values = new ArrayList<>(rows.size());
+    for (HStruct row : rows) {
+      values.add(List.of(row.asArrayOfString().orElseThrow()));
+    }
+    return values;
+  }
 }